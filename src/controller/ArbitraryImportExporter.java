@@ -4,11 +4,11 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.function.BiFunction;
 import javax.imageio.ImageIO;
 import model.Image;
-import model.Image24Bit;
-import model.Pixel;
-import model.RgbPixel;
+import model.ImageBuilder;
+import model.PackedImageBuilder;
 
 /**
  * Represents an image importer and exporter for common image file types. Supports all file types
@@ -30,21 +30,27 @@ public abstract class ArbitraryImportExporter implements ImageImportExporter {
 
   @Override
   public Image parseImage(InputStream input) throws IOException {
-    if (input == null) {
-      throw new IllegalArgumentException("Input cannot be null.");
+    return parseImage(input, PackedImageBuilder::new);
+  }
+
+  @Override
+  public Image parseImage(InputStream input, BiFunction<Integer, Integer, ImageBuilder> builders)
+      throws IOException {
+    if (input == null || builders == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
     }
     BufferedImage image = ImageIO.read(input);
     if (image == null) {
       throw new IOException("Failed to parse image.");
     }
 
-    Pixel[][] pixels = new Pixel[image.getHeight()][image.getWidth()];
+    ImageBuilder builder = builders.apply(image.getWidth(), image.getHeight());
+    int[] row = new int[image.getWidth()];
     for (int r = 0; r < image.getHeight(); r += 1) {
-      for (int c = 0; c < image.getWidth(); c += 1) {
-        pixels[r][c] = getPixel(image.getRGB(c, r));
-      }
+      image.getRGB(0, r, image.getWidth(), 1, row, 0, image.getWidth());
+      builder.setRgbRow(r, row, 0);
     }
-    return new Image24Bit(pixels);
+    return builder.build();
   }
 
   @Override
@@ -54,37 +60,12 @@ public abstract class ArbitraryImportExporter implements ImageImportExporter {
     }
     BufferedImage buffer = new BufferedImage(image.getWidth(),
         image.getHeight(), BufferedImage.TYPE_INT_BGR);
+    int[] row = new int[image.getWidth()];
     for (int r = 0; r < image.getHeight(); r += 1) {
-      for (int c = 0; c < image.getWidth(); c += 1) {
-        buffer.setRGB(c, r, getRgb(image.getPixelAt(r, c)));
-      }
+      image.getRgbRow(r, row, 0);
+      buffer.setRGB(0, r, image.getWidth(), 1, row, 0, image.getWidth());
     }
 
     ImageIO.write(buffer, this.format, output);
   }
-
-  /**
-   * Converts the red, green, and blue values of a {@link Pixel} to a single RGB value. Bits 0-7
-   * represent the blue value. Bits 8-15 are green. Bits 16-23 are red.
-   *
-   * @param pixel the pixel to calculate the RGB value of.
-   * @return the rgb value of the given pixel.
-   */
-  private int getRgb(Pixel pixel) {
-    return pixel.getBlueValue() + (pixel.getGreenValue() << 8) + (pixel.getRedValue() << 16);
-  }
-
-  /**
-   * Converts a single RGB value to a Pixel.
-   *
-   * @param rgb the RGB value to convert. Bits 0-7 represent the blue value. Bits 8-15 are green.
-   *            Bits 16-23 are red.
-   * @return the pixel representing the equivalent color the the given RGB value;
-   */
-  private Pixel getPixel(int rgb) {
-    int blue = rgb & 0xFF; // first 8 bits
-    int green = (rgb & 0xFF00) >> 8; // second 8 bits
-    int red = (rgb & 0xFF0000) >> 16; // third 8 bits;
-    return new RgbPixel(red, green, blue);
-  }
 }
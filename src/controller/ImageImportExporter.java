@@ -3,7 +3,9 @@ package controller;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.function.BiFunction;
 import model.Image;
+import model.ImageBuilder;
 
 /**
  * Represents and encapsulates different types of image import/exporters. Each class which
@@ -21,6 +23,20 @@ public interface ImageImportExporter {
    */
   Image parseImage(InputStream input) throws IOException;
 
+  /**
+   * parses an {@code Image} object from image file data, writing its pixels into a builder so that
+   * the caller decides how the image is stored. For example, passing a function that creates
+   * {@code MappedImageBuilder}s stores the image in a memory-mapped file.
+   *
+   * @param input    an InputStream from which the image data is read
+   * @param builders a function that creates a builder for an image from its width and height
+   * @return the parsed {@code Image} object
+   * @throws IOException if the image cannot be parse from the input stream due to an error reading
+   *                     data or parsing the data into an {@code Image} object.
+   */
+  Image parseImage(InputStream input, BiFunction<Integer, Integer, ImageBuilder> builders)
+      throws IOException;
+
   /**
    * Writes the contents of an {@code Image} object to an output.
    *
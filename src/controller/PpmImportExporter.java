@@ -1,34 +1,48 @@
 package controller;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.function.BiFunction;
 import model.Image;
 import model.Image24Bit;
-import model.Pixel;
-import model.RgbPixel;
+import model.ImageBuilder;
+import model.PackedImageBuilder;
 
 /**
  * Represents an image importer and exporter for PPM formatted files. This object will be called
- * when the scanned file is in PPM format.
+ * when the scanned file is in PPM format. Images are read and written one row at a time, so the
+ * whole file never has to be held in memory.
  */
 public class PpmImportExporter implements ImageImportExporter {
 
   @Override
   public Image parseImage(InputStream input) throws IOException {
-    if (input == null) {
-      throw new IllegalArgumentException("Input must not be null.");
+    return parseImage(input, PackedImageBuilder::new);
+  }
+
+  @Override
+  public Image parseImage(InputStream input, BiFunction<Integer, Integer, ImageBuilder> builders)
+      throws IOException {
+    if (input == null || builders == null) {
+      throw new IllegalArgumentException("Arguments must not be null.");
     }
-    Scanner scanner = new Scanner(removeComments(input));
+    Scanner scanner = new Scanner(new UncommentedReader(input));
 
     // Parse file token
     String token;
     try {
       token = scanner.next();
     } catch (NoSuchElementException e) {
-      throw new IOException("Failed to read ppm image token.");
+      throw readFailure(scanner, "Failed to read ppm image token.");
     }
     if (!token.equals("P3")) {
       throw new IOException("Invalid PPM file: plain RAW file should begin with P3");
@@ -43,60 +57,66 @@ public class PpmImportExporter implements ImageImportExporter {
       height = scanner.nextInt();
       maxValue = scanner.nextInt();
     } catch (NoSuchElementException e) {
-      throw new IOException("Failed to parse image data.");
+      throw readFailure(scanner, "Failed to parse image data.");
+    }
+
+    if (maxValue != 255) {
+      throw new IOException("Invalid bit number.");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IOException("Invalid image dimensions.");
     }
 
     // Parse pixel data
-    Pixel[][] pixels = new Pixel[height][width];
+    ImageBuilder builder = builders.apply(width, height);
+    int[] rgbRow = new int[width];
     for (int row = 0; row < height; row += 1) {
       for (int col = 0; col < width; col += 1) {
         try {
-          pixels[row][col] = new RgbPixel(scanner.nextInt(), scanner.nextInt(), scanner.nextInt());
+          int red = parseColorValue(scanner);
+          int green = parseColorValue(scanner);
+          int blue = parseColorValue(scanner);
+          rgbRow[col] = (red << 16) | (green << 8) | blue;
         } catch (NoSuchElementException e) {
-          throw new IOException("Failed to parse pixel data.");
+          throw readFailure(scanner, "Failed to parse pixel data.");
         }
       }
+      builder.setRgbRow(row, rgbRow, 0);
     }
 
-    return createImage(pixels, maxValue);
+    return builder.build();
   }
 
   /**
-   * Removes all of the comments lines from an InputStream. A comment line is denoted with a '#' as
-   * the first character on the line.
+   * Creates the exception for a failure to read part of a PPM file. If reading from the input
+   * failed, the error from the input is reported instead of the part that could not be read.
    *
-   * @param input the input to remove comments from
-   * @return the contents of the input as a String with all of the comment lines removed
+   * @param scanner the scanner over the image data
+   * @param message the message describing the part of the file that could not be read
+   * @return the exception to throw
    */
-  private static String removeComments(InputStream input) {
-    Scanner scanner = new Scanner(input);
-    StringBuilder builder = new StringBuilder();
-
-    // Remove comment lines
-    while (scanner.hasNextLine()) {
-      String line = scanner.nextLine();
-      if (line.charAt(0) != '#') {
-        builder.append(line).append(System.lineSeparator());
-      }
+  private static IOException readFailure(Scanner scanner, String message) {
+    IOException cause = scanner.ioException();
+    if (cause != null) {
+      return new IOException("Failed to read image data. " + cause.getMessage(), cause);
     }
-    return builder.toString();
+    return new IOException(message);
   }
 
   /**
-   * Creates a new image from a collection of pixels based on the max value specified in the image
-   * file.
+   * Parses the next color value of a pixel, ensuring that it fits in an 8-bit color channel.
    *
-   * @param pixels   the pixels to create the image with
-   * @param maxValue the maximum value for colors in the image
-   * @return the created image object
-   * @throws IOException if the maximum value for colors is not supported
+   * @param scanner the scanner over the image data
+   * @return the parsed color value
+   * @throws IOException            if the color value is outside the range [0, 255]
+   * @throws NoSuchElementException if there are no more color values to parse
    */
-  private static Image createImage(Pixel[][] pixels, int maxValue) throws IOException {
-    if (maxValue == 255) {
-      return new Image24Bit(pixels, false);
-    } else {
-      throw new IOException("Invalid bit number.");
+  private static int parseColorValue(Scanner scanner) throws IOException {
+    int value = scanner.nextInt();
+    if (value < Image24Bit.MIN_VALUE || value > Image24Bit.MAX_VALUE) {
+      throw new IOException("Color values must be in the range [0, 255].");
     }
+    return value;
   }
 
   @Override
@@ -104,19 +124,63 @@ public class PpmImportExporter implements ImageImportExporter {
     if (output == null || image == null) {
       throw new IllegalArgumentException("Arguments cannot be null.");
     }
-    StringBuilder content = new StringBuilder();
+    Writer writer = new BufferedWriter(new OutputStreamWriter(output));
 
-    content.append("P3").append(System.lineSeparator());
-    content.append(image.getWidth()).append(" ");
-    content.append(image.getHeight()).append(System.lineSeparator());
-    content.append(255).append(System.lineSeparator());
+    writer.append("P3").append(System.lineSeparator());
+    writer.append(Integer.toString(image.getWidth())).append(" ");
+    writer.append(Integer.toString(image.getHeight())).append(System.lineSeparator());
+    writer.append("255").append(System.lineSeparator());
 
+    int[] rgbRow = new int[image.getWidth()];
     for (int row = 0; row < image.getHeight(); row += 1) {
-      for (int col = 0; col < image.getWidth(); col += 1) {
-        content.append(image.getPixelAt(row, col)).append(System.lineSeparator());
+      image.getRgbRow(row, rgbRow, 0);
+      for (int rgb : rgbRow) {
+        writer.append(Integer.toString((rgb >> 16) & 0xFF)).append(" ")
+            .append(Integer.toString((rgb >> 8) & 0xFF)).append(" ")
+            .append(Integer.toString(rgb & 0xFF)).append(System.lineSeparator());
       }
     }
+    writer.flush();
+  }
+
+  /**
+   * A Readable over the lines of an InputStream that skips all of the comment lines. A comment
+   * line is denoted with a '#' as the first character on the line. Lines are read one at a time as
+   * they are needed.
+   */
+  private static class UncommentedReader implements Readable {
+
+    private final BufferedReader reader;
+    private String line;
+    private int position;
+
+    /**
+     * Constructs a new UncommentedReader over an InputStream.
+     *
+     * @param input the input to read lines from
+     */
+    UncommentedReader(InputStream input) {
+      this.reader = new BufferedReader(new InputStreamReader(input));
+      this.line = "";
+      this.position = 0;
+    }
 
-    output.write(content.toString().getBytes());
+    @Override
+    public int read(CharBuffer buffer) throws IOException {
+      while (position >= line.length()) {
+        String next = reader.readLine();
+        if (next == null) {
+          return -1;
+        }
+        if (next.isEmpty() || next.charAt(0) != '#') {
+          line = next + System.lineSeparator();
+          position = 0;
+        }
+      }
+      int count = Math.min(buffer.remaining(), line.length() - position);
+      buffer.put(line, position, position + count);
+      position += count;
+      return count;
+    }
   }
 }
@@ -22,13 +22,19 @@ import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.function.Function;
 import controller.commands.CurrentCommand;
+import model.BoxBlurOperation;
+import model.CropOperation;
 import model.DownscaleOperation;
+import model.FlipOperation;
 import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
 import model.ImageProcessingModel;
 import model.ImageProcessingModelState;
 import model.ImageProcessingViewModel;
 import model.MosaicOperation;
+import model.ResamplingMode;
+import model.ResizeOperation;
+import model.RotateOperation;
 import view.ImageProcessingTextView;
 import view.ImageProcessingView;
 
@@ -68,7 +74,7 @@ public class TextController implements ImageProcessingController {
     // Add all of the supported commands
     commands = new HashMap<>();
     commands.put("save", s -> new SaveCommand(s.next(), s.next()));
-    commands.put("load", s -> new LoadCommand(s.next(), s.next()));
+    commands.put("load", s -> new LoadCommand(s.next(), s.next(), optionalFlag(s, "mapped")));
     commands.put("show", s -> new VisibilityCommand(true));
     commands.put("hide", s -> new VisibilityCommand(false));
     commands.put("saveall", s -> new SaveLayersCommand(s.next(), s.next()));
@@ -87,9 +93,30 @@ public class TextController implements ImageProcessingController {
     commands.put("current", s -> new CurrentCommand(s.next()));
     commands.put("move", s -> new MoveCommand(s.nextInt()));
     commands.put("set", new SetImageCommandCreator());
-    commands.put("downscale", s -> new ImageProcessAllCommand(
-        new DownscaleOperation(s.nextDouble(), s.nextDouble())));
+    commands.put("downscale", s -> new ImageProcessAllCommand(downscaleOperation(s)));
+    commands.put("resize", s -> new ImageProcessAllCommand(resizeOperation(s)));
     commands.put("mosaic", s -> new ImageProcessCommand(new MosaicOperation(s.nextInt())));
+    commands.put("crop", s -> new ImageProcessAllCommand(
+        new CropOperation(s.nextInt(), s.nextInt(), s.nextInt(), s.nextInt())));
+    commands.put("flip", s -> new ImageProcessCommand(new FlipOperation(isHorizontal(s.next()))));
+    commands.put("rotate", s -> new ImageProcessAllCommand(new RotateOperation(s.nextInt())));
+    commands.put("boxblur", s -> new ImageProcessCommand(new BoxBlurOperation(s.nextInt())));
+    commands.put("brightness", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.BRIGHTNESS, s.nextInt())));
+    commands.put("contrast", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.CONTRAST, s.nextDouble())));
+    commands.put("gamma", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.GAMMA, s.nextDouble())));
+    commands.put("levels", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.LEVELS, s.nextInt(), s.nextInt())));
+    commands.put("curves", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.CURVES, remainingNumbers(s))));
+    commands.put("invert", s -> new ImageProcessCommand(
+        ImageOperationCreator.create(OperationType.INVERT)));
+    commands.put("posterize", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.POSTERIZE, s.nextInt())));
+    commands.put("threshold", s -> new ImageProcessCommand(
+        ImageOperationCreator.createAdjustment(OperationType.THRESHOLD, s.nextInt())));
   }
 
   @Override
@@ -136,6 +163,139 @@ public class TextController implements ImageProcessingController {
         "Reached the end of the provided Readable object without quitting the program.");
   }
 
+  /**
+   * Reads an optional flag at the end of a command.
+   *
+   * @param scanner the scanner over the rest of the command
+   * @param flag    the name of the flag
+   * @return whether the flag was given
+   * @throws IllegalArgumentException if anything other than the flag is given
+   */
+  private static boolean optionalFlag(Scanner scanner, String flag)
+      throws IllegalArgumentException {
+    if (!scanner.hasNext()) {
+      return false;
+    }
+    String token = scanner.next();
+    if (!token.equalsIgnoreCase(flag)) {
+      throw new IllegalArgumentException("Unknown option: " + token + ".");
+    }
+    return true;
+  }
+
+  /**
+   * Reads the arguments of the resize command, which are either a width and a height, or the word
+   * "by" followed by a horizontal and a vertical scale factor, followed by an optional resampling
+   * mode.
+   *
+   * @param scanner the scanner over the rest of the command
+   * @return the resize operation
+   * @throws IllegalArgumentException if the size, factors or mode are invalid
+   */
+  private static ResizeOperation resizeOperation(Scanner scanner)
+      throws IllegalArgumentException {
+    if (scanner.hasNext("by")) {
+      scanner.next();
+      return ResizeOperation.byFactor(scanner.nextDouble(), scanner.nextDouble(),
+          optionalMode(scanner));
+    }
+    return new ResizeOperation(scanner.nextInt(), scanner.nextInt(), optionalMode(scanner));
+  }
+
+  /**
+   * Reads the arguments of the downscale command, which are a horizontal and a vertical scale
+   * factor, followed by an optional resampling mode and the optional word "pyramid" to downscale
+   * from the pyramid of the image of each layer.
+   *
+   * @param scanner the scanner over the rest of the command
+   * @return the downscale operation
+   * @throws IllegalArgumentException if the factors or mode are invalid or anything else is given
+   */
+  private static DownscaleOperation downscaleOperation(Scanner scanner)
+      throws IllegalArgumentException {
+    double xscale = scanner.nextDouble();
+    double yscale = scanner.nextDouble();
+    ResamplingMode mode = ResamplingMode.BILINEAR;
+    if (scanner.hasNext() && !scanner.hasNext("(?i)pyramid")) {
+      mode = resamplingMode(scanner.next());
+    }
+    boolean fromPyramid = optionalFlag(scanner, "pyramid");
+    if (scanner.hasNext()) {
+      throw new IllegalArgumentException("Unknown option: " + scanner.next() + ".");
+    }
+    return new DownscaleOperation(xscale, yscale, mode, fromPyramid);
+  }
+
+  /**
+   * Reads an optional resampling mode at the end of a command.
+   *
+   * @param scanner the scanner over the rest of the command
+   * @return the named mode, or the bilinear mode if none is given
+   * @throws IllegalArgumentException if the mode is unknown or anything else follows it
+   */
+  private static ResamplingMode optionalMode(Scanner scanner) throws IllegalArgumentException {
+    if (!scanner.hasNext()) {
+      return ResamplingMode.BILINEAR;
+    }
+    String name = scanner.next();
+    if (scanner.hasNext()) {
+      throw new IllegalArgumentException("Unknown option: " + scanner.next() + ".");
+    }
+    return resamplingMode(name);
+  }
+
+  /**
+   * Finds the resampling mode with a name, ignoring case.
+   *
+   * @param name the name of the mode
+   * @return the named mode
+   * @throws IllegalArgumentException if there is no mode with the name
+   */
+  private static ResamplingMode resamplingMode(String name) throws IllegalArgumentException {
+    for (ResamplingMode mode : ResamplingMode.values()) {
+      if (mode.name().equalsIgnoreCase(name)) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown resampling mode: " + name + ".");
+  }
+
+  /**
+   * Reads every number left in a command.
+   *
+   * @param scanner the scanner over the rest of the command
+   * @return the numbers, in the order they were given
+   * @throws java.util.InputMismatchException if anything other than a number is given
+   */
+  private static double[] remainingNumbers(Scanner scanner) {
+    List<Double> numbers = new ArrayList<>();
+    while (scanner.hasNext()) {
+      numbers.add(scanner.nextDouble());
+    }
+    double[] result = new double[numbers.size()];
+    for (int index = 0; index < result.length; index += 1) {
+      result[index] = numbers.get(index);
+    }
+    return result;
+  }
+
+  /**
+   * Reads the direction to flip an image in.
+   *
+   * @param direction the name of the direction, either "horizontal" or "vertical"
+   * @return true if the direction is horizontal, false if it is vertical
+   * @throws IllegalArgumentException if the direction is not supported
+   */
+  private static boolean isHorizontal(String direction) throws IllegalArgumentException {
+    if (direction.equalsIgnoreCase("horizontal")) {
+      return true;
+    }
+    if (direction.equalsIgnoreCase("vertical")) {
+      return false;
+    }
+    throw new IllegalArgumentException("Images can only be flipped horizontally or vertically.");
+  }
+
   /**
    * A command that runs a script of other commands.
    */
@@ -1,28 +1,46 @@
 package controller.commands;
 
-import model.Image;
+import java.util.concurrent.ForkJoinPool;
 import model.ImageOperation;
 import model.ImageProcessingModel;
 import view.ImageProcessingView;
 
 /**
- * Applies one image operation to every image stored in the models layers.
+ * Applies one image operation to every image stored in the models layers. The layers are processed
+ * in parallel, and are only changed once the operation has succeeded on all of them, so a failure
+ * never leaves some layers changed and others not.
  */
 public class ImageProcessAllCommand implements ControllerCommand {
 
   private final ImageOperation operation;
+  private final ForkJoinPool pool;
 
   /**
-   * Constructs a {@code ImageProcessCommand} object.
+   * Constructs a {@code ImageProcessCommand} object that processes the layers in parallel on the
+   * common pool.
    *
    * @param operation the image operation that is called and is available in the model
    * @throws IllegalArgumentException if the given operation object is null
    */
   public ImageProcessAllCommand(ImageOperation operation) throws IllegalArgumentException {
+    this(operation, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code ImageProcessCommand} object that processes the layers in parallel on the
+   * given pool.
+   *
+   * @param operation the image operation that is called and is available in the model
+   * @param pool      the pool to process the layers on, or null to process them one after another
+   * @throws IllegalArgumentException if the given operation object is null
+   */
+  public ImageProcessAllCommand(ImageOperation operation, ForkJoinPool pool)
+      throws IllegalArgumentException {
     if (operation == null) {
       throw new IllegalArgumentException("The parameters cannot be null!");
     }
     this.operation = operation;
+    this.pool = pool;
   }
 
   @Override
@@ -32,13 +50,7 @@ public class ImageProcessAllCommand implements ControllerCommand {
       throw new IllegalArgumentException("Arguments cannot be null.");
     }
 
-    for (int index = 0; index < model.numLayers(); index += 1) {
-      String layerName = model.getLayerNameAt(index);
-      Image image = model.getImageIn(layerName);
-      if (image != null) {
-        model.applyOperation(layerName, operation);
-      }
-    }
+    model.applyOperationToAll(operation, pool);
     view.renderMessage("Applied operation to all layers.");
   }
 }
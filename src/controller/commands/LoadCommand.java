@@ -7,18 +7,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import model.Image;
 import model.ImageProcessingModel;
+import model.MappedImageBuilder;
+import model.PackedImageBuilder;
 import view.ImageProcessingView;
 
 /**
  * When the user calls the command "load <i>file-path</i> <i>format-of-file</i>", it loads (i.e.,
  * imports) the file via the given filepath. The format of the file can be found at the end of the
- * file name as a suffix.
+ * file name as a suffix. When the command is followed by "mapped", the image is stored in a
+ * temporary memory-mapped file instead of in memory, so images larger than the available memory
+ * can be loaded and processed.
  */
 public class LoadCommand implements ControllerCommand {
 
   private final ImageImportExporter ie;
   private final InputStream input;
   private final String filePath;
+  private final boolean mapped;
 
   /**
    * Constructs a {@code LoadCommand} object. The appropriate image import-exporter will be created
@@ -31,6 +36,22 @@ public class LoadCommand implements ControllerCommand {
    *                                  failed
    */
   public LoadCommand(String filepath, String format) throws IllegalArgumentException {
+    this(filepath, format, false);
+  }
+
+  /**
+   * Constructs a {@code LoadCommand} object that can store the loaded image in a memory-mapped
+   * file.
+   *
+   * @param filepath the filepath to the image file the user wants to load (import) scanned as a
+   *                 string
+   * @param format   the format of the image file the user wants to import scanned as a string
+   * @param mapped   whether to store the image in a memory-mapped file instead of in memory
+   * @throws IllegalArgumentException if either string is null or the loading of the file has
+   *                                  failed
+   */
+  public LoadCommand(String filepath, String format, boolean mapped)
+      throws IllegalArgumentException {
     if (filepath == null || format == null) {
       throw new IllegalArgumentException("The parameters cannot be null!");
     }
@@ -43,6 +64,7 @@ public class LoadCommand implements ControllerCommand {
       throw new IllegalArgumentException("Failed to load file. " + e.getMessage());
     }
     this.filePath = filepath;
+    this.mapped = mapped;
   }
 
   @Override
@@ -53,17 +75,44 @@ public class LoadCommand implements ControllerCommand {
     }
     Image parsedImage;
     try {
-      parsedImage = ie.parseImage(input);
+      if (mapped) {
+        parsedImage = ie.parseImage(input, MappedImageBuilder::temporary);
+      } else {
+        parsedImage = ie.parseImage(input, PackedImageBuilder::new);
+      }
     } catch (IOException e) {
       throw new IllegalStateException("Failed to save the image. " + e.getMessage());
     }
 
     String current = model.getCurrentName();
-    if (current != null) {
-      model.setLayerImage(current, parsedImage);
-      view.renderMessage("Loaded " + filePath + " into layer \"" + current + "\".");
-    } else {
+    if (current == null) {
+      closeImage(parsedImage);
       throw new IllegalStateException("No current layer set");
     }
+    try {
+      // The image was created by this command, so the layer owns it and closes it once it is no
+      // longer used, which deletes the temporary file of a mapped image
+      model.setLayerImage(current, parsedImage, true);
+    } catch (IllegalArgumentException e) {
+      closeImage(parsedImage);
+      throw e;
+    }
+    view.renderMessage("Loaded " + filePath + " into layer \"" + current + "\".");
+  }
+
+  /**
+   * Closes a loaded image that is not used, if it holds resources that must be released.
+   *
+   * @param image the image to close
+   * @throws IllegalStateException if the image fails to be closed
+   */
+  private static void closeImage(Image image) throws IllegalStateException {
+    if (image instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) image).close();
+      } catch (Exception e) {
+        throw new IllegalStateException("Failed to release the loaded image.", e);
+      }
+    }
   }
 }
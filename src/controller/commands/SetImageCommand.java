@@ -116,8 +116,8 @@ public class SetImageCommand implements ControllerCommand {
     }
 
     Image image = ImageExamples.checkerboard(rows, cols, size, size,
-        new RgbPixel(0, 0, 0),
-        new RgbPixel(255, 255, 255));
+        RgbPixel.of(0, 0, 0),
+        RgbPixel.of(255, 255, 255));
     setImage(image, model, view);
   }
 
@@ -3,87 +3,43 @@ package model;
 import java.util.Arrays;
 
 /**
- * An abstract class representing an image as a 2-dimensional array of pixels.
+ * An abstract class representing an image as a grid of pixels with red, green, and blue color
+ * channels. Concrete subclasses decide how the color values are stored and expose them through the
+ * unchecked {@code redAt}, {@code greenAt}, and {@code blueAt} methods.
  *
  * <p>Different AbstractImage implementations should work together by using all of the pixels in
- * the image for the equals method and the hashCode method.
+ * the image for the equals method and the hashCode method. Images are expected to be immutable, so
+ * the hash code and content hash are computed once and cached.
  */
 public abstract class AbstractImage implements Image {
 
-  private final Pixel[][] pixels;
+  // The number of rows in each tile of images that are stored row by row
+  static final int DEFAULT_TILE_ROWS = 64;
 
+  // The odd constant that the content hash is multiplied by after adding each pixel
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
 
-  /**
-   * Constructs a new image from a 2-dimensional array of pixels.
-   *
-   * @param pixels a two-dimensional array of the pixels in the image where each inner array
-   *               represents a row of pixel valuesRows are from top to bottom, and pixels * in a
-   *               row are from left to right.
-   * @param clamp  whether to clamp the pixel values to the allowed range. Values above the maximum
-   *               value will be set to the maximum, values below the minimum value will be set to
-   *               the minimum.
-   * @throws IllegalArgumentException if any of the arguments are null, if each row in every color
-   *                                  channel is not the same length, if the color channels are
-   *                                  empty, or if color values are outside the valid range if
-   *                                  clamping is false.
-   */
-  protected AbstractImage(Pixel[][] pixels, boolean clamp) throws IllegalArgumentException {
-    if (pixels == null) {
-      throw new IllegalArgumentException("Pixels must not be null.");
-    }
-    ensureValidPixels(pixels);
-
-    if (clamp) {
-      this.pixels = clampPixels(pixels);
-    } else {
-      this.pixels = checkPixels(pixels);
-    }
-  }
-
-  /**
-   * A convenience constructor for creating a new image without clamping. Constructs a new image
-   * from a 2-dimensional array of pixels.
-   *
-   * @param pixels a two-dimensional array of the pixels in the image where each inner array *
-   *               represents a row of pixel values. Rows are from top to bottom, and pixels in a
-   *               row are from left to right.
-   * @throws IllegalArgumentException if the pixel color values are outside the allowed range for
-   *                                  this image.
-   */
-  protected AbstractImage(Pixel[][] pixels) throws IllegalArgumentException {
-    this(pixels, false);
-  }
-
-  @Override
-  public int getWidth() {
-    if (getHeight() == 0) {
-      return 0;
-    } else {
-      return pixels[0].length;
-    }
-  }
-
-  @Override
-  public int getHeight() {
-    return pixels.length;
-  }
+  // The hashes are written before the flag, so a thread that sees the flag also sees the hashes
+  private int hash;
+  private long contentHash;
+  private volatile boolean hashed;
 
   @Override
   public int getRedValueAt(int row, int col) {
     checkCoordinates(row, col);
-    return pixels[row][col].getRedValue();
+    return redAt(row, col);
   }
 
   @Override
   public int getGreenValueAt(int row, int col) {
     checkCoordinates(row, col);
-    return pixels[row][col].getGreenValue();
+    return greenAt(row, col);
   }
 
   @Override
   public int getBlueValueAt(int row, int col) {
     checkCoordinates(row, col);
-    return pixels[row][col].getBlueValue();
+    return blueAt(row, col);
   }
 
   @Override
@@ -91,20 +47,137 @@ public abstract class AbstractImage implements Image {
     checkCoordinates(row, col);
     switch (channel) {
       case RED:
-        return getRedValueAt(row, col);
+        return redAt(row, col);
       case GREEN:
-        return getGreenValueAt(row, col);
+        return greenAt(row, col);
       case BLUE:
-        return getBlueValueAt(row, col);
+        return blueAt(row, col);
       default:
         throw new IllegalArgumentException("Unsupported color channel");
     }
   }
 
+  @Override
+  public int getRgbAt(int row, int col) {
+    checkCoordinates(row, col);
+    return rgbAt(row, col);
+  }
+
   @Override
   public Pixel getPixelAt(int row, int col) {
     checkCoordinates(row, col);
-    return pixels[row][col];
+    return pixelAt(row, col);
+  }
+
+  @Override
+  public void getRow(int row, ColorChannel channel, int[] dest, int offset) {
+    getRegion(row, 0, getWidth(), 1, channel, dest, offset);
+  }
+
+  @Override
+  public void getRgbRow(int row, int[] dest, int offset) {
+    getRgbRegion(row, 0, getWidth(), 1, dest, offset);
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int shift = channelShift(channel);
+    for (int r = 0; r < height; r += 1) {
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = (rgbAt(row + r, col + c) >> shift) & 0xFF;
+      }
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    for (int r = 0; r < height; r += 1) {
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = rgbAt(row + r, col + c);
+      }
+    }
+  }
+
+  /**
+   * Gets the width of the tiles of this image. By default an image is treated as being stored row
+   * by row, so each tile spans the full width of the image.
+   *
+   * @return the width of each tile in pixels
+   */
+  @Override
+  public int getTileWidth() {
+    return getWidth();
+  }
+
+  /**
+   * Gets the height of the tiles of this image. By default each tile holds a band of up to {@value
+   * #DEFAULT_TILE_ROWS} rows.
+   *
+   * @return the height of each tile in pixels
+   */
+  @Override
+  public int getTileHeight() {
+    return Math.min(getHeight(), DEFAULT_TILE_ROWS);
+  }
+
+  /**
+   * Gets the red channel value of a pixel without checking that the coordinates are valid.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the red channel value of the pixel
+   */
+  protected abstract int redAt(int row, int col);
+
+  /**
+   * Gets the green channel value of a pixel without checking that the coordinates are valid.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the green channel value of the pixel
+   */
+  protected abstract int greenAt(int row, int col);
+
+  /**
+   * Gets the blue channel value of a pixel without checking that the coordinates are valid.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the blue channel value of the pixel
+   */
+  protected abstract int blueAt(int row, int col);
+
+  /**
+   * Gets the packed RGB value of a pixel without checking that the coordinates are valid. Bits 0-7
+   * represent the blue value. Bits 8-15 are green. Bits 16-23 are red. Subclasses that store packed
+   * values should override this method to avoid reading each channel separately.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the packed RGB value of the pixel
+   */
+  protected int rgbAt(int row, int col) {
+    return (redAt(row, col) << 16) | (greenAt(row, col) << 8) | blueAt(row, col);
+  }
+
+  /**
+   * Gets the color of a pixel without checking that the coordinates are valid. Subclasses that
+   * store {@link Pixel} objects should override this method to return the stored object.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the color of the pixel
+   */
+  protected Pixel pixelAt(int row, int col) {
+    return RgbPixel.of(redAt(row, col), greenAt(row, col), blueAt(row, col));
   }
 
   /**
@@ -121,6 +194,16 @@ public abstract class AbstractImage implements Image {
    */
   protected abstract int maxValue();
 
+  /**
+   * Determines whether another object is an image with the same width, height, and color values
+   * as this image. Images that are stored the same way compare their storage directly with {@link
+   * #rasterEquals(AbstractImage)}. Other images are compared one row of packed RGB values at a
+   * time.
+   * Images whose content hashes have already been computed are first compared by their hashes.
+   *
+   * @param o the object to compare to
+   * @return whether the object is an image with the same pixels
+   */
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -134,20 +217,102 @@ public abstract class AbstractImage implements Image {
     if (this.getHeight() != other.getHeight() || this.getWidth() != other.getWidth()) {
       return false;
     }
+    if (this.hashed && other.hashed && this.contentHash != other.contentHash) {
+      return false;
+    }
+    if (this.getClass() == other.getClass()) {
+      return rasterEquals(other);
+    }
+    return pixelsEqual(other);
+  }
 
-    for (int row = 0; row < getHeight(); row += 1) {
-      for (int col = 0; col < getWidth(); col += 1) {
-        if (!this.getPixelAt(row, col).equals(other.getPixelAt(row, col))) {
-          return false;
-        }
+  /**
+   * Compares the stored color values of this image with another image of the same class and the
+   * same width and height. Subclasses should override this method to compare their storage
+   * directly. By default the images are compared one row of packed RGB values at a time.
+   *
+   * @param other an image of the same class and size as this image
+   * @return whether the images have the same color values
+   */
+  protected boolean rasterEquals(AbstractImage other) {
+    return pixelsEqual(other);
+  }
+
+  /**
+   * Compares the color values of this image with another image of the same width and height one
+   * row of packed RGB values at a time.
+   *
+   * @param other an image of the same size as this image
+   * @return whether the images have the same color values
+   */
+  private boolean pixelsEqual(AbstractImage other) {
+    int width = getWidth();
+    int[] row = new int[width];
+    int[] otherRow = new int[width];
+    for (int r = 0; r < getHeight(); r += 1) {
+      this.getRgbRow(r, row, 0);
+      other.getRgbRow(r, otherRow, 0);
+      if (!Arrays.equals(row, otherRow)) {
+        return false;
       }
     }
     return true;
   }
 
+  /**
+   * Computes a hash code from the color values of every pixel. The result is the same as calling
+   * {@code Arrays.deepHashCode} on a 2-dimensional array of {@link RgbPixel}s with the same color
+   * values, but it is computed directly from the color values without creating any objects. The
+   * hash code is computed once, together with the {@link #contentHash()}, and then reused.
+   *
+   * @return the hash code for this image
+   */
   @Override
   public int hashCode() {
-    return Arrays.deepHashCode(pixels);
+    computeHashes();
+    return hash;
+  }
+
+  @Override
+  public long contentHash() {
+    computeHashes();
+    return contentHash;
+  }
+
+  /**
+   * Computes the hash code and the content hash of this image in a single pass over its packed RGB
+   * values, unless they have already been computed. Images are immutable, so both hashes are
+   * computed at most once.
+   */
+  private void computeHashes() {
+    if (hashed) {
+      return;
+    }
+    int width = getWidth();
+    int height = getHeight();
+    int[] row = new int[width];
+    int result = 1;
+    long content = ((long) width << 32 | height) * HASH_MULTIPLIER;
+    for (int r = 0; r < height; r += 1) {
+      getRgbRow(r, row, 0);
+      int rowResult = 1;
+      for (int c = 0; c < width; c += 1) {
+        int rgb = row[c];
+        int pixelResult = 31 + ((rgb >> 16) & 0xFF);
+        pixelResult = 31 * pixelResult + ((rgb >> 8) & 0xFF);
+        pixelResult = 31 * pixelResult + (rgb & 0xFF);
+        rowResult = 31 * rowResult + pixelResult;
+        content = (content + (rgb & 0xFFFFFF)) * HASH_MULTIPLIER;
+      }
+      result = 31 * result + rowResult;
+    }
+    // Mix the bits so that images that differ in one pixel differ in about half of the hash bits
+    content ^= content >>> 33;
+    content *= 0xFF51AFD7ED558CCDL;
+    content ^= content >>> 33;
+    this.hash = result;
+    this.contentHash = content;
+    this.hashed = true;
   }
 
   /**
@@ -155,10 +320,13 @@ public abstract class AbstractImage implements Image {
    * pixels has the same number of non-zero values in every row.
    *
    * @param pixels the pixels to check the validity of
-   * @throws IllegalArgumentException if the channel has no color values or if each row of the
-   *                                  channel is not the same length.
+   * @throws IllegalArgumentException if the array is null, if the channel has no color values or if
+   *                                  each row of the channel is not the same length.
    */
-  private static void ensureValidPixels(Pixel[][] pixels) throws IllegalArgumentException {
+  protected static void ensureValidPixels(Pixel[][] pixels) throws IllegalArgumentException {
+    if (pixels == null) {
+      throw new IllegalArgumentException("Pixels must not be null.");
+    }
     if (pixels.length == 0 || pixels[0].length == 0) {
       throw new IllegalArgumentException("Image must contain at least one pixel.");
     }
@@ -171,21 +339,34 @@ public abstract class AbstractImage implements Image {
   }
 
   /**
-   * Checks that all pixels in a 2-dimensional array have color values with the allowed range for
-   * this image.
+   * Creates a new image from a 2-dimensional array of pixels by writing them into a builder from
+   * {@link #builder(int, int)}. Subclasses that have no cheaper way of storing pixels can use this
+   * to implement {@link #fromPixels(Pixel[][], boolean)}.
    *
-   * @param pixels the 2-dimensional array of pixels to check.
-   * @return the same array of pixels that was passed as an argument for convenience
+   * @param pixels the pixels of the image
+   * @param clamp  whether to clamp the pixel values to the allowed range
+   * @return the new image
+   * @throws IllegalArgumentException if the array is null, if each row is not the same length, if
+   *                                  the array is empty, or if color values are outside the valid
+   *                                  range if clamping is false.
    */
-  private Pixel[][] checkPixels(Pixel[][] pixels) {
-    for (Pixel[] row : pixels) {
-      for (Pixel pixel : row) {
-        ensureInRange(pixel.getRedValue());
-        ensureInRange(pixel.getGreenValue());
-        ensureInRange(pixel.getBlueValue());
+  protected Image buildFromPixels(Pixel[][] pixels, boolean clamp)
+      throws IllegalArgumentException {
+    ensureValidPixels(pixels);
+    ImageBuilder builder = builder(pixels[0].length, pixels.length);
+    for (int row = 0; row < pixels.length; row += 1) {
+      for (int col = 0; col < pixels[0].length; col += 1) {
+        Pixel pixel = pixels[row][col];
+        if (!clamp) {
+          ensureInRange(pixel.getRedValue());
+          ensureInRange(pixel.getGreenValue());
+          ensureInRange(pixel.getBlueValue());
+        }
+        builder.setPixel(row, col, pixel.getRedValue(), pixel.getGreenValue(),
+            pixel.getBlueValue());
       }
     }
-    return pixels;
+    return builder.build();
   }
 
   /**
@@ -194,7 +375,7 @@ public abstract class AbstractImage implements Image {
    * @param value the value to check
    * @throws IllegalArgumentException if the value is outside the range.
    */
-  private void ensureInRange(double value) throws IllegalArgumentException {
+  protected void ensureInRange(int value) throws IllegalArgumentException {
     if (value < minValue() || value > maxValue()) {
       throw new IllegalArgumentException(
           String.format("Color values must be in the range [%d, %d]",
@@ -203,22 +384,51 @@ public abstract class AbstractImage implements Image {
   }
 
   /**
-   * Produces a new 2-dimensional array of pixels equivalent to the ones passed in except with their
-   * color values clamped to the allowed range for this image. Color values higher than the allowed
-   * maximum are set the maximum. Color values lower than the allowed minimum are set to the
-   * minimum.
+   * Checks that a rectangular region lies inside this image and that an array is large enough to
+   * hold the values of every pixel in the region.
    *
-   * @param pixels the pixels to clamp the color values of
-   * @return the 2-dimensional array of pixels with their values clamped.
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region in pixels
+   * @param height the height of the region in pixels
+   * @param dest   the array the values of the region will be copied into
+   * @param offset the index in the array where the first value will be stored
+   * @throws IllegalArgumentException if the region is outside the image or the array is null or
+   *                                  too small
    */
-  private Pixel[][] clampPixels(Pixel[][] pixels) {
-    Pixel[][] clamped = new Pixel[pixels.length][pixels[0].length];
-    for (int row = 0; row < pixels.length; row += 1) {
-      for (int col = 0; col < pixels[0].length; col += 1) {
-        clamped[row][col] = pixels[row][col].clamp(minValue(), maxValue());
-      }
+  protected void checkRegion(int row, int col, int width, int height, int[] dest, int offset)
+      throws IllegalArgumentException {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array must not be null.");
+    }
+    if (row < 0 || col < 0 || width < 0 || height < 0
+        || height > getHeight() - row || width > getWidth() - col) {
+      throw new IllegalArgumentException("Region must be inside the image.");
+    }
+    if (offset < 0 || (long) offset + (long) width * height > dest.length) {
+      throw new IllegalArgumentException("Destination array is too small for the region.");
+    }
+  }
+
+  /**
+   * Gets the number of bits a packed RGB value must be shifted right by to get the value of a
+   * color channel in the lowest 8 bits.
+   *
+   * @param channel the color channel
+   * @return the number of bits to shift by
+   * @throws IllegalArgumentException if the channel is not supported
+   */
+  protected static int channelShift(ColorChannel channel) throws IllegalArgumentException {
+    switch (channel) {
+      case RED:
+        return 16;
+      case GREEN:
+        return 8;
+      case BLUE:
+        return 0;
+      default:
+        throw new IllegalArgumentException("Unsupported color channel");
     }
-    return clamped;
   }
 
   /**
@@ -226,9 +436,9 @@ public abstract class AbstractImage implements Image {
    *
    * @param row the row of the image from top to bottom
    * @param col the column of the image from left to right
-   * @throws IllegalArgumentException if the row o
+   * @throws IllegalArgumentException if the row or column is outside the image
    */
-  private void checkCoordinates(int row, int col) throws IllegalArgumentException {
+  protected void checkCoordinates(int row, int col) throws IllegalArgumentException {
     if (row < 0 || row >= getHeight() || col < 0 || col >= getWidth()) {
       throw new IllegalArgumentException("Invalid row or column.");
     }
@@ -0,0 +1,150 @@
+package model;
+
+/**
+ * An abstract class representing an image that does not store any pixels of its own. Instead, the
+ * color of each pixel is computed when it is read by mapping its coordinates onto a pixel of
+ * another image, the source of the view. Creating a view takes constant time and memory no matter
+ * how large the source image is.
+ *
+ * <p>Reading a pixel of a view costs a little more than reading a pixel of a stored image, and the
+ * cost grows with every view that is stacked on another. A view can be copied into a stored image
+ * with {@link #materialize()} when its pixels will be read many times. Images created from a view
+ * with {@code builder}, {@code fromRgb}, or {@code fromPixels} are stored the same way as the
+ * source image.
+ */
+public abstract class AbstractImageView extends AbstractImage {
+
+  // The largest number of views that operations stack on top of each other before materializing
+  static final int MAX_DEPTH = 4;
+
+  protected final Image source;
+  private final int depth;
+
+  /**
+   * Constructs a new AbstractImageView over a source image.
+   *
+   * @param source the image the pixels of the view are read from
+   * @throws IllegalArgumentException if the source is null
+   */
+  protected AbstractImageView(Image source) throws IllegalArgumentException {
+    if (source == null) {
+      throw new IllegalArgumentException("Source image must not be null.");
+    }
+    this.source = source;
+    this.depth = source instanceof AbstractImageView ? ((AbstractImageView) source).depth + 1 : 1;
+  }
+
+  /**
+   * Gets the image the pixels of this view are read from.
+   *
+   * @return the source image
+   */
+  public Image getSource() {
+    return source;
+  }
+
+  /**
+   * Copies the pixels of this view into a new image that is stored the same way as the source
+   * image. Pixels are copied one tile at a time.
+   *
+   * @return the new image with the same pixels as this view
+   */
+  public Image materialize() {
+    int width = getWidth();
+    int height = getHeight();
+    int tileWidth = Math.min(width, getTileWidth());
+    int tileHeight = Math.min(height, getTileHeight());
+    int[] rgbTile = new int[tileWidth * tileHeight];
+    ImageBuilder builder = builder(width, height);
+    for (int tileRow = 0; tileRow < height; tileRow += tileHeight) {
+      for (int tileCol = 0; tileCol < width; tileCol += tileWidth) {
+        int regionWidth = Math.min(tileWidth, width - tileCol);
+        int regionHeight = Math.min(tileHeight, height - tileRow);
+        getRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+        builder.setRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+      }
+    }
+    return builder.build();
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    return (rgbAt(row, col) >> 16) & 0xFF;
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    return (rgbAt(row, col) >> 8) & 0xFF;
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    return rgbAt(row, col) & 0xFF;
+  }
+
+  /**
+   * Gets the packed RGB value of a pixel by reading the pixel of the source image it maps onto,
+   * without checking that the coordinates are valid.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @return the packed RGB value of the pixel
+   */
+  @Override
+  protected abstract int rgbAt(int row, int col);
+
+  @Override
+  public Image fromPixels(Pixel[][] pixels, boolean clamp) {
+    return source.fromPixels(pixels, clamp);
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return source.fromRgb(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return source.builder(width, height);
+  }
+
+  @Override
+  protected int minValue() {
+    return Image24Bit.MIN_VALUE;
+  }
+
+  @Override
+  protected int maxValue() {
+    return Image24Bit.MAX_VALUE;
+  }
+
+  /**
+   * Prepares an image to be the source of a new view. Views that already sit on top of {@value
+   * #MAX_DEPTH} other views are materialized first, so reading a pixel never has to go through
+   * more than a few views.
+   *
+   * @param image the image to create a view over
+   * @return the image to use as the source of the view
+   */
+  static Image viewSource(Image image) {
+    if (image instanceof AbstractImageView && ((AbstractImageView) image).depth >= MAX_DEPTH) {
+      return ((AbstractImageView) image).materialize();
+    }
+    return image;
+  }
+
+  /**
+   * Determines whether an image reads its pixels from another image, either because they are the
+   * same image or because the image is a view whose pixels come from the other image.
+   *
+   * @param image the image that may read from the other image
+   * @param other the other image
+   * @return whether the image reads its pixels from the other image
+   */
+  static boolean readsFrom(Image image, Image other) {
+    while (image != other && image instanceof AbstractImageView) {
+      image = ((AbstractImageView) image).source;
+    }
+    return image == other;
+  }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents an image processing operation that blurs an image by replacing the color of each
+ * pixel with the average color of the square of pixels around it, which reaches the given radius
+ * from the pixel in every direction. Near the edges of the image only the pixels of the square that
+ * are inside the image are averaged, so the edges are not darkened. Each channel of the average is
+ * truncated to a whole number.
+ *
+ * <p>The averages are read from an {@link IntegralImage} of the image, so blurring takes the same
+ * time for every radius.
+ */
+public class BoxBlurOperation implements ImageOperation {
+
+  private final int radius;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a new BoxBlurOperation with the given radius.
+   *
+   * @param radius the number of pixels the average reaches in each direction from a pixel
+   * @throws IllegalArgumentException if the radius is negative
+   */
+  public BoxBlurOperation(int radius) throws IllegalArgumentException {
+    this(radius, null);
+  }
+
+  /**
+   * Constructs a new BoxBlurOperation with the given radius that blurs bands of rows of an image in
+   * parallel.
+   *
+   * @param radius the number of pixels the average reaches in each direction from a pixel
+   * @param pool   the pool to blur bands of rows on, or null to blur on the calling thread
+   * @throws IllegalArgumentException if the radius is negative
+   */
+  public BoxBlurOperation(int radius, ForkJoinPool pool) throws IllegalArgumentException {
+    if (radius < 0) {
+      throw new IllegalArgumentException("Radius must not be negative.");
+    }
+    this.radius = radius;
+    this.pool = pool;
+  }
+
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+
+    int width = image.getWidth();
+    int height = image.getHeight();
+    IntegralImage sums = new IntegralImage(image);
+    ImageBuilder builder = image.builder(width, height);
+    RowBands.forEach(pool, height, Math.min(height, image.getTileHeight()), (top, bottom) -> {
+      int[] rgbRow = new int[width];
+      for (int row = top; row < bottom; row += 1) {
+        int first = Math.max(0, row - radius);
+        int rows = Math.min(height, row + radius + 1) - first;
+        for (int col = 0; col < width; col += 1) {
+          int left = Math.max(0, col - radius);
+          int cols = Math.min(width, col + radius + 1) - left;
+          rgbRow[col] = sums.getAverageRgb(first, left, cols, rows);
+        }
+        builder.setRgbRegion(row, 0, width, 1, rgbRow, 0);
+      }
+    });
+    return builder.build();
+  }
+}
@@ -0,0 +1,79 @@
+package model;
+
+/**
+ * A greyscale view of a single color channel of another image. The red, green, and blue values of
+ * each pixel in the view are all equal to the value of the chosen channel of the same pixel in the
+ * source image.
+ */
+public class ChannelImage extends AbstractImageView {
+
+  private final ColorChannel channel;
+
+  /**
+   * Constructs a new view of one color channel of an image.
+   *
+   * @param source  the image to extract the channel from
+   * @param channel the color channel to extract
+   * @throws IllegalArgumentException if the source or channel are null
+   */
+  public ChannelImage(Image source, ColorChannel channel) throws IllegalArgumentException {
+    super(source);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    this.channel = channel;
+  }
+
+  /**
+   * Gets the color channel extracted by this view.
+   *
+   * @return the color channel
+   */
+  public ColorChannel getChannel() {
+    return channel;
+  }
+
+  @Override
+  public int getWidth() {
+    return source.getWidth();
+  }
+
+  @Override
+  public int getHeight() {
+    return source.getHeight();
+  }
+
+  @Override
+  public int getTileWidth() {
+    return source.getTileWidth();
+  }
+
+  @Override
+  public int getTileHeight() {
+    return source.getTileHeight();
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    return source.getValueAt(row, col, channel) * 0x010101;
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    source.getRegion(row, col, width, height, this.channel, dest, offset);
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    source.getRegion(row, col, width, height, channel, dest, offset);
+    for (int index = offset; index < offset + width * height; index += 1) {
+      dest[index] *= 0x010101;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * An operation that extracts a single color channel of an image as a greyscale image. The result
+ * is a view of the original image, so extracting a channel takes constant time and memory no
+ * matter how large the image is.
+ */
+public class ChannelOperation implements ImageOperation {
+
+  private final ColorChannel channel;
+
+  /**
+   * Constructs a new ChannelOperation.
+   *
+   * @param channel the color channel to extract
+   * @throws IllegalArgumentException if the channel is null
+   */
+  public ChannelOperation(ColorChannel channel) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    this.channel = channel;
+  }
+
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    return new ChannelImage(AbstractImageView.viewSource(image), channel);
+  }
+}
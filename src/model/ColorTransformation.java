@@ -1,13 +1,40 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Represents an image processing operation that applies a linear transformation to the color values
  * in an image to alter the appearance of an image. For every pixel in the image, the RGB value is
- * transformed by the given matrix.
+ * transformed by the given matrix. The matrix can be applied with either kind of {@link
+ * Arithmetic}.
+ *
+ * <p>Consecutive transformations can be combined with {@link #andThen(ColorTransformation)} so
+ * that a chain of them is applied in a single pass over the image, without building an image for
+ * each step. By default the matrices are multiplied into one matrix, so each pixel costs one matrix
+ * product no matter how long the chain is. Applying the steps one after another truncates and
+ * clamps the colors after every step, so the product can give slightly different colors, and very
+ * different ones where a step clamps. {@link #andThen(ColorTransformation, boolean)} can instead
+ * keep every step and apply them one after another to each tile of the image, which gives exactly
+ * the same colors as applying the transformations separately.
+ *
+ * <p>Each pixel is read as a packed RGB value and written straight into the builder of the new
+ * image one tile at a time, so transforming an image allocates nothing for each pixel. A
+ * transformation with a pool transforms bands of whole rows of tiles in parallel, which gives the
+ * same image as transforming it on a single thread.
  */
 public class ColorTransformation implements ImageOperation {
 
   private final double[][] matrix;
+  // The rows of the matrix rounded to fixed-point weights if fixed-point arithmetic is used, null
+  // otherwise
+  private final int[][] fixedMatrix;
+  // The transformations applied one after another to each tile if this transformation keeps the
+  // clamping of every step of a chain, null otherwise
+  private final List<ColorTransformation> steps;
+  private final ForkJoinPool pool;
 
   /**
    * Constructs a new ColorTransformation from the given matrix.
@@ -16,6 +43,41 @@ public class ColorTransformation implements ImageOperation {
    * @throws IllegalArgumentException if the matrix is null or is not 3x3 in size.
    */
   public ColorTransformation(double[][] matrix) throws IllegalArgumentException {
+    this(matrix, Arithmetic.FLOATING_POINT);
+  }
+
+  /**
+   * Constructs a new ColorTransformation from the given matrix that combines color values with
+   * the given arithmetic.
+   *
+   * @param matrix     the linear transformation to apply to pixel color values in the image.
+   * @param arithmetic the arithmetic used to apply the matrix
+   * @throws IllegalArgumentException if the matrix or arithmetic is null, if the matrix is not 3x3
+   *                                  in size, or if the matrix is too large for fixed-point
+   *                                  arithmetic.
+   */
+  public ColorTransformation(double[][] matrix, Arithmetic arithmetic)
+      throws IllegalArgumentException {
+    this(matrix, arithmetic, null);
+  }
+
+  /**
+   * Constructs a new ColorTransformation from the given matrix that combines color values with
+   * the given arithmetic and transforms bands of rows of an image in parallel.
+   *
+   * @param matrix     the linear transformation to apply to pixel color values in the image.
+   * @param arithmetic the arithmetic used to apply the matrix
+   * @param pool       the pool to transform bands of rows on, or null to transform on the calling
+   *                   thread
+   * @throws IllegalArgumentException if the matrix or arithmetic is null, if the matrix is not 3x3
+   *                                  in size, or if the matrix is too large for fixed-point
+   *                                  arithmetic.
+   */
+  public ColorTransformation(double[][] matrix, Arithmetic arithmetic, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    if (arithmetic == null) {
+      throw new IllegalArgumentException("Arithmetic must not be null.");
+    }
     if (matrix == null) {
       throw new IllegalArgumentException("The matrix cannot be null!");
     }
@@ -29,6 +91,89 @@ public class ColorTransformation implements ImageOperation {
         this.matrix[row][col] = matrix[row][col];
       }
     }
+    if (arithmetic == Arithmetic.FIXED_POINT) {
+      this.fixedMatrix = new int[3][];
+      for (int row = 0; row < 3; row += 1) {
+        this.fixedMatrix[row] = Arithmetic.toFixedPoint(this.matrix[row]);
+      }
+    } else {
+      this.fixedMatrix = null;
+    }
+    this.steps = null;
+    this.pool = pool;
+  }
+
+  /**
+   * Constructs a new ColorTransformation that applies each of the given transformations in turn,
+   * clamping the colors after each one.
+   *
+   * @param steps the transformations to apply, none of which are chains
+   * @param pool  the pool to transform bands of rows on, or null to transform on the calling
+   *              thread
+   */
+  private ColorTransformation(List<ColorTransformation> steps, ForkJoinPool pool) {
+    double[][] product = steps.get(0).matrix;
+    for (int step = 1; step < steps.size(); step += 1) {
+      product = multiply(steps.get(step).matrix, product);
+    }
+    this.matrix = product;
+    this.fixedMatrix = null;
+    this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    this.pool = pool;
+  }
+
+  /**
+   * Combines this transformation with another one into a single transformation that applies this
+   * one and then the other one in one pass over an image. The matrices are multiplied into one
+   * matrix, so the colors are only truncated and clamped once, at the end. The combined
+   * transformation uses fixed-point arithmetic if both transformations do, and the pool of this
+   * transformation.
+   *
+   * @param next the transformation to apply after this one
+   * @return the combined transformation
+   * @throws IllegalArgumentException if the other transformation is null, or both use fixed-point
+   *                                  arithmetic and the product is too large for it
+   */
+  public ColorTransformation andThen(ColorTransformation next) throws IllegalArgumentException {
+    return andThen(next, false);
+  }
+
+  /**
+   * Combines this transformation with another one into a single transformation that applies this
+   * one and then the other one in one pass over an image. The combined transformation uses the
+   * pool of this transformation.
+   *
+   * @param next          the transformation to apply after this one
+   * @param clampEachStep whether to keep both steps and truncate and clamp the colors after each
+   *                      of them, which gives exactly the same colors as applying the
+   *                      transformations separately, instead of multiplying their matrices
+   * @return the combined transformation
+   * @throws IllegalArgumentException if the other transformation is null, or the matrices are
+   *                                  multiplied, both transformations use fixed-point arithmetic,
+   *                                  and the product is too large for it
+   */
+  public ColorTransformation andThen(ColorTransformation next, boolean clampEachStep)
+      throws IllegalArgumentException {
+    if (next == null) {
+      throw new IllegalArgumentException("Transformation must not be null.");
+    }
+    if (clampEachStep) {
+      List<ColorTransformation> chain = new ArrayList<>(steps());
+      chain.addAll(next.steps());
+      return new ColorTransformation(chain, pool);
+    }
+    boolean fixedPoint = fixedMatrix != null && next.fixedMatrix != null;
+    return new ColorTransformation(multiply(next.matrix, matrix),
+        fixedPoint ? Arithmetic.FIXED_POINT : Arithmetic.FLOATING_POINT, pool);
+  }
+
+  /**
+   * Gets the transformations this transformation applies one after another.
+   *
+   * @return the steps of the chain, or just this transformation if it is not a chain
+   */
+  private List<ColorTransformation> steps() {
+    return steps == null ? Collections.singletonList(this) : steps;
   }
 
   @Override
@@ -37,39 +182,129 @@ public class ColorTransformation implements ImageOperation {
       throw new IllegalArgumentException("Image must not be null.");
     }
 
-    Pixel[][] pixels = new Pixel[image.getHeight()][image.getWidth()];
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int tileWidth = Math.min(width, image.getTileWidth());
+    int tileHeight = Math.min(height, image.getTileHeight());
+    ImageBuilder builder = image.builder(width, height);
+    List<ColorTransformation> chain = steps();
 
-    for (int row = 0; row < image.getHeight(); row += 1) {
-      for (int col = 0; col < image.getWidth(); col += 1) {
-        double[] rgbVector = image.getPixelAt(row, col).getRgbVector();
-        int red = (int) dotProduct(rgbVector, matrix[0]);
-        int green = (int) dotProduct(rgbVector, matrix[1]);
-        int blue = (int) dotProduct(rgbVector, matrix[2]);
-        pixels[row][col] = image.getPixelAt(row, col).fromRGB(red, green, blue);
+    RowBands.forEach(pool, height, tileHeight, (top, bottom) -> {
+      int[] rgbTile = new int[tileWidth * tileHeight];
+      for (int tileRow = top; tileRow < bottom; tileRow += tileHeight) {
+        for (int tileCol = 0; tileCol < width; tileCol += tileWidth) {
+          int regionWidth = Math.min(tileWidth, width - tileCol);
+          int regionHeight = Math.min(tileHeight, bottom - tileRow);
+          image.getRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+          for (ColorTransformation step : chain) {
+            step.transformTile(rgbTile, regionWidth * regionHeight);
+          }
+          builder.setRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+        }
       }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Transforms the colors of a block of packed RGB values in place with the arithmetic of this
+   * transformation, which must not be a chain.
+   *
+   * @param rgb   the packed RGB values to transform
+   * @param count the number of values to transform
+   */
+  private void transformTile(int[] rgb, int count) {
+    if (fixedMatrix != null) {
+      transformFixedPoint(rgb, count);
+    } else {
+      transform(rgb, count);
     }
-    return image.fromPixels(pixels, true);
   }
 
   /**
-   * Takes the dot product of two vectors represented as arrays.
+   * Transforms the colors of a block of packed RGB values in place. The matrix is copied into
+   * local variables and every pixel goes through the same straight line of arithmetic with no
+   * calls or branches, so the JIT compiler can transform several pixels with each SIMD
+   * instruction.
    *
-   * @param v1 the first vector
-   * @param v2 the second vector
-   * @return the dot product of the two vectors.
-   * @throws IllegalArgumentException if the arrays are not the same length;
+   * @param rgb   the packed RGB values to transform
+   * @param count the number of values to transform
    */
-  private static double dotProduct(double[] v1, double[] v2) throws IllegalArgumentException {
-    if (v1.length != v2.length) {
-      throw new IllegalArgumentException("Arrays must be the same length.");
+  private void transform(int[] rgb, int count) {
+    double m00 = matrix[0][0];
+    double m01 = matrix[0][1];
+    double m02 = matrix[0][2];
+    double m10 = matrix[1][0];
+    double m11 = matrix[1][1];
+    double m12 = matrix[1][2];
+    double m20 = matrix[2][0];
+    double m21 = matrix[2][1];
+    double m22 = matrix[2][2];
+    for (int index = 0; index < count; index += 1) {
+      int pixel = rgb[index];
+      double oldRed = (pixel >> 16) & 0xFF;
+      double oldGreen = (pixel >> 8) & 0xFF;
+      double oldBlue = pixel & 0xFF;
+      int red = (int) (m00 * oldRed + m01 * oldGreen + m02 * oldBlue);
+      int green = (int) (m10 * oldRed + m11 * oldGreen + m12 * oldBlue);
+      int blue = (int) (m20 * oldRed + m21 * oldGreen + m22 * oldBlue);
+      rgb[index] = (Math.max(0, Math.min(255, red)) << 16)
+          | (Math.max(0, Math.min(255, green)) << 8)
+          | Math.max(0, Math.min(255, blue));
     }
-    double result = 0;
-    for (int index = 0; index < v1.length; index += 1) {
-      result += v1[index] * v2[index];
+  }
+
+  /**
+   * Transforms the colors of a block of packed RGB values in place with the fixed-point matrix.
+   * Dividing the sums by the fixed-point representation of 1 truncates toward zero, like the cast
+   * of a {@code double}.
+   *
+   * @param rgb   the packed RGB values to transform
+   * @param count the number of values to transform
+   */
+  private void transformFixedPoint(int[] rgb, int count) {
+    int m00 = fixedMatrix[0][0];
+    int m01 = fixedMatrix[0][1];
+    int m02 = fixedMatrix[0][2];
+    int m10 = fixedMatrix[1][0];
+    int m11 = fixedMatrix[1][1];
+    int m12 = fixedMatrix[1][2];
+    int m20 = fixedMatrix[2][0];
+    int m21 = fixedMatrix[2][1];
+    int m22 = fixedMatrix[2][2];
+    for (int index = 0; index < count; index += 1) {
+      int pixel = rgb[index];
+      int oldRed = (pixel >> 16) & 0xFF;
+      int oldGreen = (pixel >> 8) & 0xFF;
+      int oldBlue = pixel & 0xFF;
+      int red = (m00 * oldRed + m01 * oldGreen + m02 * oldBlue) / Arithmetic.ONE;
+      int green = (m10 * oldRed + m11 * oldGreen + m12 * oldBlue) / Arithmetic.ONE;
+      int blue = (m20 * oldRed + m21 * oldGreen + m22 * oldBlue) / Arithmetic.ONE;
+      rgb[index] = (Math.max(0, Math.min(255, red)) << 16)
+          | (Math.max(0, Math.min(255, green)) << 8)
+          | Math.max(0, Math.min(255, blue));
     }
-    return result;
   }
 
+  /**
+   * Multiplies two 3 by 3 matrices. Transforming a color with the product is the same as
+   * transforming it with the right matrix and then with the left matrix.
+   *
+   * @param left  the matrix on the left
+   * @param right the matrix on the right
+   * @return the product of the matrices
+   */
+  private static double[][] multiply(double[][] left, double[][] right) {
+    double[][] product = new double[3][3];
+    for (int row = 0; row < 3; row += 1) {
+      for (int col = 0; col < 3; col += 1) {
+        for (int index = 0; index < 3; index += 1) {
+          product[row][col] += left[row][index] * right[index][col];
+        }
+      }
+    }
+    return product;
+  }
 
   /**
    * Check whether a 2-dimensional array is a valid matrix for a color transformation. A valid
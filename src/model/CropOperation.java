@@ -0,0 +1,61 @@
+package model;
+
+/**
+ * An operation that crops an image to a rectangular region. The cropped image is a view of the
+ * original image, so cropping takes constant time and memory no matter how large the image is.
+ */
+public class CropOperation implements ImageOperation {
+
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+
+  /**
+   * Constructs a new CropOperation that keeps the given region of an image.
+   *
+   * @param x      the column of the left edge of the region
+   * @param y      the row of the top edge of the region
+   * @param width  the width of the region in pixels
+   * @param height the height of the region in pixels
+   * @throws IllegalArgumentException if the coordinates are negative or if the width or height are
+   *                                  not positive
+   */
+  public CropOperation(int x, int y, int width, int height) throws IllegalArgumentException {
+    if (x < 0 || y < 0) {
+      throw new IllegalArgumentException("Region must not start outside the image.");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Region must contain at least one pixel.");
+    }
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Crops an image. Cropping an image that is already cropped creates a single view of the
+   * original image instead of stacking one view on another.
+   *
+   * @param image the image to crop
+   * @return a view of the region of the image
+   * @throws IllegalArgumentException if the image is null or the region is not inside the image
+   */
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    if ((long) x + width > image.getWidth() || (long) y + height > image.getHeight()) {
+      throw new IllegalArgumentException("Region must be inside the image: "
+          + image.getWidth() + "x" + image.getHeight() + ".");
+    }
+    if (image instanceof CroppedImage) {
+      CroppedImage cropped = (CroppedImage) image;
+      return new CroppedImage(cropped.getSource(), cropped.getTop() + y, cropped.getLeft() + x,
+          width, height);
+    }
+    return new CroppedImage(AbstractImageView.viewSource(image), y, x, width, height);
+  }
+}
@@ -0,0 +1,96 @@
+package model;
+
+/**
+ * A view of a rectangular region of another image. The pixel at (row, col) of the view is the pixel
+ * at (row + top, col + left) of the source image.
+ */
+public class CroppedImage extends AbstractImageView {
+
+  private final int top;
+  private final int left;
+  private final int width;
+  private final int height;
+
+  /**
+   * Constructs a new view of a region of an image.
+   *
+   * @param source the image to crop
+   * @param top    the row of the source image that becomes the top row of the view
+   * @param left   the column of the source image that becomes the left column of the view
+   * @param width  the width of the region in pixels
+   * @param height the height of the region in pixels
+   * @throws IllegalArgumentException if the source is null, if the width or height are not
+   *                                  positive, or if the region is not inside the source image
+   */
+  public CroppedImage(Image source, int top, int left, int width, int height)
+      throws IllegalArgumentException {
+    super(source);
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    if (top < 0 || left < 0 || (long) top + height > source.getHeight()
+        || (long) left + width > source.getWidth()) {
+      throw new IllegalArgumentException("Region must be inside the image.");
+    }
+    this.top = top;
+    this.left = left;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Gets the row of the source image that is the top row of this view.
+   *
+   * @return the top row of the region
+   */
+  public int getTop() {
+    return top;
+  }
+
+  /**
+   * Gets the column of the source image that is the left column of this view.
+   *
+   * @return the left column of the region
+   */
+  public int getLeft() {
+    return left;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getTileWidth() {
+    return source.getTileWidth();
+  }
+
+  @Override
+  public int getTileHeight() {
+    return source.getTileHeight();
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    return source.getRgbAt(row + top, col + left);
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    source.getRegion(row + top, col + left, width, height, channel, dest, offset);
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    source.getRgbRegion(row + top, col + left, width, height, dest, offset);
+  }
+}
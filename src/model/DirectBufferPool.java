@@ -0,0 +1,100 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the direct buffers of closed {@link DirectImage24Bit}s so that the next images of the
+ * same size can use them instead of allocating new off-heap memory. Memory held by a direct buffer
+ * is only returned to the system once the garbage collector notices the buffer is unreferenced,
+ * which may be long after the image is closed, so reusing buffers is what makes closing an image
+ * release its memory right away. A series of operations on a layer usually produces images of the
+ * same size, so each result is written into the buffers of the image it replaced.
+ *
+ * <p>The pool holds at most {@value #MAX_POOLED_BYTES} bytes. Buffers released when it is full are
+ * left to the garbage collector.
+ */
+final class DirectBufferPool {
+
+  // The largest number of bytes the pool keeps
+  static final long MAX_POOLED_BYTES = 1L << 28;
+
+  // The number of bytes cleared at once when a buffer is reused
+  private static final int CLEAR_BYTES = 1 << 16;
+
+  private static final Map<Integer, ArrayDeque<ByteBuffer>> BUFFERS = new HashMap<>();
+  private static long pooledBytes = 0;
+
+  private DirectBufferPool() {
+  }
+
+  /**
+   * Gets a direct buffer with the given capacity where every byte is 0, reusing a released buffer
+   * if the pool has one.
+   *
+   * @param capacity the number of bytes in the buffer
+   * @return the buffer
+   */
+  static ByteBuffer take(int capacity) {
+    ByteBuffer buffer;
+    synchronized (BUFFERS) {
+      ArrayDeque<ByteBuffer> buffers = BUFFERS.get(capacity);
+      buffer = buffers == null ? null : buffers.poll();
+      if (buffer != null) {
+        pooledBytes -= capacity;
+      }
+    }
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(capacity);
+    }
+    clear(buffer);
+    return buffer;
+  }
+
+  /**
+   * Returns a direct buffer to the pool. The buffer must no longer be used by anything else, and
+   * must not be mapped from a file, since the pool cannot tell mapped buffers apart. Buffers that
+   * are not direct or that do not fit in the pool are ignored.
+   *
+   * @param buffer the buffer to release
+   */
+  static void release(ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect() || buffer.isReadOnly()) {
+      return;
+    }
+    synchronized (BUFFERS) {
+      if (pooledBytes + buffer.capacity() > MAX_POOLED_BYTES) {
+        return;
+      }
+      BUFFERS.computeIfAbsent(buffer.capacity(), capacity -> new ArrayDeque<>()).push(buffer);
+      pooledBytes += buffer.capacity();
+    }
+  }
+
+  /**
+   * Gets the number of bytes held by the pool.
+   *
+   * @return the number of bytes in released buffers that have not been reused yet
+   */
+  static long pooledBytes() {
+    synchronized (BUFFERS) {
+      return pooledBytes;
+    }
+  }
+
+  /**
+   * Sets every byte of a buffer to 0.
+   *
+   * @param buffer the buffer to clear
+   */
+  private static void clear(ByteBuffer buffer) {
+    ByteBuffer target = buffer.duplicate();
+    target.clear();
+    byte[] zeros = new byte[Math.min(CLEAR_BYTES, target.capacity())];
+    while (target.hasRemaining()) {
+      target.put(zeros, 0, Math.min(zeros.length, target.remaining()));
+    }
+  }
+}
@@ -0,0 +1,375 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Represents a 24-bit image whose pixels are stored outside of the Java heap in direct byte
+ * buffers. Each pixel takes 3 bytes holding its red, green, and blue values, and pixels are stored
+ * row by row from the top to the bottom of the image. Rows are split across several buffers when
+ * the image is too large to fit in one, so the size of an image is only limited by the amount of
+ * direct memory available to the JVM ({@code -XX:MaxDirectMemorySize}).
+ *
+ * <p>Because the pixels live outside the heap they are never copied or scanned by the garbage
+ * collector. An image should be closed once it is no longer needed. Closing an image returns its
+ * buffers to a pool that the next direct images of the same size are stored in, so their memory is
+ * reused right away instead of when the garbage collector runs. Reading any pixel of a closed image
+ * throws an {@link IllegalStateException}. This includes reads that were already under way when the
+ * image was closed, since by the time they finish the buffers may hold the pixels of another image.
+ * Every read checks that no close began while it ran, without taking a lock. DirectImage24Bits are
+ * otherwise immutable.
+ */
+public class DirectImage24Bit extends AbstractImage implements AutoCloseable {
+
+  // The number of bytes used to store each pixel
+  static final int BYTES_PER_PIXEL = 3;
+
+  // The largest number of bytes stored in one buffer
+  private static final int MAX_BUFFER_BYTES = 1 << 30;
+
+  private final int width;
+  private final int height;
+  private final int rowsPerBuffer;
+  private volatile ByteBuffer[] buffers;
+  // Held for writing while the buffers are taken away from the image, and read optimistically
+  private final StampedLock closeLock = new StampedLock();
+
+  /**
+   * Constructs a new DirectImage24Bit from packed RGB values. Bits 0-7 of each value represent the
+   * blue value. Bits 8-15 are green. Bits 16-23 are red. Bits 24-31 are ignored.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image stored row by row
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  public DirectImage24Bit(int width, int height, int[] rgb) throws IllegalArgumentException {
+    if (rgb == null) {
+      throw new IllegalArgumentException("RGB values must not be null.");
+    }
+    PackedImage24Bit.ensureValidSize(width, height, rgb.length);
+    this.width = width;
+    this.height = height;
+    this.rowsPerBuffer = rowsPerBuffer(width);
+    this.buffers = allocate(width, height);
+    for (int row = 0; row < height; row += 1) {
+      putRgbRow(buffers, width, row, rgb, row * width);
+    }
+  }
+
+  /**
+   * Constructs a new DirectImage24Bit with the same pixels as another image, copying the image one
+   * row at a time so that the whole image never has to be held on the heap.
+   *
+   * @param image the image to copy
+   * @throws IllegalArgumentException if the image is null
+   */
+  public DirectImage24Bit(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    this.rowsPerBuffer = rowsPerBuffer(width);
+    this.buffers = allocate(width, height);
+    int[] rgbRow = new int[width];
+    for (int row = 0; row < height; row += 1) {
+      image.getRgbRow(row, rgbRow, 0);
+      putRgbRow(buffers, width, row, rgbRow, 0);
+    }
+  }
+
+  /**
+   * Constructs a new DirectImage24Bit that takes ownership of buffers that were allocated with
+   * {@link #allocate(int, int)}.
+   *
+   * @param width   the width of the image in pixels
+   * @param height  the height of the image in pixels
+   * @param buffers the buffers holding the pixels of the image
+   */
+  DirectImage24Bit(int width, int height, ByteBuffer[] buffers) {
+    this.width = width;
+    this.height = height;
+    this.rowsPerBuffer = rowsPerBuffer(width);
+    this.buffers = buffers;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    long stamp = closeLock.tryOptimisticRead();
+    int red = buffer(row).get(index(row, col)) & 0xFF;
+    ensureNotClosed(stamp);
+    return red;
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    long stamp = closeLock.tryOptimisticRead();
+    int green = buffer(row).get(index(row, col) + 1) & 0xFF;
+    ensureNotClosed(stamp);
+    return green;
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    long stamp = closeLock.tryOptimisticRead();
+    int blue = buffer(row).get(index(row, col) + 2) & 0xFF;
+    ensureNotClosed(stamp);
+    return blue;
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    long stamp = closeLock.tryOptimisticRead();
+    ByteBuffer buffer = buffer(row);
+    int index = index(row, col);
+    int rgb = ((buffer.get(index) & 0xFF) << 16)
+        | ((buffer.get(index + 1) & 0xFF) << 8)
+        | (buffer.get(index + 2) & 0xFF);
+    ensureNotClosed(stamp);
+    return rgb;
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int channelOffset = 2 - channelShift(channel) / 8;
+    long stamp = closeLock.tryOptimisticRead();
+    for (int r = 0; r < height; r += 1) {
+      ByteBuffer buffer = buffer(row + r);
+      int source = index(row + r, col) + channelOffset;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = buffer.get(source + c * BYTES_PER_PIXEL) & 0xFF;
+      }
+    }
+    ensureNotClosed(stamp);
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    long stamp = closeLock.tryOptimisticRead();
+    for (int r = 0; r < height; r += 1) {
+      ByteBuffer buffer = buffer(row + r);
+      int source = index(row + r, col);
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        int pixel = source + c * BYTES_PER_PIXEL;
+        dest[index + c] = ((buffer.get(pixel) & 0xFF) << 16)
+            | ((buffer.get(pixel + 1) & 0xFF) << 8)
+            | (buffer.get(pixel + 2) & 0xFF);
+      }
+    }
+    ensureNotClosed(stamp);
+  }
+
+  @Override
+  public Image fromPixels(Pixel[][] pixels, boolean clamp) {
+    return buildFromPixels(pixels, clamp);
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return new DirectImage24Bit(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return new DirectImageBuilder(width, height);
+  }
+
+  /**
+   * Releases the off-heap memory holding the pixels of this image. The buffers are returned to a
+   * pool of buffers that new direct images take from before allocating more memory, as long as the
+   * pool has room for them; otherwise their memory is returned to the system once the garbage
+   * collector notices they are no longer referenced. Reads of the image that are still under way
+   * throw an {@link IllegalStateException} once they finish. Closing an image more than once has no
+   * effect.
+   */
+  @Override
+  public void close() {
+    ByteBuffer[] released;
+    long stamp = closeLock.writeLock();
+    try {
+      released = buffers;
+      buffers = null;
+    } finally {
+      closeLock.unlockWrite(stamp);
+    }
+    if (released != null) {
+      releaseBuffers(released);
+    }
+  }
+
+  /**
+   * Releases the buffers of this image once it has been closed by returning them to the pool of
+   * direct buffers.
+   *
+   * @param released the buffers that held the pixels of this image
+   */
+  void releaseBuffers(ByteBuffer[] released) {
+    for (ByteBuffer buffer : released) {
+      DirectBufferPool.release(buffer);
+    }
+  }
+
+  /**
+   * Determines whether this image has been closed.
+   *
+   * @return whether the image has been closed
+   */
+  public boolean isClosed() {
+    return buffers == null;
+  }
+
+  /**
+   * Compares the buffers of this image with the buffers of another direct image of the same size.
+   * Images of the same width split their rows between buffers the same way.
+   *
+   * @param other a direct image of the same size as this image
+   * @return whether the images have the same color values
+   * @throws IllegalStateException if either image has been closed
+   */
+  @Override
+  protected boolean rasterEquals(AbstractImage other) throws IllegalStateException {
+    DirectImage24Bit otherImage = (DirectImage24Bit) other;
+    long stamp = closeLock.tryOptimisticRead();
+    long otherStamp = otherImage.closeLock.tryOptimisticRead();
+    ByteBuffer[] buffers = this.buffers;
+    ByteBuffer[] otherBuffers = otherImage.buffers;
+    if (buffers == null || otherBuffers == null) {
+      throw new IllegalStateException("The image has been closed.");
+    }
+    boolean equal = Arrays.equals(buffers, otherBuffers);
+    ensureNotClosed(stamp);
+    otherImage.ensureNotClosed(otherStamp);
+    return equal;
+  }
+
+  @Override
+  protected int minValue() {
+    return Image24Bit.MIN_VALUE;
+  }
+
+  @Override
+  protected int maxValue() {
+    return Image24Bit.MAX_VALUE;
+  }
+
+  /**
+   * Gets the buffer holding a row of the image.
+   *
+   * @param row the row of the image
+   * @return the buffer holding the row
+   * @throws IllegalStateException if the image has been closed
+   */
+  private ByteBuffer buffer(int row) throws IllegalStateException {
+    ByteBuffer[] buffers = this.buffers;
+    if (buffers == null) {
+      throw new IllegalStateException("The image has been closed.");
+    }
+    return buffers[row / rowsPerBuffer];
+  }
+
+  /**
+   * Checks that this image was not closed since a read of its buffers began. The buffers of a
+   * closed image can be reused by another image, so whatever such a read found must be discarded.
+   *
+   * @param stamp the stamp of the optimistic read taken before the buffers were read
+   * @throws IllegalStateException if the image was closed since the read began
+   */
+  private void ensureNotClosed(long stamp) throws IllegalStateException {
+    if (!closeLock.validate(stamp)) {
+      throw new IllegalStateException("The image has been closed.");
+    }
+  }
+
+  /**
+   * Gets the index of the red value of a pixel within the buffer holding its row.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @return the index of the pixel in its buffer
+   */
+  private int index(int row, int col) {
+    return ((row % rowsPerBuffer) * width + col) * BYTES_PER_PIXEL;
+  }
+
+  /**
+   * Calculates how many rows of an image fit in one buffer.
+   *
+   * @param width the width of the image in pixels
+   * @return the number of rows stored in each buffer
+   * @throws IllegalArgumentException if a single row does not fit in a buffer
+   */
+  static int rowsPerBuffer(int width) throws IllegalArgumentException {
+    int rowBytes = width * BYTES_PER_PIXEL;
+    if (width <= 0 || rowBytes / BYTES_PER_PIXEL != width || rowBytes > MAX_BUFFER_BYTES) {
+      throw new IllegalArgumentException("Image is too wide.");
+    }
+    return MAX_BUFFER_BYTES / rowBytes;
+  }
+
+  /**
+   * Allocates the direct buffers needed to hold an image of the given size, reusing the buffers of
+   * closed images where possible. Every pixel starts out black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @return the buffers that together hold every row of the image
+   * @throws IllegalArgumentException if the width or height are not positive
+   */
+  static ByteBuffer[] allocate(int width, int height) throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    int rowsPerBuffer = rowsPerBuffer(width);
+    int count = (height + rowsPerBuffer - 1) / rowsPerBuffer;
+    ByteBuffer[] buffers = new ByteBuffer[count];
+    for (int index = 0; index < count; index += 1) {
+      int rows = Math.min(rowsPerBuffer, height - index * rowsPerBuffer);
+      buffers[index] = DirectBufferPool.take(rows * width * BYTES_PER_PIXEL);
+    }
+    return buffers;
+  }
+
+  /**
+   * Writes a row of packed RGB values into the buffers of an image.
+   *
+   * @param buffers the buffers holding the image
+   * @param width   the width of the image in pixels
+   * @param row     the row to write
+   * @param rgb     the array holding the packed RGB values
+   * @param offset  the index in the array of the first value of the row
+   */
+  static void putRgbRow(ByteBuffer[] buffers, int width, int row, int[] rgb, int offset) {
+    int rowsPerBuffer = rowsPerBuffer(width);
+    ByteBuffer buffer = buffers[row / rowsPerBuffer];
+    int index = (row % rowsPerBuffer) * width * BYTES_PER_PIXEL;
+    for (int col = 0; col < width; col += 1) {
+      int value = rgb[offset + col];
+      buffer.put(index, (byte) (value >> 16));
+      buffer.put(index + 1, (byte) (value >> 8));
+      buffer.put(index + 2, (byte) value);
+      index += BYTES_PER_PIXEL;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds a {@link DirectImage24Bit} by writing pixels directly into off-heap buffers. The buffers
+ * are handed to the image without being copied when the image is built, so an image of any size
+ * can be built without holding its pixels on the heap.
+ */
+public class DirectImageBuilder implements ImageBuilder {
+
+  private final int width;
+  private final int height;
+  private final int rowsPerBuffer;
+  private ByteBuffer[] buffers;
+
+  /**
+   * Constructs a new DirectImageBuilder for an image of the given size where every pixel starts
+   * out black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the width or height are not positive
+   */
+  public DirectImageBuilder(int width, int height) throws IllegalArgumentException {
+    this(width, height, DirectImage24Bit.allocate(width, height));
+  }
+
+  /**
+   * Constructs a new DirectImageBuilder that writes into buffers that have already been created,
+   * such as buffers mapped from a file. The buffers must be laid out the same way as the buffers
+   * from {@link DirectImage24Bit#allocate(int, int)}.
+   *
+   * @param width   the width of the image in pixels
+   * @param height  the height of the image in pixels
+   * @param buffers the buffers to write the pixels of the image into
+   */
+  DirectImageBuilder(int width, int height, ByteBuffer[] buffers) {
+    this.buffers = buffers;
+    this.width = width;
+    this.height = height;
+    this.rowsPerBuffer = DirectImage24Bit.rowsPerBuffer(width);
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void setRgb(int row, int col, int rgb) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    ByteBuffer buffer = buffers[row / rowsPerBuffer];
+    int index = index(row, col);
+    buffer.put(index, (byte) (rgb >> 16));
+    buffer.put(index + 1, (byte) (rgb >> 8));
+    buffer.put(index + 2, (byte) rgb);
+  }
+
+  @Override
+  public void setPixel(int row, int col, int red, int green, int blue) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    ByteBuffer buffer = buffers[row / rowsPerBuffer];
+    int index = index(row, col);
+    buffer.put(index, (byte) clamp(red));
+    buffer.put(index + 1, (byte) clamp(green));
+    buffer.put(index + 2, (byte) clamp(blue));
+  }
+
+  @Override
+  public void setRgbRow(int row, int[] rgb, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, rgb, offset);
+    DirectImage24Bit.putRgbRow(buffers, width, row, rgb, offset);
+  }
+
+  @Override
+  public void setRgbRegion(int row, int col, int width, int height, int[] rgb, int offset) {
+    ensureNotBuilt();
+    PackedImageBuilder.ensureValidRegion(this.width, this.height, row, col, width, height, rgb,
+        offset);
+    for (int r = 0; r < height; r += 1) {
+      ByteBuffer buffer = buffers[(row + r) / rowsPerBuffer];
+      int index = index(row + r, col);
+      for (int c = 0; c < width; c += 1) {
+        int value = rgb[offset + r * width + c];
+        buffer.put(index, (byte) (value >> 16));
+        buffer.put(index + 1, (byte) (value >> 8));
+        buffer.put(index + 2, (byte) value);
+        index += DirectImage24Bit.BYTES_PER_PIXEL;
+      }
+    }
+  }
+
+  @Override
+  public void setRow(int row, ColorChannel channel, int[] values, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, values, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int channelOffset;
+    switch (channel) {
+      case RED:
+        channelOffset = 0;
+        break;
+      case GREEN:
+        channelOffset = 1;
+        break;
+      case BLUE:
+        channelOffset = 2;
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported color channel");
+    }
+    ByteBuffer buffer = buffers[row / rowsPerBuffer];
+    int index = index(row, 0) + channelOffset;
+    for (int col = 0; col < width; col += 1) {
+      buffer.put(index, (byte) clamp(values[offset + col]));
+      index += DirectImage24Bit.BYTES_PER_PIXEL;
+    }
+  }
+
+  @Override
+  public Image build() {
+    ensureNotBuilt();
+    Image image = createImage(buffers);
+    buffers = null;
+    return image;
+  }
+
+  /**
+   * Creates the image that takes ownership of the buffers written by this builder.
+   *
+   * @param buffers the buffers holding the pixels of the image
+   * @return the new image
+   */
+  Image createImage(ByteBuffer[] buffers) {
+    return new DirectImage24Bit(width, height, buffers);
+  }
+
+  /**
+   * Gets the index of the red value of a pixel within the buffer holding its row.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @return the index of the pixel in its buffer
+   */
+  private int index(int row, int col) {
+    return ((row % rowsPerBuffer) * width + col) * DirectImage24Bit.BYTES_PER_PIXEL;
+  }
+
+  /**
+   * Clamps a color value to the range allowed in a 24-bit image.
+   *
+   * @param value the value to clamp
+   * @return the clamped value
+   */
+  private static int clamp(int value) {
+    return Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, value));
+  }
+
+  /**
+   * Ensures that the image has not been built yet.
+   *
+   * @throws IllegalStateException if the image has already been built
+   */
+  private void ensureNotBuilt() throws IllegalStateException {
+    if (buffers == null) {
+      throw new IllegalStateException("The image has already been built.");
+    }
+  }
+
+  /**
+   * Ensures that a coordinate is a valid index for a pixel in the image.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @throws IllegalArgumentException if the coordinate is outside the image
+   */
+  private void ensureValidCoordinates(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IllegalArgumentException("Invalid row or column.");
+    }
+  }
+
+  /**
+   * Ensures that a row index is valid and that an array holds enough values for a whole row.
+   *
+   * @param row    the row of the image
+   * @param values the array of values for the row
+   * @param offset the index in the array of the first value
+   * @throws IllegalArgumentException if the row is invalid or the array is null or too small
+   */
+  private void ensureValidRow(int row, int[] values, int offset)
+      throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not be null.");
+    }
+    if (row < 0 || row >= height) {
+      throw new IllegalArgumentException("Invalid row.");
+    }
+    if (offset < 0 || width > values.length - offset) {
+      throw new IllegalArgumentException("Array is too small to hold the row.");
+    }
+  }
+}
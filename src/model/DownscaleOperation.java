@@ -5,11 +5,27 @@ package model;
  * the original image to pixels in the new image based on their location proportional to the width
  * and height of the image. The 4 pixels from rounding the mapped pixel value are combined the
  * generate the values for the downscaled pixel.
+ *
+ * <p>Reading only 4 pixels for each pixel of the downscaled image skips most of the original image
+ * when it is made much smaller, which makes fine details alias. The other {@link ResamplingMode}s
+ * read every pixel that a downscaled pixel stands for: {@link ResamplingMode#AREA} averages the
+ * pixels each downscaled pixel covers, and {@link ResamplingMode#LANCZOS3} and {@link
+ * ResamplingMode#MITCHELL} apply stretched filters. They resize the rows and then the columns of
+ * the image with weights computed once for each column and row.
+ *
+ * <p>An operation can be made to start from the {@link ImagePyramid} of the image of a layer, which
+ * the layer keeps, instead of from the image itself. Since the colors can then differ slightly
+ * from downscaling the image directly, this has to be asked for.
  */
 public class DownscaleOperation implements ImageOperation {
 
+  // How close a position in the original image must be to a pixel to copy that pixel
+  private static final double THRESHOLD = 0.0001;
+
   private final double xscale;
   private final double yscale;
+  private final ResamplingMode mode;
+  private final boolean fromPyramid;
 
   /**
    * Constructs a new Downscale operation with the given scale factor.
@@ -22,83 +38,248 @@ public class DownscaleOperation implements ImageOperation {
    *               downscaled image of 5 pixels wide high.
    */
   public DownscaleOperation(double xscale, double yscale) {
+    this(xscale, yscale, ResamplingMode.BILINEAR);
+  }
+
+  /**
+   * Constructs a new Downscale operation with the given scale factor that computes the colors of
+   * the downscaled image with the given resampling mode.
+   *
+   * @param xscale the scale factor to use for the downscaled image in the horizontal direction.
+   * @param yscale the scale factor to use for the downscaled image in the vertical direction.
+   * @param mode   how to compute the colors of the downscaled image
+   * @throws IllegalArgumentException if either scale is not in the range (0, 1] or the mode is
+   *                                  null
+   */
+  public DownscaleOperation(double xscale, double yscale, ResamplingMode mode)
+      throws IllegalArgumentException {
+    this(xscale, yscale, mode, false);
+  }
+
+  /**
+   * Constructs a new Downscale operation with the given scale factor and resampling mode that, when
+   * applied to a layer, may start from the pyramid of the image of the layer.
+   *
+   * @param xscale      the scale factor to use for the downscaled image in the horizontal
+   *                    direction.
+   * @param yscale      the scale factor to use for the downscaled image in the vertical
+   *                    direction.
+   * @param mode        how to compute the colors of the downscaled image
+   * @param fromPyramid whether layers should downscale their images with {@link
+   *                    #apply(ImagePyramid)}
+   * @throws IllegalArgumentException if either scale is not in the range (0, 1] or the mode is
+   *                                  null
+   */
+  public DownscaleOperation(double xscale, double yscale, ResamplingMode mode,
+      boolean fromPyramid) throws IllegalArgumentException {
     if (xscale <= 0 || xscale > 1 || yscale <= 0 || yscale > 1) {
       throw new IllegalArgumentException("Scales must be in the range (0, 1]");
     }
+    if (mode == null) {
+      throw new IllegalArgumentException("Resampling mode must not be null.");
+    }
     this.xscale = xscale;
     this.yscale = yscale;
+    this.mode = mode;
+    this.fromPyramid = fromPyramid;
   }
 
+  /**
+   * Gets whether layers should downscale their images from their pyramids with this operation.
+   *
+   * @return whether layers should use {@link #apply(ImagePyramid)}
+   */
+  public boolean isFromPyramid() {
+    return fromPyramid;
+  }
+
+  /**
+   * Downscales an image with a {@link Resampler}, or with the bilinear mode one tile of the
+   * downscaled image at a time. The position of every column and row of the downscaled image in
+   * the original image, and the weights of the pixels around it, are computed once before any
+   * pixel is, since every pixel in a column or row shares them. For each tile, the block of the
+   * original image that the tile maps onto is read into a buffer of packed RGB values once, and
+   * all three channels of each pixel are computed together, row by row.
+   *
+   * @param image the image to apply the operation to
+   * @return the downscaled image
+   * @throws IllegalArgumentException if the image is null
+   */
   @Override
   public Image apply(Image image) throws IllegalArgumentException {
     if (image == null) {
       throw new IllegalArgumentException("Image cannot be null.");
     }
 
-    int originalWidth = image.getWidth();
-    int originalHeight = image.getHeight();
     int scaledWidth = (int) ((double) image.getWidth() * xscale);
     int scaledHeight = (int) ((double) image.getHeight() * yscale);
-    Pixel[][] pixels = new Pixel[scaledHeight][scaledWidth];
-
-    for (int scaledX = 0; scaledX < scaledWidth; scaledX += 1) {
-      for (int scaledY = 0; scaledY < scaledHeight; scaledY += 1) {
-        double originalX = ((double) scaledX) * ((double) originalWidth) / ((double) scaledWidth);
-        double originalY = ((double) scaledY) * ((double) originalHeight) / ((double) scaledHeight);
-        int red = getNewValue(originalX, originalY, image, ColorChannel.RED);
-        int green = getNewValue(originalX, originalY, image, ColorChannel.GREEN);
-        int blue = getNewValue(originalX, originalY, image, ColorChannel.BLUE);
-        pixels[scaledY][scaledX] = new RgbPixel(red, green, blue);
-      }
+    return resize(image, scaledWidth, scaledHeight);
+  }
+
+  /**
+   * Downscales the image at level 0 of a pyramid, starting from the smallest level of the pyramid
+   * that is still at least the size of the downscaled image instead of from the image itself. The
+   * downscaled image has the same size as when the image is downscaled directly, but is computed
+   * from a fraction of the pixels, which makes thumbnails of large images much cheaper. Since each
+   * level averages the level before it, the colors can differ slightly from downscaling the image
+   * directly. When no level but the image itself is large enough, the result is the same as {@link
+   * #apply(Image)}.
+   *
+   * @param pyramid the pyramid of the image to downscale
+   * @return the downscaled image
+   * @throws IllegalArgumentException if the pyramid is null
+   */
+  public Image apply(ImagePyramid pyramid) throws IllegalArgumentException {
+    if (pyramid == null) {
+      throw new IllegalArgumentException("Pyramid cannot be null.");
     }
 
-    return image.fromPixels(pixels, true);
+    Image image = pyramid.getLevel(0);
+    int scaledWidth = (int) ((double) image.getWidth() * xscale);
+    int scaledHeight = (int) ((double) image.getHeight() * yscale);
+    return resize(pyramid.getLevel(pyramid.findLevel(scaledWidth, scaledHeight)), scaledWidth,
+        scaledHeight);
   }
 
   /**
-   * Calculates the new color value for a pixel in the scaled image.
+   * Resizes an image to a size no larger than it with the resampling mode of this operation.
    *
-   * @param x       the floating point x coordinate of the pixel in the original image.
-   * @param y       the floating point y coordinate of the pixel in the original image.
-   * @param image   the image that is being downscaled.
-   * @param channel the color channel to calculate the new value of.
-   * @return the new color value for the pixel.
+   * @param image        the image to resize
+   * @param scaledWidth  the width of the resized image
+   * @param scaledHeight the height of the resized image
+   * @return the resized image
    */
-  private int getNewValue(double x, double y, Image image, ColorChannel channel) {
-    double threshold = 0.0001;
-
-    if ((Math.abs(x - (int) x) < threshold) || (Math.abs(y - (int) y) < threshold)) {
-      return image.getValueAt((int) y, (int) x, channel);
+  private Image resize(Image image, int scaledWidth, int scaledHeight) {
+    int originalWidth = image.getWidth();
+    int originalHeight = image.getHeight();
+    if (mode != ResamplingMode.BILINEAR) {
+      return new Resampler(mode, originalWidth, originalHeight, scaledWidth, scaledHeight)
+          .apply(image);
     }
+    ImageBuilder builder = image.builder(scaledWidth, scaledHeight);
+    int tileWidth = Math.min(scaledWidth, image.getTileWidth());
+    int tileHeight = Math.min(scaledHeight, image.getTileHeight());
+    int[] rgbTile = new int[tileWidth * tileHeight];
+    int[] region = new int[0];
+    Samples cols = new Samples(scaledWidth, originalWidth);
+    Samples rows = new Samples(scaledHeight, originalHeight);
+
+    for (int tileY = 0; tileY < scaledHeight; tileY += tileHeight) {
+      for (int tileX = 0; tileX < scaledWidth; tileX += tileWidth) {
+        int tileBottom = Math.min(scaledHeight, tileY + tileHeight);
+        int tileRight = Math.min(scaledWidth, tileX + tileWidth);
 
-    double ca = image.getValueAt((int) floor(y), (int) floor(x), channel);
-    double cb = image.getValueAt((int) floor(y), (int) ceil(x), channel);
-    double cc = image.getValueAt((int) ceil(y), (int) Math.floor(x), channel);
-    double cd = image.getValueAt((int) ceil(y), (int) Math.ceil(x), channel);
+        // The block of the original image covering every pixel the tile is computed from
+        int regionRow = rows.index[tileY];
+        int regionCol = cols.index[tileX];
+        int regionBottom = Math.min(originalHeight - 1, rows.index[tileBottom - 1] + 1);
+        int regionRight = Math.min(originalWidth - 1, cols.index[tileRight - 1] + 1);
+        int regionWidth = regionRight - regionCol + 1;
+        int regionHeight = regionBottom - regionRow + 1;
+        if (region.length < regionWidth * regionHeight) {
+          region = new int[regionWidth * regionHeight];
+        }
+        image.getRgbRegion(regionRow, regionCol, regionWidth, regionHeight, region, 0);
 
-    double m = cb * (x - floor(x)) + ca * (ceil(x) - x);
-    double n = cd * (x - floor(x)) + cc * (ceil(x) - x);
-    double cp = n * (y - floor(y)) + m * (ceil(y) - y);
-    return (int) cp;
+        int index = 0;
+        for (int scaledY = tileY; scaledY < tileBottom; scaledY += 1) {
+          int top = (rows.index[scaledY] - regionRow) * regionWidth - regionCol;
+          boolean rowOnPixel = rows.onPixel[scaledY];
+          double below = rows.after[scaledY];
+          double above = rows.before[scaledY];
+          for (int scaledX = tileX; scaledX < tileRight; scaledX += 1) {
+            int topLeft = top + cols.index[scaledX];
+            if (rowOnPixel || cols.onPixel[scaledX]) {
+              rgbTile[index] = region[topLeft];
+            } else {
+              rgbTile[index] = interpolate(region[topLeft], region[topLeft + 1],
+                  region[topLeft + regionWidth], region[topLeft + regionWidth + 1],
+                  cols.after[scaledX], cols.before[scaledX], below, above);
+            }
+            index += 1;
+          }
+        }
+        builder.setRgbRegion(tileY, tileX, tileRight - tileX, tileBottom - tileY, rgbTile, 0);
+      }
+    }
+
+    return builder.build();
   }
 
   /**
-   * Rounds down a double value to an integer.
+   * Combines the colors of the four pixels around a point of the original image, weighting each
+   * pixel by how close the point is to it. Each channel is truncated to a whole number.
    *
-   * @param value the double value to round down
-   * @return the rounded value.
+   * @param ca    the packed RGB value of the pixel above and to the left of the point
+   * @param cb    the packed RGB value of the pixel above and to the right of the point
+   * @param cc    the packed RGB value of the pixel below and to the left of the point
+   * @param cd    the packed RGB value of the pixel below and to the right of the point
+   * @param right the weight of the pixels to the right, which is the distance from the left pixels
+   * @param left  the weight of the pixels to the left, which is the distance from the right pixels
+   * @param below the weight of the pixels below, which is the distance from the pixels above
+   * @param above the weight of the pixels above, which is the distance from the pixels below
+   * @return the packed RGB value of the combined color
    */
-  private double floor(double value) {
-    return (int) value;
+  private static int interpolate(int ca, int cb, int cc, int cd, double right, double left,
+      double below, double above) {
+    int rgb = 0;
+    for (int shift = 16; shift >= 0; shift -= 8) {
+      double m = ((cb >> shift) & 0xFF) * right + ((ca >> shift) & 0xFF) * left;
+      double n = ((cd >> shift) & 0xFF) * right + ((cc >> shift) & 0xFF) * left;
+      double cp = n * below + m * above;
+      rgb |= Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, (int) cp)) << shift;
+    }
+    return rgb;
+  }
+
+  /**
+   * The positions in the original image of every column or every row of the scaled image. A
+   * position that is within {@value #THRESHOLD} of a pixel is treated as being on that pixel, so
+   * the pixel is copied instead of combined with its neighbors.
+   */
+  private static final class Samples {
+
+    // The index of the pixel at or before each position
+    private final int[] index;
+    // Whether each position is close enough to its pixel to copy it
+    private final boolean[] onPixel;
+    // The distance of each position past its pixel, which is the weight of the next pixel
+    private final double[] after;
+    // The distance of each position before the next pixel, which is the weight of its pixel
+    private final double[] before;
+
+    /**
+     * Computes the positions of the columns or rows of a scaled image.
+     *
+     * @param size     the width or height of the scaled image
+     * @param original the width or height of the original image
+     */
+    Samples(int size, int original) {
+      this.index = new int[size];
+      this.onPixel = new boolean[size];
+      this.after = new double[size];
+      this.before = new double[size];
+      for (int scaled = 0; scaled < size; scaled += 1) {
+        double position = originalCoordinate(scaled, original, size);
+        int pixel = (int) position;
+        index[scaled] = pixel;
+        onPixel[scaled] = Math.abs(position - pixel) < THRESHOLD;
+        after[scaled] = position - (double) pixel;
+        before[scaled] = (double) (pixel + 1) - position;
+      }
+    }
   }
 
   /**
-   * Rounds up a double value to an integer.
+   * Maps the coordinate of a pixel in the scaled image to its floating point coordinate in the
+   * original image.
    *
-   * @param value the double value to round up.
-   * @return the rounded value.
+   * @param scaled   the coordinate in the scaled image
+   * @param original the size of the original image in the same direction
+   * @param size     the size of the scaled image in the same direction
+   * @return the coordinate in the original image
    */
-  private double ceil(double value) {
-    return (int) value + 1;
+  private static double originalCoordinate(int scaled, int original, int size) {
+    return ((double) scaled) * ((double) original) / ((double) size);
   }
 }
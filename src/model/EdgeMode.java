@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Represents the ways an operation that reads the pixels around each pixel, such as a {@link
+ * FilterOperation}, can pick the colors of pixels that are outside the edges of an image.
+ */
+public enum EdgeMode {
+  // Pixels outside the image are black, so they add nothing to a filter
+  ZERO,
+  // Pixels outside the image have the color of the closest pixel on the edge of the image
+  CLAMP,
+  // The image is reflected at its edges without repeating the pixels on the edge
+  MIRROR,
+  // The image repeats, so pixels past one edge come from the opposite edge
+  WRAP;
+
+  /**
+   * Maps a row or column that may be outside an image onto the row or column of the image whose
+   * color it should have.
+   *
+   * @param coordinate the row or column, which may be negative or past the end of the image
+   * @param size       the height or width of the image
+   * @return the row or column inside the image, or -1 if the pixel is black
+   */
+  int map(int coordinate, int size) {
+    if (coordinate >= 0 && coordinate < size) {
+      return coordinate;
+    }
+    switch (this) {
+      case CLAMP:
+        return coordinate < 0 ? 0 : size - 1;
+      case MIRROR:
+        if (size == 1) {
+          return 0;
+        }
+        int period = 2 * (size - 1);
+        int position = Math.floorMod(coordinate, period);
+        return position < size ? position : period - position;
+      case WRAP:
+        return Math.floorMod(coordinate, size);
+      default:
+        return -1;
+    }
+  }
+}
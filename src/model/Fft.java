@@ -0,0 +1,155 @@
+package model;
+
+/**
+ * Computes discrete Fourier transforms of square blocks of complex values whose width is a power of
+ * two, using the iterative radix-2 Cooley-Tukey algorithm. The real and imaginary parts are stored
+ * in separate arrays row by row. Transforms are done in place and are not scaled, so an inverse
+ * transform of a forward transform multiplies every value by the number of values in the block.
+ * An Fft holds no state that changes, so it can be shared between threads.
+ */
+final class Fft {
+
+  private final int size;
+  // The index each index is swapped with to put a row into bit-reversed order
+  private final int[] reversed;
+  // The cosines and sines of the angles 2 * pi * k / size for k in [0, size / 2)
+  private final double[] cos;
+  private final double[] sin;
+
+  /**
+   * Constructs a new Fft for blocks of the given width and height.
+   *
+   * @param size the width and height of the blocks
+   * @throws IllegalArgumentException if the size is not a positive power of two
+   */
+  Fft(int size) throws IllegalArgumentException {
+    if (size <= 0 || Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("Size must be a power of two.");
+    }
+    this.size = size;
+    this.reversed = new int[size];
+    int bits = Integer.numberOfTrailingZeros(size);
+    for (int index = 0; index < size; index += 1) {
+      reversed[index] = bits == 0 ? 0 : Integer.reverse(index) >>> (32 - bits);
+    }
+    this.cos = new double[size / 2];
+    this.sin = new double[size / 2];
+    for (int k = 0; k < size / 2; k += 1) {
+      cos[k] = Math.cos(2 * Math.PI * k / size);
+      sin[k] = Math.sin(2 * Math.PI * k / size);
+    }
+  }
+
+  /**
+   * Gets the width and height of the blocks this Fft transforms.
+   *
+   * @return the size of the blocks
+   */
+  int getSize() {
+    return size;
+  }
+
+  /**
+   * Transforms a block in place, first along its rows and then along its columns. Rows outside
+   * the given range are not transformed along the row direction. For a forward transform these
+   * rows must be all zero, so their transforms would be zero as well. For an inverse transform
+   * these are rows whose values will not be read.
+   *
+   * @param real      the real parts of the block
+   * @param imaginary the imaginary parts of the block
+   * @param firstRow  the first row to transform along the row direction
+   * @param lastRow   the row after the last row to transform along the row direction
+   * @param inverse   whether to compute the inverse transform
+   */
+  void transform(double[] real, double[] imaginary, int firstRow, int lastRow, boolean inverse) {
+    if (inverse) {
+      transformColumns(real, imaginary, true);
+      transformRows(real, imaginary, firstRow, lastRow, true);
+    } else {
+      transformRows(real, imaginary, firstRow, lastRow, false);
+      transformColumns(real, imaginary, false);
+    }
+  }
+
+  /**
+   * Transforms a range of rows of a block along the row direction.
+   *
+   * @param real      the real parts of the block
+   * @param imaginary the imaginary parts of the block
+   * @param firstRow  the first row to transform
+   * @param lastRow   the row after the last row to transform
+   * @param inverse   whether to compute the inverse transform
+   */
+  private void transformRows(double[] real, double[] imaginary, int firstRow, int lastRow,
+      boolean inverse) {
+    for (int row = firstRow; row < lastRow; row += 1) {
+      transform(real, imaginary, row * size, inverse);
+    }
+  }
+
+  /**
+   * Transforms every column of a block by copying it into a row, transforming the row, and
+   * copying it back.
+   *
+   * @param real      the real parts of the block
+   * @param imaginary the imaginary parts of the block
+   * @param inverse   whether to compute the inverse transform
+   */
+  private void transformColumns(double[] real, double[] imaginary, boolean inverse) {
+    double[] columnReal = new double[size];
+    double[] columnImaginary = new double[size];
+    for (int col = 0; col < size; col += 1) {
+      for (int row = 0; row < size; row += 1) {
+        columnReal[row] = real[row * size + col];
+        columnImaginary[row] = imaginary[row * size + col];
+      }
+      transform(columnReal, columnImaginary, 0, inverse);
+      for (int row = 0; row < size; row += 1) {
+        real[row * size + col] = columnReal[row];
+        imaginary[row * size + col] = columnImaginary[row];
+      }
+    }
+  }
+
+  /**
+   * Transforms one row of values in place.
+   *
+   * @param real      the real parts of the values
+   * @param imaginary the imaginary parts of the values
+   * @param offset    the index of the first value of the row
+   * @param inverse   whether to compute the inverse transform
+   */
+  private void transform(double[] real, double[] imaginary, int offset, boolean inverse) {
+    for (int index = 0; index < size; index += 1) {
+      int other = reversed[index];
+      if (index < other) {
+        double temp = real[offset + index];
+        real[offset + index] = real[offset + other];
+        real[offset + other] = temp;
+        temp = imaginary[offset + index];
+        imaginary[offset + index] = imaginary[offset + other];
+        imaginary[offset + other] = temp;
+      }
+    }
+    double sign = inverse ? 1 : -1;
+    for (int length = 2; length <= size; length <<= 1) {
+      int half = length / 2;
+      int step = size / length;
+      for (int start = offset; start < offset + size; start += length) {
+        for (int k = 0; k < half; k += 1) {
+          double twiddleReal = cos[k * step];
+          double twiddleImaginary = sign * sin[k * step];
+          int first = start + k;
+          int second = first + half;
+          double productReal = real[second] * twiddleReal - imaginary[second] * twiddleImaginary;
+          double productImaginary = real[second] * twiddleImaginary
+              + imaginary[second] * twiddleReal;
+          real[second] = real[first] - productReal;
+          imaginary[second] = imaginary[first] - productImaginary;
+          real[first] += productReal;
+          imaginary[first] += productImaginary;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,246 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents an image processing operation that applies a 2D kernel to each color channel of an
+ * image like a {@link FilterOperation}, but multiplies the Fourier transforms of the image and the
+ * kernel instead of multiplying and adding the color values around every pixel. The cost of a
+ * {@code FilterOperation} grows with the square of the width of the kernel, while the cost of an
+ * FftFilterOperation barely depends on it, so this operation is much faster for large kernels.
+ * {@code FilterOperation} uses it automatically for kernels that are at least {@value
+ * #KERNEL_SIZE_THRESHOLD} values wide and are not separable.
+ *
+ * <p>The image is filtered in square blocks. Each block is read together with the border of pixels
+ * around it that the kernel reaches, which is filled in according to the {@link EdgeMode} where it
+ * is outside the image, and transformed with a block size that is large enough that the border
+ * absorbs the wrap around of the circular convolution. This is the overlap-save way of splitting a
+ * convolution into blocks. The red and green channels are transformed together as the real and
+ * imaginary parts of one complex block, since the kernel is real.
+ *
+ * <p>The floating point error of the transforms is far below 1, but truncating the result would
+ * turn a value that should be exactly 100 into 99 if the error made it 99.99999999. Results within
+ * {@value #INTEGER_TOLERANCE} of a whole number are therefore rounded to it before they are
+ * truncated. Apart from values that are that close to a whole number without being one, the result
+ * is the same as applying the kernel directly.
+ */
+public class FftFilterOperation implements ImageOperation {
+
+  // The width of the smallest kernel that FilterOperation applies with Fourier transforms
+  public static final int KERNEL_SIZE_THRESHOLD = 11;
+
+  // How close a result must be to a whole number to be rounded to it before it is truncated
+  private static final double INTEGER_TOLERANCE = 1e-6;
+
+  // The smallest width of the blocks that are transformed
+  private static final int MIN_TRANSFORM_SIZE = 32;
+
+  private final int reach;
+  private final EdgeMode edgeMode;
+  private final ForkJoinPool pool;
+  private final Fft fft;
+  // The width of the blocks of the image that are filtered at once
+  private final int blockSize;
+  // The transform of the kernel, divided by the number of values in a transformed block so that
+  // the inverse transform does not have to be scaled
+  private final double[] kernelReal;
+  private final double[] kernelImaginary;
+
+  /**
+   * Constructs a new FftFilterOperation from the given kernel.
+   *
+   * @param kernel the kernel of the filter
+   * @throws IllegalArgumentException if the kernel is null or invalid. A valid kernel is a
+   *                                  non-empty, odd-dimensioned, square 2d array.
+   */
+  public FftFilterOperation(double[][] kernel) throws IllegalArgumentException {
+    this(kernel, EdgeMode.ZERO, null);
+  }
+
+  /**
+   * Constructs a new FftFilterOperation from the given kernel that picks the colors of pixels
+   * outside the image with the given edge mode and filters bands of blocks in parallel.
+   *
+   * @param kernel   the kernel of the filter
+   * @param edgeMode how to pick the colors of pixels outside the edges of the image
+   * @param pool     the pool to filter bands of blocks on, or null to filter on the calling thread
+   * @throws IllegalArgumentException if the kernel or edge mode is null or the kernel is invalid.
+   *                                  A valid kernel is a non-empty, odd-dimensioned, square 2d
+   *                                  array.
+   */
+  public FftFilterOperation(double[][] kernel, EdgeMode edgeMode, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    if (kernel == null) {
+      throw new IllegalArgumentException("Kernel must not be null.");
+    }
+    if (edgeMode == null) {
+      throw new IllegalArgumentException("Edge mode must not be null.");
+    }
+    FilterOperation.ensureValidKernel(kernel);
+
+    this.reach = kernel.length / 2;
+    this.edgeMode = edgeMode;
+    this.pool = pool;
+    // Blocks about four times as wide as the kernel keep the border a small part of each block
+    int size = Math.max(MIN_TRANSFORM_SIZE, Integer.highestOneBit(8 * reach - 1) << 1);
+    this.fft = new Fft(size);
+    this.blockSize = size - 2 * reach;
+
+    // The kernel is centered on the first value of the block and reflected, so that multiplying
+    // the transforms gives the same sums as laying the kernel over each pixel
+    this.kernelReal = new double[size * size];
+    this.kernelImaginary = new double[size * size];
+    double scale = 1.0 / (size * size);
+    for (int row = 0; row < kernel.length; row += 1) {
+      for (int col = 0; col < kernel.length; col += 1) {
+        int blockRow = Math.floorMod(reach - row, size);
+        int blockCol = Math.floorMod(reach - col, size);
+        kernelReal[blockRow * size + blockCol] = kernel[row][col] * scale;
+      }
+    }
+    fft.transform(kernelReal, kernelImaginary, 0, size, false);
+  }
+
+  /**
+   * Applies the filter to an image one block at a time. If this operation has a pool, bands of
+   * whole rows of blocks are filtered in parallel.
+   *
+   * @param image the image to apply the operation to
+   * @return the filtered image
+   * @throws IllegalArgumentException if the image is null
+   */
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+
+    int height = image.getHeight();
+    ImageBuilder builder = image.builder(image.getWidth(), height);
+    RowBands.forEach(pool, height, Math.min(height, blockSize),
+        (top, bottom) -> new BandFilter(image).filterRows(builder, top, bottom));
+    return builder.build();
+  }
+
+  /**
+   * Filters the blocks in bands of rows of one image, reusing the same buffers for every block.
+   */
+  private final class BandFilter {
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private final PaddedTileReader reader;
+    // The color values of the padded block
+    private final int[] red;
+    private final int[] green;
+    private final int[] blue;
+    // The block being transformed
+    private final double[] real;
+    private final double[] imaginary;
+    private final int[] rgbBlock;
+
+    /**
+     * Constructs a new BandFilter with buffers large enough for the blocks of an image.
+     *
+     * @param image the image to filter
+     */
+    BandFilter(Image image) {
+      this.width = image.getWidth();
+      this.height = image.getHeight();
+      this.size = fft.getSize();
+      this.reader = new PaddedTileReader(image, edgeMode, reach, blockSize, blockSize);
+      this.red = new int[size * size];
+      this.green = new int[size * size];
+      this.blue = new int[size * size];
+      this.real = new double[size * size];
+      this.imaginary = new double[size * size];
+      this.rgbBlock = new int[blockSize * blockSize];
+    }
+
+    /**
+     * Filters the blocks in a band of rows of the image and writes them into a builder.
+     *
+     * @param builder the builder for the filtered image
+     * @param top     the first row of the band, which is the first row of a block
+     * @param bottom  the row after the last row of the band
+     */
+    void filterRows(ImageBuilder builder, int top, int bottom) {
+      for (int blockRow = top; blockRow < bottom; blockRow += blockSize) {
+        for (int blockCol = 0; blockCol < width; blockCol += blockSize) {
+          int outWidth = Math.min(blockSize, width - blockCol);
+          int outHeight = Math.min(blockSize, height - blockRow);
+          reader.read(blockRow, blockCol, outWidth, outHeight, red, green, blue);
+          Arrays.fill(rgbBlock, 0);
+          convolve(red, green, outWidth, outHeight, 16, 8);
+          convolve(blue, null, outWidth, outHeight, 0, 0);
+          builder.setRgbRegion(blockRow, blockCol, outWidth, outHeight, rgbBlock, 0);
+        }
+      }
+    }
+
+    /**
+     * Filters one or two color channels of the padded block and stores them in the packed block.
+     *
+     * @param first       the padded values of the first channel
+     * @param second      the padded values of the second channel, or null if there is only one
+     * @param outWidth    the width of the block in pixels
+     * @param outHeight   the height of the block in pixels
+     * @param firstShift  the position of the first channel in a packed RGB value
+     * @param secondShift the position of the second channel in a packed RGB value
+     */
+    private void convolve(int[] first, int[] second, int outWidth, int outHeight, int firstShift,
+        int secondShift) {
+      int paddedWidth = outWidth + 2 * reach;
+      int paddedHeight = outHeight + 2 * reach;
+      Arrays.fill(real, 0);
+      Arrays.fill(imaginary, 0);
+      for (int row = 0; row < paddedHeight; row += 1) {
+        for (int col = 0; col < paddedWidth; col += 1) {
+          real[row * size + col] = first[row * paddedWidth + col];
+          if (second != null) {
+            imaginary[row * size + col] = second[row * paddedWidth + col];
+          }
+        }
+      }
+
+      fft.transform(real, imaginary, 0, paddedHeight, false);
+      for (int index = 0; index < size * size; index += 1) {
+        double productReal = real[index] * kernelReal[index]
+            - imaginary[index] * kernelImaginary[index];
+        double productImaginary = real[index] * kernelImaginary[index]
+            + imaginary[index] * kernelReal[index];
+        real[index] = productReal;
+        imaginary[index] = productImaginary;
+      }
+      fft.transform(real, imaginary, reach, reach + outHeight, true);
+
+      for (int row = 0; row < outHeight; row += 1) {
+        for (int col = 0; col < outWidth; col += 1) {
+          int index = (row + reach) * size + col + reach;
+          int pixel = row * outWidth + col;
+          rgbBlock[pixel] |= clampedValue(real[index]) << firstShift;
+          if (second != null) {
+            rgbBlock[pixel] |= clampedValue(imaginary[index]) << secondShift;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts a filtered value into a color value, rounding it to a whole number if it is within
+   * the error of the transforms of one, then truncating it and clamping it to the valid range.
+   *
+   * @param value the filtered value
+   * @return the color value
+   */
+  private static int clampedValue(double value) {
+    double nearest = Math.rint(value);
+    if (Math.abs(value - nearest) < INTEGER_TOLERANCE) {
+      value = nearest;
+    }
+    return Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, (int) value));
+  }
+}
@@ -1,14 +1,50 @@
 package model;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Represents a image processing operation that applies a 2D kernel to pixel values in each color
  * channel to alter the appearance of an image. Color values of surrounding Pixels are multiplied by
  * their corresponding value in the kernel to produce the new color value for a given pixel in the
  * image. This is repeated for each color channel in the image.
+ *
+ * <p>Kernels that are separable, meaning every value is the product of a value for its row and a
+ * value for its column, are detected when the operation is constructed. They are applied as a
+ * horizontal pass followed by a vertical pass, which reads 2k instead of k * k values for each
+ * color value of a k by k kernel. The result is the same as applying the whole kernel up to the
+ * rounding of the floating point sums, and exactly the same for kernels like the blur kernel
+ * whose values are sums of powers of two.
+ *
+ * <p>Pixels near the edges of the image are filtered with the colors the {@link EdgeMode} of the
+ * operation gives to pixels outside the image. By default they are black and add nothing to the
+ * new color.
+ *
+ * <p>With {@link Arithmetic#FIXED_POINT} arithmetic the kernel is rounded to fixed-point weights
+ * and always applied as a whole, since the two passes of a separable kernel would need 64-bit
+ * sums.
+ *
+ * <p>Kernels that are not separable and are at least {@value
+ * FftFilterOperation#KERNEL_SIZE_THRESHOLD} values wide are applied with floating point arithmetic
+ * by an {@link FftFilterOperation}, whose cost does not grow with the size of the kernel.
  */
 public class FilterOperation implements ImageOperation {
 
+  // The largest difference from a product of a row and column value allowed in a separable kernel,
+  // relative to the largest value in the kernel
+  private static final double SEPARABLE_TOLERANCE = 1e-12;
+
   private final double[][] kernel;
+  // The row and column factors of the kernel if it is separable, null otherwise
+  private final double[] rowFactors;
+  private final double[] colFactors;
+  // The kernel rounded to fixed-point weights stored row by row if fixed-point arithmetic is used,
+  // null otherwise
+  private final int[] fixedKernel;
+  // The operation that applies a large kernel with Fourier transforms, null for small kernels
+  private final FftFilterOperation fftFilter;
+  private final EdgeMode edgeMode;
+  private final ForkJoinPool pool;
 
   /**
    * Constructs a new FilterOperation from the given kernel.
@@ -19,9 +55,62 @@ public class FilterOperation implements ImageOperation {
    *                                  array.
    */
   public FilterOperation(double[][] kernel) throws IllegalArgumentException {
+    this(kernel, EdgeMode.ZERO, null);
+  }
+
+  /**
+   * Constructs a new FilterOperation from the given kernel that filters bands of rows of an image
+   * in parallel. The result is the same as filtering the image on a single thread.
+   *
+   * @param kernel the kernel of the filter
+   * @param pool   the pool to filter bands of rows on, or null to filter on the calling thread
+   * @throws IllegalArgumentException if the kernel is null or invalid. A valid kernel is a
+   *                                  non-empty, odd-dimensioned, square 2d array.
+   */
+  public FilterOperation(double[][] kernel, ForkJoinPool pool) throws IllegalArgumentException {
+    this(kernel, EdgeMode.ZERO, pool);
+  }
+
+  /**
+   * Constructs a new FilterOperation from the given kernel that picks the colors of pixels outside
+   * the image with the given edge mode.
+   *
+   * @param kernel   the kernel of the filter
+   * @param edgeMode how to pick the colors of pixels outside the edges of the image
+   * @param pool     the pool to filter bands of rows on, or null to filter on the calling thread
+   * @throws IllegalArgumentException if the kernel or edge mode is null or the kernel is invalid.
+   *                                  A valid kernel is a non-empty, odd-dimensioned, square 2d
+   *                                  array.
+   */
+  public FilterOperation(double[][] kernel, EdgeMode edgeMode, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    this(kernel, edgeMode, Arithmetic.FLOATING_POINT, pool);
+  }
+
+  /**
+   * Constructs a new FilterOperation from the given kernel that picks the colors of pixels outside
+   * the image with the given edge mode and combines color values with the given arithmetic.
+   *
+   * @param kernel     the kernel of the filter
+   * @param edgeMode   how to pick the colors of pixels outside the edges of the image
+   * @param arithmetic the arithmetic used to apply the kernel
+   * @param pool       the pool to filter bands of rows on, or null to filter on the calling thread
+   * @throws IllegalArgumentException if the kernel, edge mode, or arithmetic is null, if the
+   *                                  kernel is invalid, or if the kernel is too large for
+   *                                  fixed-point arithmetic. A valid kernel is a non-empty,
+   *                                  odd-dimensioned, square 2d array.
+   */
+  public FilterOperation(double[][] kernel, EdgeMode edgeMode, Arithmetic arithmetic,
+      ForkJoinPool pool) throws IllegalArgumentException {
     if (kernel == null) {
       throw new IllegalArgumentException("Kernel must not be null.");
     }
+    if (edgeMode == null) {
+      throw new IllegalArgumentException("Edge mode must not be null.");
+    }
+    if (arithmetic == null) {
+      throw new IllegalArgumentException("Arithmetic must not be null.");
+    }
     ensureValidKernel(kernel);
 
     this.kernel = new double[kernel.length][kernel[0].length];
@@ -30,52 +119,309 @@ public class FilterOperation implements ImageOperation {
         this.kernel[row][col] = kernel[row][col];
       }
     }
+    if (arithmetic == Arithmetic.FIXED_POINT) {
+      double[] weights = new double[kernel.length * kernel.length];
+      for (int row = 0; row < kernel.length; row += 1) {
+        System.arraycopy(this.kernel[row], 0, weights, row * kernel.length, kernel.length);
+      }
+      this.fixedKernel = Arithmetic.toFixedPoint(weights);
+      this.rowFactors = null;
+      this.colFactors = null;
+    } else {
+      double[][] factors = separableFactors(this.kernel);
+      this.fixedKernel = null;
+      this.rowFactors = factors == null ? null : factors[0];
+      this.colFactors = factors == null ? null : factors[1];
+    }
+    this.fftFilter = fixedKernel == null && rowFactors == null
+        && kernel.length >= FftFilterOperation.KERNEL_SIZE_THRESHOLD
+        ? new FftFilterOperation(this.kernel, edgeMode, pool) : null;
+    this.edgeMode = edgeMode;
+    this.pool = pool;
   }
 
+  /**
+   * Applies the filter to an image one tile at a time. For each tile, the values of the tile and
+   * the pixels around it that the kernel reaches are copied into a small padded buffer, so the
+   * filter only ever works on a block of the image that fits in the cache, and very large images
+   * never have to be copied all at once. Pixels of the padding that are outside the image are
+   * filled in according to the edge mode while the buffer is copied, so applying the kernel never
+   * has to check whether a pixel is inside the image. If this operation has a pool, bands of whole
+   * rows of tiles are filtered in parallel.
+   *
+   * @param image the image to apply the operation to
+   * @return the filtered image
+   * @throws IllegalArgumentException if the image is null
+   */
   @Override
   public Image apply(Image image) throws IllegalArgumentException {
     if (image == null) {
       throw new IllegalArgumentException("Image must not be null.");
     }
+    if (fftFilter != null) {
+      return fftFilter.apply(image);
+    }
+
+    int height = image.getHeight();
+    ImageBuilder builder = image.builder(image.getWidth(), height);
+    RowBands.forEach(pool, height, Math.min(height, image.getTileHeight()),
+        (top, bottom) -> new BandFilter(image).filterRows(builder, top, bottom));
+    return builder.build();
+  }
 
-    Pixel[][] pixels = new Pixel[image.getHeight()][image.getWidth()];
+  /**
+   * Filters the tiles in bands of rows of one image, reusing the same buffers for every tile.
+   */
+  private final class BandFilter {
 
-    for (int row = 0; row < image.getHeight(); row += 1) {
-      for (int col = 0; col < image.getWidth(); col += 1) {
-        int red = filteredPixelValue(image, ColorChannel.RED, row, col);
-        int green = filteredPixelValue(image, ColorChannel.GREEN, row, col);
-        int blue = filteredPixelValue(image, ColorChannel.BLUE, row, col);
-        pixels[row][col] = image.getPixelAt(row, col).fromRGB(red, green, blue);
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final int reach;
+    private final PaddedTileReader reader;
+    // The color values of the padded tile
+    private final int[] red;
+    private final int[] green;
+    private final int[] blue;
+    // The results of the horizontal pass of a separable kernel
+    private final double[] colSums;
+    // The sums for the row of the tile being filtered
+    private final double[] sums;
+    // The fixed-point sums for the row of the tile being filtered
+    private final int[] fixedSums;
+    // The filtered color values of the tile
+    private final int[] redTile;
+    private final int[] greenTile;
+    private final int[] blueTile;
+    private final int[] rgbTile;
+
+    /**
+     * Constructs a new BandFilter with buffers large enough for the tiles of an image.
+     *
+     * @param image the image to filter
+     */
+    BandFilter(Image image) {
+      this.width = image.getWidth();
+      this.height = image.getHeight();
+      this.tileWidth = Math.min(width, image.getTileWidth());
+      this.tileHeight = Math.min(height, image.getTileHeight());
+      this.reach = kernel.length / 2;
+      int paddedSize = (tileWidth + 2 * reach) * (tileHeight + 2 * reach);
+      int tileSize = tileWidth * tileHeight;
+      this.reader = new PaddedTileReader(image, edgeMode, reach, tileWidth, tileHeight);
+      this.red = new int[paddedSize];
+      this.green = new int[paddedSize];
+      this.blue = new int[paddedSize];
+      this.colSums = rowFactors == null ? null : new double[(tileHeight + 2 * reach) * tileWidth];
+      this.sums = new double[tileWidth];
+      this.fixedSums = fixedKernel == null ? null : new int[tileWidth];
+      this.redTile = new int[tileSize];
+      this.greenTile = new int[tileSize];
+      this.blueTile = new int[tileSize];
+      this.rgbTile = new int[tileSize];
+    }
+
+    /**
+     * Filters the tiles in a band of rows of the image and writes them into a builder.
+     *
+     * @param builder the builder for the filtered image
+     * @param top     the first row of the band, which is the first row of a tile
+     * @param bottom  the row after the last row of the band
+     */
+    void filterRows(ImageBuilder builder, int top, int bottom) {
+      for (int tileRow = top; tileRow < bottom; tileRow += tileHeight) {
+        for (int tileCol = 0; tileCol < width; tileCol += tileWidth) {
+          int outWidth = Math.min(tileWidth, width - tileCol);
+          int outHeight = Math.min(tileHeight, height - tileRow);
+          reader.read(tileRow, tileCol, outWidth, outHeight, red, green, blue);
+          if (fixedKernel != null) {
+            filterFixedPoint(red, outWidth, outHeight, redTile);
+            filterFixedPoint(green, outWidth, outHeight, greenTile);
+            filterFixedPoint(blue, outWidth, outHeight, blueTile);
+          } else if (rowFactors != null) {
+            filterSeparable(red, outWidth, outHeight, redTile);
+            filterSeparable(green, outWidth, outHeight, greenTile);
+            filterSeparable(blue, outWidth, outHeight, blueTile);
+          } else {
+            filter(red, outWidth, outHeight, redTile);
+            filter(green, outWidth, outHeight, greenTile);
+            filter(blue, outWidth, outHeight, blueTile);
+          }
+          for (int index = 0; index < outWidth * outHeight; index += 1) {
+            rgbTile[index] = PackedImage24Bit.packClamped(redTile[index], greenTile[index],
+                blueTile[index]);
+          }
+          builder.setRgbRegion(tileRow, tileCol, outWidth, outHeight, rgbTile, 0);
+        }
       }
     }
 
-    return image.fromPixels(pixels, true);
+    /**
+     * Applies the whole kernel to one color channel of the padded tile. Every pixel the kernel
+     * reaches is in the padded buffer, so no coordinates are checked. Each value of the kernel is
+     * multiplied with a whole row of the buffer at a time, which the JIT compiler can turn into
+     * SIMD instructions, and the values are still added in the same order as one pixel at a time.
+     *
+     * @param values    the padded color values of one channel stored row by row
+     * @param outWidth  the width of the tile in pixels
+     * @param outHeight the height of the tile in pixels
+     * @param dest      the array to store the new values of the tile in row by row
+     */
+    private void filter(int[] values, int outWidth, int outHeight, int[] dest) {
+      int paddedWidth = outWidth + 2 * reach;
+      for (int row = 0; row < outHeight; row += 1) {
+        Arrays.fill(sums, 0, outWidth, 0);
+        for (int kernelRow = 0; kernelRow < kernel.length; kernelRow += 1) {
+          double[] kernelValues = kernel[kernelRow];
+          for (int kernelCol = 0; kernelCol < kernelValues.length; kernelCol += 1) {
+            addScaledRow(values, (row + kernelRow) * paddedWidth + kernelCol,
+                kernelValues[kernelCol], outWidth);
+          }
+        }
+        storeRow(dest, row * outWidth, outWidth);
+      }
+    }
+
+    /**
+     * Applies the whole kernel rounded to fixed-point weights to one color channel of the padded
+     * tile, in the same way as {@link #filter} but with {@code int} sums. Dividing the sums by the
+     * fixed-point representation of 1 truncates toward zero, like the cast of a {@code double}.
+     *
+     * @param values    the padded color values of one channel stored row by row
+     * @param outWidth  the width of the tile in pixels
+     * @param outHeight the height of the tile in pixels
+     * @param dest      the array to store the new values of the tile in row by row
+     */
+    private void filterFixedPoint(int[] values, int outWidth, int outHeight, int[] dest) {
+      int paddedWidth = outWidth + 2 * reach;
+      for (int row = 0; row < outHeight; row += 1) {
+        Arrays.fill(fixedSums, 0, outWidth, 0);
+        for (int kernelRow = 0; kernelRow < kernel.length; kernelRow += 1) {
+          for (int kernelCol = 0; kernelCol < kernel.length; kernelCol += 1) {
+            int weight = fixedKernel[kernelRow * kernel.length + kernelCol];
+            int start = (row + kernelRow) * paddedWidth + kernelCol;
+            for (int col = 0; col < outWidth; col += 1) {
+              fixedSums[col] += weight * values[start + col];
+            }
+          }
+        }
+        int offset = row * outWidth;
+        for (int col = 0; col < outWidth; col += 1) {
+          dest[offset + col] = fixedSums[col] / Arithmetic.ONE;
+        }
+      }
+    }
+
+    /**
+     * Applies the row factors of a separable kernel to each row of the padded tile and then the
+     * column factors to each column of the result.
+     *
+     * @param values    the padded color values of one channel stored row by row
+     * @param outWidth  the width of the tile in pixels
+     * @param outHeight the height of the tile in pixels
+     * @param dest      the array to store the new values of the tile in row by row
+     */
+    private void filterSeparable(int[] values, int outWidth, int outHeight, int[] dest) {
+      int paddedWidth = outWidth + 2 * reach;
+      int paddedHeight = outHeight + 2 * reach;
+      for (int row = 0; row < paddedHeight; row += 1) {
+        Arrays.fill(sums, 0, outWidth, 0);
+        for (int k = 0; k < colFactors.length; k += 1) {
+          addScaledRow(values, row * paddedWidth + k, colFactors[k], outWidth);
+        }
+        System.arraycopy(sums, 0, colSums, row * outWidth, outWidth);
+      }
+      for (int row = 0; row < outHeight; row += 1) {
+        Arrays.fill(sums, 0, outWidth, 0);
+        for (int k = 0; k < rowFactors.length; k += 1) {
+          double factor = rowFactors[k];
+          int start = (row + k) * outWidth;
+          for (int col = 0; col < outWidth; col += 1) {
+            sums[col] += factor * colSums[start + col];
+          }
+        }
+        storeRow(dest, row * outWidth, outWidth);
+      }
+    }
+
+    /**
+     * Adds a row of color values multiplied by a value of the kernel to the row of sums.
+     *
+     * @param values the color values
+     * @param start  the index of the first color value to add
+     * @param factor the value of the kernel
+     * @param count  the number of values to add
+     */
+    private void addScaledRow(int[] values, int start, double factor, int count) {
+      for (int col = 0; col < count; col += 1) {
+        sums[col] += factor * values[start + col];
+      }
+    }
+
+    /**
+     * Truncates the row of sums to new color values.
+     *
+     * @param dest   the array to store the new color values in
+     * @param offset the index of the first new value
+     * @param count  the number of values to store
+     */
+    private void storeRow(int[] dest, int offset, int count) {
+      for (int col = 0; col < count; col += 1) {
+        dest[offset + col] = (int) sums[col];
+      }
+    }
   }
 
   /**
-   * Calculates the new value of a pixel for a specific color channel in an image applying the
-   * kernel for this filer.
+   * Splits a kernel into a factor for each row and a factor for each column whose products are the
+   * values of the kernel, if such factors exist.
    *
-   * @param image   the image to calculate the new value for
-   * @param channel the color channel to apply this filter to
-   * @param row     the row of the pixel to calculate the value of from top to bottom.
-   * @param col     the column of the pixel to calculate the value of from left to right.
-   * @return the new value of the color channel for the filtered image
+   * @param kernel the kernel to split
+   * @return an array holding the row factors followed by the column factors, or null if the
+   *         kernel is not separable
    */
-  private int filteredPixelValue(Image image, ColorChannel channel, int row, int col) {
-    double value = 0;
-
-    for (int kernelRow = 0; kernelRow < kernel.length; kernelRow += 1) {
-      for (int kernelCol = 0; kernelCol < kernel.length; kernelCol += 1) {
-        int imageRow = row + kernelRow - kernel.length / 2;
-        int imageCol = col + kernelCol - kernel.length / 2;
-        if (validCoordinates(image, imageRow, imageCol)) {
-          int imageValue = image.getValueAt(imageRow, imageCol, channel);
-          value += kernel[kernelRow][kernelCol] * ((double) imageValue);
+  private static double[][] separableFactors(double[][] kernel) {
+    int pivotRow = 0;
+    int pivotCol = 0;
+    for (int row = 0; row < kernel.length; row += 1) {
+      for (int col = 0; col < kernel.length; col += 1) {
+        if (Math.abs(kernel[row][col]) > Math.abs(kernel[pivotRow][pivotCol])) {
+          pivotRow = row;
+          pivotCol = col;
+        }
+      }
+    }
+    double pivot = kernel[pivotRow][pivotCol];
+    if (pivot == 0) {
+      return null;
+    }
+    // Normalize the row factors to add up to 1 when possible, which keeps the factors of kernels
+    // like the blur kernel exact sums of powers of two
+    double scale = 0;
+    for (double[] row : kernel) {
+      scale += row[pivotCol];
+    }
+    if (scale == 0) {
+      scale = pivot;
+    }
+    double[] rowFactors = new double[kernel.length];
+    double[] colFactors = new double[kernel.length];
+    for (int index = 0; index < kernel.length; index += 1) {
+      rowFactors[index] = kernel[index][pivotCol] / scale;
+    }
+    for (int index = 0; index < kernel.length; index += 1) {
+      colFactors[index] = kernel[pivotRow][index] / rowFactors[pivotRow];
+    }
+    for (int row = 0; row < kernel.length; row += 1) {
+      for (int col = 0; col < kernel.length; col += 1) {
+        double difference = kernel[row][col] - rowFactors[row] * colFactors[col];
+        if (Math.abs(difference) > SEPARABLE_TOLERANCE * Math.abs(pivot)) {
+          return null;
         }
       }
     }
-    return (int) value;
+    return new double[][]{rowFactors, colFactors};
   }
 
   /**
@@ -85,26 +431,14 @@ public class FilterOperation implements ImageOperation {
    * @param kernel the 2-dimensional array to check
    * @throws IllegalArgumentException if the array is invalid.
    */
-  private static void ensureValidKernel(double[][] kernel) throws IllegalArgumentException {
-    if (kernel.length % 2 == 0 || kernel[0].length % 2 == 0) {
+  static void ensureValidKernel(double[][] kernel) throws IllegalArgumentException {
+    if (kernel.length % 2 == 0) {
       throw new IllegalArgumentException("Kernel must have an odd dimension.");
     }
     for (double[] row : kernel) {
-      if (row.length != kernel[0].length) {
+      if (row == null || row.length != kernel.length) {
         throw new IllegalArgumentException("Kernel must be a square matrix.");
       }
     }
   }
-
-  /**
-   * Determines whether a coordinate is valid index for a pixel in an image.
-   *
-   * @param image the image being indexed
-   * @param row   the row of the pixel from top to bottom of the image
-   * @param col   the column of the pixel from left to right of the image
-   * @return whether the coordinates are valid
-   */
-  private static boolean validCoordinates(Image image, int row, int col) {
-    return row >= 0 && row < image.getHeight() && col >= 0 && col < image.getWidth();
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package model;
+
+/**
+ * An operation that mirrors an image horizontally or vertically. The flipped image is a view of
+ * the original image, so flipping takes constant time and memory no matter how large the image is.
+ */
+public class FlipOperation implements ImageOperation {
+
+  private final boolean horizontal;
+
+  /**
+   * Constructs a new FlipOperation.
+   *
+   * @param horizontal whether to flip images horizontally, swapping their left and right sides,
+   *                   instead of vertically, swapping their top and bottom
+   */
+  public FlipOperation(boolean horizontal) {
+    this.horizontal = horizontal;
+  }
+
+  /**
+   * Flips an image. Flipping an image that was already flipped in the same direction returns the
+   * original image.
+   *
+   * @param image the image to flip
+   * @return a view of the flipped image
+   * @throws IllegalArgumentException if the image is null
+   */
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    if (image instanceof FlippedImage && ((FlippedImage) image).isHorizontal() == horizontal) {
+      return ((FlippedImage) image).getSource();
+    }
+    return new FlippedImage(AbstractImageView.viewSource(image), horizontal);
+  }
+}
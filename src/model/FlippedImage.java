@@ -0,0 +1,100 @@
+package model;
+
+/**
+ * A view of another image mirrored either horizontally, so the left and right sides of the image
+ * are swapped, or vertically, so the top and bottom of the image are swapped.
+ */
+public class FlippedImage extends AbstractImageView {
+
+  private final boolean horizontal;
+
+  /**
+   * Constructs a new view of a mirrored image.
+   *
+   * @param source     the image to flip
+   * @param horizontal whether to flip the image horizontally instead of vertically
+   * @throws IllegalArgumentException if the source is null
+   */
+  public FlippedImage(Image source, boolean horizontal) throws IllegalArgumentException {
+    super(source);
+    this.horizontal = horizontal;
+  }
+
+  /**
+   * Determines whether this view flips its source image horizontally.
+   *
+   * @return true if the image is flipped horizontally, false if it is flipped vertically
+   */
+  public boolean isHorizontal() {
+    return horizontal;
+  }
+
+  @Override
+  public int getWidth() {
+    return source.getWidth();
+  }
+
+  @Override
+  public int getHeight() {
+    return source.getHeight();
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    if (horizontal) {
+      return source.getRgbAt(row, getWidth() - 1 - col);
+    }
+    return source.getRgbAt(getHeight() - 1 - row, col);
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (horizontal) {
+      source.getRegion(row, getWidth() - col - width, width, height, channel, dest, offset);
+      reverseRows(dest, offset, width, height);
+    } else {
+      for (int r = 0; r < height; r += 1) {
+        source.getRegion(getHeight() - 1 - (row + r), col, width, 1, channel, dest,
+            offset + r * width);
+      }
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (horizontal) {
+      source.getRgbRegion(row, getWidth() - col - width, width, height, dest, offset);
+      reverseRows(dest, offset, width, height);
+    } else {
+      for (int r = 0; r < height; r += 1) {
+        source.getRgbRegion(getHeight() - 1 - (row + r), col, width, 1, dest,
+            offset + r * width);
+      }
+    }
+  }
+
+  /**
+   * Reverses the order of the values in each row of a region stored in an array.
+   *
+   * @param values the array holding the region
+   * @param offset the index of the first value of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   */
+  private static void reverseRows(int[] values, int offset, int width, int height) {
+    for (int r = 0; r < height; r += 1) {
+      int start = offset + r * width;
+      int end = start + width - 1;
+      while (start < end) {
+        int temp = values[start];
+        values[start] = values[end];
+        values[end] = temp;
+        start += 1;
+        end -= 1;
+      }
+    }
+  }
+}
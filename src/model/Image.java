@@ -79,6 +79,106 @@ public interface Image {
    */
   Pixel getPixelAt(int row, int col) throws IllegalArgumentException;
 
+  /**
+   * Gets the color of a pixel at a certain location in the image as a single packed RGB value. Bits
+   * 0-7 represent the blue value. Bits 8-15 are green. Bits 16-23 are red.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column o the pixel measured from the left to the right of the image
+   * @return the packed RGB value of the pixel
+   * @throws IllegalArgumentException if the row or column is an invalid index for a pixel in the
+   *                                  image
+   */
+  int getRgbAt(int row, int col) throws IllegalArgumentException;
+
+  /**
+   * Copies the values of one color channel for an entire row of the image into an array.
+   *
+   * @param row     the row of the image measured from the top to bottom of the image
+   * @param channel the color channel to copy the values of
+   * @param dest    the array to copy the values into
+   * @param offset  the index in the array where the value of the first pixel in the row is stored
+   * @throws IllegalArgumentException if the row is an invalid index, if the channel or array are
+   *                                  null, or if the array is too small to hold the row
+   */
+  void getRow(int row, ColorChannel channel, int[] dest, int offset)
+      throws IllegalArgumentException;
+
+  /**
+   * Copies the packed RGB values for an entire row of the image into an array. Bits 0-7 of each
+   * value represent the blue value. Bits 8-15 are green. Bits 16-23 are red.
+   *
+   * @param row    the row of the image measured from the top to bottom of the image
+   * @param dest   the array to copy the values into
+   * @param offset the index in the array where the value of the first pixel in the row is stored
+   * @throws IllegalArgumentException if the row is an invalid index, if the array is null, or if
+   *                                  the array is too small to hold the row
+   */
+  void getRgbRow(int row, int[] dest, int offset) throws IllegalArgumentException;
+
+  /**
+   * Copies the values of one color channel for a rectangular region of the image into an array.
+   * Values are stored row by row, so the value at (row + r, col + c) is stored at index offset + r
+   * * width + c.
+   *
+   * @param row     the top row of the region
+   * @param col     the left column of the region
+   * @param width   the width of the region in pixels
+   * @param height  the height of the region in pixels
+   * @param channel the color channel to copy the values of
+   * @param dest    the array to copy the values into
+   * @param offset  the index in the array where the value of the top left pixel is stored
+   * @throws IllegalArgumentException if the region is not inside the image, if the channel or
+   *                                  array are null, or if the array is too small to hold the
+   *                                  region
+   */
+  void getRegion(int row, int col, int width, int height, ColorChannel channel, int[] dest,
+      int offset) throws IllegalArgumentException;
+
+  /**
+   * Copies the packed RGB values for a rectangular region of the image into an array. Values are
+   * stored row by row, so the value at (row + r, col + c) is stored at index offset + r * width +
+   * c.
+   *
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region in pixels
+   * @param height the height of the region in pixels
+   * @param dest   the array to copy the values into
+   * @param offset the index in the array where the value of the top left pixel is stored
+   * @throws IllegalArgumentException if the region is not inside the image, if the array is null,
+   *                                  or if the array is too small to hold the region
+   */
+  void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset)
+      throws IllegalArgumentException;
+
+  /**
+   * Gets the width of the tiles that the pixels of this image are grouped into. Operations that
+   * process an image one rectangular block at a time should use blocks aligned to the tiles of the
+   * image, since reading a whole tile at once is the cheapest way to access its pixels. Images
+   * stored row by row use tiles that span the full width of the image.
+   *
+   * @return the width of each tile in pixels
+   */
+  int getTileWidth();
+
+  /**
+   * Gets the height of the tiles that the pixels of this image are grouped into. Tiles in the last
+   * row or column of tiles may be cut off by the edge of the image.
+   *
+   * @return the height of each tile in pixels
+   */
+  int getTileHeight();
+
+  /**
+   * Gets a 64-bit hash of the width, height, and color values of this image. Images that are equal
+   * always have the same content hash, and images that are not equal are very unlikely to. The
+   * hash is computed from the packed RGB values of the pixels the first time it is requested.
+   *
+   * @return the content hash of the image
+   */
+  long contentHash();
+
   /**
    * Constructs a {@link Image} in a manner selected be each concrete subclass of this class.
    *
@@ -86,4 +186,32 @@ public interface Image {
    * @return the new {@code Image}
    */
   Image fromPixels(Pixel[][] pixels, boolean clamp);
+
+  /**
+   * Constructs a {@link Image} from packed RGB values in a manner selected be each concrete
+   * subclass of this class. Each value holds the red value in bits 16-23, the green value in bits
+   * 8-15, and the blue value in bits 0-7. Values are stored row by row from the top to the bottom
+   * of the image, and from left to right within a row.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image
+   * @return the new {@code Image}
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  Image fromRgb(int width, int height, int[] rgb) throws IllegalArgumentException;
+
+  /**
+   * Creates a builder for a new {@link Image} of the given size in a manner selected be each
+   * concrete subclass of this class. Operations use the builder to write their results directly
+   * into the storage of the new image.
+   *
+   * @param width  the width of the new image in pixels
+   * @param height the height of the new image in pixels
+   * @return the builder for the new image
+   * @throws IllegalArgumentException if the width or height are not positive
+   */
+  ImageBuilder builder(int width, int height) throws IllegalArgumentException;
 }
@@ -1,8 +1,10 @@
 package model;
 
+import java.util.Arrays;
+
 /**
- * Represents a 24-bit image consisting of 3 8-bit red, green, and blue, color channels. Image24Bits
- * are immutable.
+ * Represents a 24-bit image consisting of 3 8-bit red, green, and blue, color channels stored as a
+ * 2-dimensional array of pixels. Image24Bits are immutable.
  */
 public class Image24Bit extends AbstractImage {
 
@@ -12,6 +14,8 @@ public class Image24Bit extends AbstractImage {
   // The maximum value allowed for color values with pixel in this image
   public static final int MAX_VALUE = 255;
 
+  private final Pixel[][] pixels;
+
   /**
    * Constructs a new Image24Bit from a 2-dimensional array of pixels.
    *
@@ -27,7 +31,13 @@ public class Image24Bit extends AbstractImage {
    *                                  clamping is false.
    */
   public Image24Bit(Pixel[][] pixels, boolean clamp) throws IllegalArgumentException {
-    super(pixels, clamp);
+    ensureValidPixels(pixels);
+
+    if (clamp) {
+      this.pixels = clampPixels(pixels);
+    } else {
+      this.pixels = checkPixels(pixels);
+    }
   }
 
 
@@ -45,11 +55,62 @@ public class Image24Bit extends AbstractImage {
     this(pixels, false);
   }
 
+  @Override
+  public int getWidth() {
+    return pixels[0].length;
+  }
+
+  @Override
+  public int getHeight() {
+    return pixels.length;
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    return pixels[row][col].getRedValue();
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    return pixels[row][col].getGreenValue();
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    return pixels[row][col].getBlueValue();
+  }
+
+  @Override
+  protected Pixel pixelAt(int row, int col) {
+    return pixels[row][col];
+  }
+
   @Override
   public Image fromPixels(Pixel[][] pixels, boolean clamp) {
     return new Image24Bit(pixels, clamp);
   }
 
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return new PackedImage24Bit(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return new PackedImageBuilder(width, height);
+  }
+
+  @Override
+  protected boolean rasterEquals(AbstractImage other) {
+    Pixel[][] otherPixels = ((Image24Bit) other).pixels;
+    for (int row = 0; row < pixels.length; row += 1) {
+      if (!Arrays.equals(pixels[row], otherPixels[row])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public int minValue() {
     return MIN_VALUE;
@@ -59,4 +120,41 @@ public class Image24Bit extends AbstractImage {
   public int maxValue() {
     return MAX_VALUE;
   }
-}
\ No newline at end of file
+
+  /**
+   * Checks that all pixels in a 2-dimensional array have color values with the allowed range for
+   * this image.
+   *
+   * @param pixels the 2-dimensional array of pixels to check.
+   * @return the same array of pixels that was passed as an argument for convenience
+   */
+  private Pixel[][] checkPixels(Pixel[][] pixels) {
+    for (Pixel[] row : pixels) {
+      for (Pixel pixel : row) {
+        ensureInRange(pixel.getRedValue());
+        ensureInRange(pixel.getGreenValue());
+        ensureInRange(pixel.getBlueValue());
+      }
+    }
+    return pixels;
+  }
+
+  /**
+   * Produces a new 2-dimensional array of pixels equivalent to the ones passed in except with their
+   * color values clamped to the allowed range for this image. Color values higher than the allowed
+   * maximum are set the maximum. Color values lower than the allowed minimum are set to the
+   * minimum.
+   *
+   * @param pixels the pixels to clamp the color values of
+   * @return the 2-dimensional array of pixels with their values clamped.
+   */
+  private Pixel[][] clampPixels(Pixel[][] pixels) {
+    Pixel[][] clamped = new Pixel[pixels.length][pixels[0].length];
+    for (int row = 0; row < pixels.length; row += 1) {
+      for (int col = 0; col < pixels[0].length; col += 1) {
+        clamped[row][col] = pixels[row][col].clamp(minValue(), maxValue());
+      }
+    }
+    return clamped;
+  }
+}
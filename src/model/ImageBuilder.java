@@ -0,0 +1,109 @@
+package model;
+
+/**
+ * Builds a new {@link Image} by writing color values into a raster one pixel, row, or channel at a
+ * time. Builders let image operations write their results straight into primitive storage instead
+ * of creating a {@link Pixel} for every pixel. Once {@code build} has been called the builder can
+ * no longer be written to.
+ *
+ * <p>Several threads may write to the same builder at once as long as they write to different
+ * pixels, and {@code build} is only called after every thread has finished writing.
+ */
+public interface ImageBuilder {
+
+  /**
+   * Gets the width of the image being built in pixels.
+   *
+   * @return the width of the image
+   */
+  int getWidth();
+
+  /**
+   * Gets the height of the image being built in pixels.
+   *
+   * @return the height of the image
+   */
+  int getHeight();
+
+  /**
+   * Sets the color of one pixel from a packed RGB value. Bits 0-7 represent the blue value. Bits
+   * 8-15 are green. Bits 16-23 are red. Bits 24-31 are ignored.
+   *
+   * @param row the row of the pixel measured from the top to bottom of the image
+   * @param col the column of the pixel measured from the left to the right of the image
+   * @param rgb the packed RGB value of the pixel
+   * @throws IllegalArgumentException if the row or column is an invalid index
+   * @throws IllegalStateException    if the image has already been built
+   */
+  void setRgb(int row, int col, int rgb) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Sets the color of one pixel from its red, green, and blue values. Values outside the allowed
+   * range for the image are clamped to the range when they are written, so no separate validation
+   * pass is needed when the image is built.
+   *
+   * @param row   the row of the pixel measured from the top to bottom of the image
+   * @param col   the column of the pixel measured from the left to the right of the image
+   * @param red   the red value of the pixel
+   * @param green the green value of the pixel
+   * @param blue  the blue value of the pixel
+   * @throws IllegalArgumentException if the row or column is an invalid index
+   * @throws IllegalStateException    if the image has already been built
+   */
+  void setPixel(int row, int col, int red, int green, int blue)
+      throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Sets the colors of an entire row of pixels from packed RGB values.
+   *
+   * @param row    the row of the image measured from the top to bottom of the image
+   * @param rgb    the array holding the packed RGB values
+   * @param offset the index in the array of the value for the first pixel in the row
+   * @throws IllegalArgumentException if the row is an invalid index, if the array is null, or if
+   *                                  the array is too small to hold the row
+   * @throws IllegalStateException    if the image has already been built
+   */
+  void setRgbRow(int row, int[] rgb, int offset)
+      throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Sets the colors of a rectangular region of pixels from packed RGB values. Values are read row
+   * by row, so the value for (row + r, col + c) is read from index offset + r * width + c.
+   *
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region in pixels
+   * @param height the height of the region in pixels
+   * @param rgb    the array holding the packed RGB values
+   * @param offset the index in the array of the value for the top left pixel of the region
+   * @throws IllegalArgumentException if the region is not inside the image, if the array is null,
+   *                                  or if the array is too small to hold the region
+   * @throws IllegalStateException    if the image has already been built
+   */
+  void setRgbRegion(int row, int col, int width, int height, int[] rgb, int offset)
+      throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Sets the values of one color channel for an entire row of pixels. Values outside the allowed
+   * range for the image are clamped to the range.
+   *
+   * @param row     the row of the image measured from the top to bottom of the image
+   * @param channel the color channel to set the values of
+   * @param values  the array holding the color values
+   * @param offset  the index in the array of the value for the first pixel in the row
+   * @throws IllegalArgumentException if the row is an invalid index, if the channel or array are
+   *                                  null, or if the array is too small to hold the row
+   * @throws IllegalStateException    if the image has already been built
+   */
+  void setRow(int row, ColorChannel channel, int[] values, int offset)
+      throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Creates the image from the values that have been written without copying them. Pixels that
+   * were never written are black.
+   *
+   * @return the built image
+   * @throws IllegalStateException if the image has already been built
+   */
+  Image build() throws IllegalStateException;
+}
@@ -52,12 +52,12 @@ public class ImageExamples {
     }
 
     Pixel[] colors = {
-        new RgbPixel(200, 0, 0),
-        new RgbPixel(200, 75, 0),
-        new RgbPixel(200, 200, 0),
-        new RgbPixel(0, 200, 0),
-        new RgbPixel(0, 0, 200),
-        new RgbPixel(160, 0, 200),
+        RgbPixel.of(200, 0, 0),
+        RgbPixel.of(200, 75, 0),
+        RgbPixel.of(200, 200, 0),
+        RgbPixel.of(0, 200, 0),
+        RgbPixel.of(0, 0, 200),
+        RgbPixel.of(160, 0, 200),
     };
 
     int stripeHeight = Math.max(1, height / colors.length);
@@ -1,5 +1,6 @@
 package model;
 
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A factory class for creating different default ImageOperation objects.
@@ -7,13 +8,32 @@ package model;
 public class ImageOperationCreator {
 
   /**
-   * Constructs a ImageOperation object based on a given type.
+   * Constructs a ImageOperation object based on a given type that processes images in parallel
+   * on the common pool of threads where it can.
    *
    * @param type the type of Image Operation to create
    * @return the ImageOperationObject
    * @throws IllegalArgumentException if the image operation type is null or invalid.
    */
   public static ImageOperation create(OperationType type) throws IllegalArgumentException {
+    return create(type, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a ImageOperation object based on a given type that processes images in parallel
+   * on a pool of threads where it can. Adjustments of each color value are created with common
+   * default parameters: brightening by 32, raising the contrast by a factor of 1.25, a gamma of
+   * 2.2, stretching the levels from 16 and 235, a gentle S-shaped curve, 4 posterized levels,
+   * and a threshold of 128. Use {@link #createAdjustment(OperationType, ForkJoinPool, double...)}
+   * to choose the parameters.
+   *
+   * @param type the type of Image Operation to create
+   * @param pool the pool to process images on, or null to process them on the calling thread
+   * @return the ImageOperationObject
+   * @throws IllegalArgumentException if the image operation type is null or invalid.
+   */
+  public static ImageOperation create(OperationType type, ForkJoinPool pool)
+      throws IllegalArgumentException {
     if (type == null) {
       throw new IllegalArgumentException("Image operation type must not be null");
     }
@@ -23,34 +43,172 @@ public class ImageOperationCreator {
         return new FilterOperation(new double[][]{
             {0.0625, 0.125, 0.0625},
             {0.125, 0.25, 0.125},
-            {0.0625, 0.125, 0.0625}});
+            {0.0625, 0.125, 0.0625}}, pool);
       case SHARPEN:
         return new FilterOperation(new double[][]{
             {-0.125, -0.125, -0.125, -0.125, -0.125},
             {-0.125, 0.25, 0.25, 0.25, -0.125},
             {-0.125, 0.25, 1, 0.25, -0.125},
             {-0.125, 0.25, 0.25, 0.25, -0.125},
-            {-0.125, -0.125, -0.125, -0.125, -0.125}});
+            {-0.125, -0.125, -0.125, -0.125, -0.125}}, pool);
       case GREYSCALE:
         return new ColorTransformation(new double[][]{
             {0.2126, 0.7152, 0.0722},
             {0.2126, 0.7152, 0.0722},
-            {0.2126, 0.7152, 0.0722}});
+            {0.2126, 0.7152, 0.0722}}, Arithmetic.FLOATING_POINT, pool);
       case SEPIA:
         return new ColorTransformation(new double[][]{
             {0.393, 0.769, 0.189},
             {0.349, 0.686, 0.168},
-            {0.272, 0.534, 0.131}});
+            {0.272, 0.534, 0.131}}, Arithmetic.FLOATING_POINT, pool);
+      case BRIGHTNESS:
+        return createAdjustment(type, pool, 32);
+      case CONTRAST:
+        return createAdjustment(type, pool, 1.25);
+      case GAMMA:
+        return createAdjustment(type, pool, 2.2);
+      case LEVELS:
+        return createAdjustment(type, pool, 16, 235);
+      case CURVES:
+        return createAdjustment(type, pool, 0, 0, 64, 48, 192, 208, 255, 255);
+      case INVERT:
+        return createAdjustment(type, pool);
+      case POSTERIZE:
+        return createAdjustment(type, pool, 4);
+      case THRESHOLD:
+        return createAdjustment(type, pool, 128);
       default:
         throw new IllegalArgumentException("Unknown image operation type has been passed!");
     }
   }
 
+  /**
+   * Constructs a LutOperation that adjusts each color value of an image on its own, based on a
+   * given type and the parameters of the adjustment, and that looks up bands of rows in parallel on
+   * the common pool of threads. The parameters each type takes are listed in {@link
+   * #createAdjustment(OperationType, ForkJoinPool, double...)}.
+   *
+   * @param type       the type of adjustment to create
+   * @param parameters the parameters of the adjustment
+   * @return the LutOperation
+   * @throws IllegalArgumentException if the type is null or not an adjustment, or the parameters
+   *                                  are null or invalid for the type
+   */
+  public static LutOperation createAdjustment(OperationType type, double... parameters)
+      throws IllegalArgumentException {
+    return createAdjustment(type, ForkJoinPool.commonPool(), parameters);
+  }
+
+  /**
+   * Constructs a LutOperation that adjusts each color value of an image on its own, based on a
+   * given type and the parameters of the adjustment, and that looks up bands of rows in parallel on
+   * a pool. The parameters each type takes are:
+   * <ul>
+   *   <li>BRIGHTNESS: the amount to add to each color value</li>
+   *   <li>CONTRAST: the factor to multiply the distance of each color value from 128 by</li>
+   *   <li>GAMMA: the gamma to correct each color value with</li>
+   *   <li>LEVELS: the black point and the white point</li>
+   *   <li>CURVES: the input and output of each control point of the curve, one after the
+   *   other</li>
+   *   <li>INVERT: none</li>
+   *   <li>POSTERIZE: the number of levels of each channel</li>
+   *   <li>THRESHOLD: the smallest color value that becomes white</li>
+   * </ul>
+   * Every parameter except the contrast factor and the gamma must be a whole number.
+   *
+   * @param type       the type of adjustment to create
+   * @param pool       the pool to look up bands of rows on, or null to look them up on the calling
+   *                   thread
+   * @param parameters the parameters of the adjustment
+   * @return the LutOperation
+   * @throws IllegalArgumentException if the type is null or not an adjustment, or the parameters
+   *                                  are null or invalid for the type
+   */
+  public static LutOperation createAdjustment(OperationType type, ForkJoinPool pool,
+      double... parameters) throws IllegalArgumentException {
+    if (type == null) {
+      throw new IllegalArgumentException("Image operation type must not be null");
+    }
+    if (parameters == null) {
+      throw new IllegalArgumentException("Parameters must not be null");
+    }
+
+    switch (type) {
+      case BRIGHTNESS:
+        ensureParameterCount(type, parameters, 1);
+        return LutOperation.brightness(wholeNumber(parameters[0])).onPool(pool);
+      case CONTRAST:
+        ensureParameterCount(type, parameters, 1);
+        return LutOperation.contrast(parameters[0]).onPool(pool);
+      case GAMMA:
+        ensureParameterCount(type, parameters, 1);
+        return LutOperation.gamma(parameters[0]).onPool(pool);
+      case LEVELS:
+        ensureParameterCount(type, parameters, 2);
+        return LutOperation.levels(wholeNumber(parameters[0]), wholeNumber(parameters[1]))
+            .onPool(pool);
+      case CURVES:
+        if (parameters.length == 0 || parameters.length % 2 != 0) {
+          throw new IllegalArgumentException(
+              "CURVES needs an input and an output for each control point.");
+        }
+        int[] inputs = new int[parameters.length / 2];
+        int[] outputs = new int[parameters.length / 2];
+        for (int point = 0; point < inputs.length; point += 1) {
+          inputs[point] = wholeNumber(parameters[2 * point]);
+          outputs[point] = wholeNumber(parameters[2 * point + 1]);
+        }
+        return LutOperation.curves(inputs, outputs).onPool(pool);
+      case INVERT:
+        ensureParameterCount(type, parameters, 0);
+        return LutOperation.invert().onPool(pool);
+      case POSTERIZE:
+        ensureParameterCount(type, parameters, 1);
+        return LutOperation.posterize(wholeNumber(parameters[0])).onPool(pool);
+      case THRESHOLD:
+        ensureParameterCount(type, parameters, 1);
+        return LutOperation.threshold(wholeNumber(parameters[0])).onPool(pool);
+      default:
+        throw new IllegalArgumentException(type + " is not a color value adjustment.");
+    }
+  }
+
+  /**
+   * Checks that an adjustment was given the number of parameters it takes.
+   *
+   * @param type       the type of adjustment
+   * @param parameters the parameters given
+   * @param count      the number of parameters the adjustment takes
+   * @throws IllegalArgumentException if the wrong number of parameters was given
+   */
+  private static void ensureParameterCount(OperationType type, double[] parameters, int count)
+      throws IllegalArgumentException {
+    if (parameters.length != count) {
+      throw new IllegalArgumentException(type + " takes " + count + " parameter"
+          + (count == 1 ? "" : "s") + ".");
+    }
+  }
+
+  /**
+   * Converts a parameter that must be a whole number into an int.
+   *
+   * @param parameter the parameter
+   * @return the parameter as an int
+   * @throws IllegalArgumentException if the parameter is not a whole number that fits in an int
+   */
+  private static int wholeNumber(double parameter) throws IllegalArgumentException {
+    if (parameter != Math.rint(parameter) || Math.abs(parameter) > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Parameter must be a whole number: " + parameter);
+    }
+    return (int) parameter;
+  }
+
   /**
    * Represents the different types of default ImageOperation that can be created with the {@link
    * ImageOperationCreator} class.
    */
   public enum OperationType {
-    BLUR, SHARPEN, GREYSCALE, SEPIA;
+    BLUR, SHARPEN, GREYSCALE, SEPIA, BRIGHTNESS, CONTRAST, GAMMA, LEVELS, CURVES, INVERT,
+    POSTERIZE, THRESHOLD;
   }
 }
\ No newline at end of file
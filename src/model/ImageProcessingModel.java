@@ -1,5 +1,7 @@
 package model;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Encapsulates all different types of models. A model class that implements this interface imports,
  * exports, and processes different types of images. One example of the type of image file is .ppm
@@ -37,6 +39,21 @@ public interface ImageProcessingModel extends ImageProcessingModelState {
    */
   void setLayerImage(String layerName, Image image) throws IllegalArgumentException;
 
+  /**
+   * Sets (or changes) the image of the given layer, optionally handing the image over to the
+   * layer. A layer closes the images it owns that hold resources which must be released, such as
+   * the temporary file of a mapped image, once it no longer uses them.
+   *
+   * @param layerName the name of the layer the user wants to set the image of
+   * @param image     the image the user wants to set
+   * @param owned     whether the layer owns the image from now on, instead of the caller
+   * @throws IllegalArgumentException if either parameters are null or if the given image does not
+   *                                  match the dimensions of the images in other layers or if there
+   *                                  is no layer with the given name
+   */
+  void setLayerImage(String layerName, Image image, boolean owned)
+      throws IllegalArgumentException;
+
   /**
    * Change the visibility of the given layer (indicated by the name of it given as the parameter).
    *
@@ -59,6 +76,22 @@ public interface ImageProcessingModel extends ImageProcessingModelState {
    */
   void applyOperation(String layerName, ImageOperation operation) throws IllegalArgumentException;
 
+  /**
+   * Applies the image operation to the image of every layer that has one. The new images may be
+   * computed in parallel on a pool of threads, and the layers only change once every new image has
+   * been computed, so if the operation fails on any layer no layer is changed.
+   *
+   * @param operation the image operation the user wants to apply
+   * @param pool      the pool to compute the new images on, or null to compute them one after
+   *                  another on the calling thread
+   * @throws IllegalArgumentException if the operation is null or fails on the image of a layer
+   * @throws IllegalStateException    if the operation fails on the image of a layer, or if an image
+   *                                  the layers no longer use fails to be released after every
+   *                                  layer has been changed
+   */
+  void applyOperationToAll(ImageOperation operation, ForkJoinPool pool)
+      throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Removes the given layer (indicated by the name of it given as the parameter).
    *
@@ -2,6 +2,8 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * A implementation of the image processing model interface. The model manages the different layers
@@ -9,7 +11,7 @@ import java.util.List;
  */
 public class ImageProcessingModelImpl implements ImageProcessingModel {
 
-  private final List<Layer> layers;
+  private final List<Layer24Bit> layers;
   private String current;
 
   private static int layerIndexNum = 1;
@@ -37,7 +39,7 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
       name = "Layer" + layerIndexNum;
       layerIndexNum += 1;
     }
-    Layer layer = new Layer24Bit(name);
+    Layer24Bit layer = new Layer24Bit(name);
     layers.add(layer);
     current = name;
   }
@@ -55,6 +57,11 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
 
   @Override
   public void setLayerImage(String layerName, Image image) {
+    setLayerImage(layerName, image, false);
+  }
+
+  @Override
+  public void setLayerImage(String layerName, Image image, boolean owned) {
     if (layerName == null || image == null) {
       throw new IllegalArgumentException("Arguments cannot be null.");
     }
@@ -62,7 +69,12 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
       throw new IllegalArgumentException("No layer named " + layerName + ".");
     }
     ensureImageSize(image, layerName);
-    getLayer(layerName).setImage(image);
+    Layer24Bit layer = getLayer(layerName);
+    if (owned) {
+      layer.setOwnedImage(image);
+    } else {
+      layer.setImage(image);
+    }
   }
 
   @Override
@@ -87,6 +99,91 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
     getLayer(layerName).apply(operation);
   }
 
+  @Override
+  public void applyOperationToAll(ImageOperation operation, ForkJoinPool pool)
+      throws IllegalArgumentException, IllegalStateException {
+    if (operation == null) {
+      throw new IllegalArgumentException("Operation cannot be null.");
+    }
+
+    List<Layer24Bit> targets = new ArrayList<>();
+    for (Layer24Bit layer : layers) {
+      if (layer.getImage() != null) {
+        targets.add(layer);
+      }
+    }
+
+    Image[] results = new Image[targets.size()];
+    Throwable[] failures = new Throwable[targets.size()];
+    if (pool == null || targets.size() <= 1) {
+      for (int index = 0; index < targets.size(); index += 1) {
+        computeResult(operation, targets, results, failures, index);
+        if (failures[index] != null) {
+          break;
+        }
+      }
+    } else {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      for (int index = 0; index < targets.size(); index += 1) {
+        int layerIndex = index;
+        try {
+          tasks.add(pool.submit(
+              () -> computeResult(operation, targets, results, failures, layerIndex)));
+        } catch (RuntimeException e) {
+          failures[index] = e;
+          break;
+        }
+      }
+      // Wait for every image, even after a failure, so none is still being computed when the
+      // images that were computed are released
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+    }
+
+    Throwable failure = null;
+    for (int index = 0; index < failures.length && failure == null; index += 1) {
+      failure = failures[index];
+    }
+    if (failure != null) {
+      for (int index = 0; index < results.length; index += 1) {
+        try {
+          releaseResult(results[index], targets.get(index).getImage());
+        } catch (IllegalStateException e) {
+          failure.addSuppressed(e);
+        }
+      }
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw new IllegalStateException("The operation failed.", failure);
+    }
+
+    // Every layer takes its new image before any image is released, so a failure to release an
+    // image the layers no longer use leaves every layer changed
+    for (int index = 0; index < results.length; index += 1) {
+      targets.get(index).swapImage(results[index]);
+    }
+    IllegalStateException releaseFailure = null;
+    for (Layer24Bit layer : targets) {
+      try {
+        layer.releaseUnused();
+      } catch (IllegalStateException e) {
+        if (releaseFailure == null) {
+          releaseFailure = e;
+        } else {
+          releaseFailure.addSuppressed(e);
+        }
+      }
+    }
+    if (releaseFailure != null) {
+      throw releaseFailure;
+    }
+  }
+
   @Override
   public void removeLayer(String layerName) {
     if (layerName == null || !hasLayer(layerName)) {
@@ -178,8 +275,8 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
    * @return the layer with the given name.
    * @throws IllegalArgumentException if there is no layer that has the given name.
    */
-  private Layer getLayer(String name) {
-    for (Layer layer : layers) {
+  private Layer24Bit getLayer(String name) {
+    for (Layer24Bit layer : layers) {
       if (layer.getName().equals(name)) {
         return layer;
       }
@@ -187,6 +284,47 @@ public class ImageProcessingModelImpl implements ImageProcessingModel {
     throw new IllegalArgumentException("No layer named " + name + ".");
   }
 
+  /**
+   * Computes the image of a layer with an operation, recording what was thrown instead if the
+   * operation fails or produces no image. Errors are recorded too, so they are only thrown once
+   * every image has been computed.
+   *
+   * @param operation the operation to apply
+   * @param targets   the layers the operation is applied to
+   * @param results   the computed images, one for each layer
+   * @param failures  what the operation failed with, one for each layer
+   * @param index     the index of the layer to compute the image of
+   */
+  private static void computeResult(ImageOperation operation, List<Layer24Bit> targets,
+      Image[] results, Throwable[] failures, int index) {
+    try {
+      results[index] = targets.get(index).compute(operation);
+      if (results[index] == null) {
+        failures[index] = new IllegalStateException("The operation produced no image.");
+      }
+    } catch (Throwable e) {
+      failures[index] = e;
+    }
+  }
+
+  /**
+   * Releases an image computed for a layer that will not be used, if it holds resources that must
+   * be released and is not the current image of the layer.
+   *
+   * @param result   the computed image, or null if it was not computed
+   * @param original the current image of the layer
+   * @throws IllegalStateException if the image fails to be released
+   */
+  private static void releaseResult(Image result, Image original) throws IllegalStateException {
+    if (result instanceof AutoCloseable && !AbstractImageView.readsFrom(original, result)) {
+      try {
+        ((AutoCloseable) result).close();
+      } catch (Exception e) {
+        throw new IllegalStateException("Failed to release an unused image.", e);
+      }
+    }
+  }
+
   /**
    * Ensures that an image is the same size as the images in the other layers if there are images in
    * the other layers.
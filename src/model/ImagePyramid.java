@@ -0,0 +1,143 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A series of successively smaller copies of an image, each half the width and height of the one
+ * before it, rounded up, down to a single pixel. Level 0 is the image itself. Each level is the
+ * average of the pixels of the level before it that its pixels cover, so it is computed from a
+ * quarter as many pixels as the level before it. The levels are computed the first time they are
+ * needed and kept, so making the image smaller several times only reads the full image once.
+ *
+ * <p>The levels have the same representation as the image. Levels holding resources that must be
+ * released, such as the off-heap memory of a {@link DirectImage24Bit}, are released by {@link
+ * #close()}. The image itself still belongs to the caller and is never closed by the pyramid.
+ */
+public final class ImagePyramid implements AutoCloseable {
+
+  private final List<Image> levels;
+  private final int levelCount;
+
+  /**
+   * Constructs a new ImagePyramid of an image. No level besides the image is computed yet.
+   *
+   * @param image the image at level 0
+   * @throws IllegalArgumentException if the image is null
+   */
+  public ImagePyramid(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image cannot be null.");
+    }
+    this.levels = new ArrayList<>();
+    this.levels.add(image);
+    int count = 1;
+    for (int size = Math.max(image.getWidth(), image.getHeight()); size > 1; size = half(size)) {
+      count += 1;
+    }
+    this.levelCount = count;
+  }
+
+  /**
+   * Gets the number of levels of this pyramid, including the image itself.
+   *
+   * @return the number of levels
+   */
+  public int getLevelCount() {
+    return levelCount;
+  }
+
+  /**
+   * Gets a level of this pyramid, computing it and every smaller level before it that has not
+   * been computed yet.
+   *
+   * @param level the level, where 0 is the image itself
+   * @return the image at the level
+   * @throws IllegalArgumentException if the level is negative or not less than the number of
+   *                                  levels
+   * @throws IllegalStateException    if the pyramid has been closed
+   */
+  public synchronized Image getLevel(int level)
+      throws IllegalArgumentException, IllegalStateException {
+    if (level < 0 || level >= levelCount) {
+      throw new IllegalArgumentException("Level must be between 0 and " + (levelCount - 1) + ".");
+    }
+    if (levels.isEmpty()) {
+      throw new IllegalStateException("The pyramid has been closed.");
+    }
+    while (levels.size() <= level) {
+      Image previous = levels.get(levels.size() - 1);
+      int width = half(previous.getWidth());
+      int height = half(previous.getHeight());
+      levels.add(new Resampler(ResamplingMode.AREA, previous.getWidth(), previous.getHeight(),
+          width, height).apply(previous));
+    }
+    return levels.get(level);
+  }
+
+  /**
+   * Finds the smallest level of this pyramid that is at least a given size, which is the level an
+   * image of that size can be computed from with the least work and without losing detail.
+   *
+   * @param width  the smallest width of the level
+   * @param height the smallest height of the level
+   * @return the smallest level at least the size, or 0 if the image itself is smaller
+   */
+  public int findLevel(int width, int height) {
+    Image image = getLevel(0);
+    int levelWidth = image.getWidth();
+    int levelHeight = image.getHeight();
+    int level = 0;
+    while (level + 1 < levelCount && half(levelWidth) >= width && half(levelHeight) >= height) {
+      levelWidth = half(levelWidth);
+      levelHeight = half(levelHeight);
+      level += 1;
+    }
+    return level;
+  }
+
+  /**
+   * Releases the resources of every level this pyramid computed that holds resources that must be
+   * released. Every level is released even if releasing another one fails. The pyramid can no
+   * longer be used after it is closed, even if releasing a level failed.
+   *
+   * @throws IllegalStateException if a level fails to be released
+   */
+  @Override
+  public synchronized void close() throws IllegalStateException {
+    IllegalStateException failure = null;
+    try {
+      for (int level = 1; level < levels.size(); level += 1) {
+        Image image = levels.get(level);
+        if (image instanceof AutoCloseable) {
+          try {
+            ((AutoCloseable) image).close();
+          } catch (Exception e) {
+            IllegalStateException closeFailure =
+                new IllegalStateException("Failed to release a level of the pyramid.", e);
+            if (failure == null) {
+              failure = closeFailure;
+            } else {
+              failure.addSuppressed(closeFailure);
+            }
+          }
+        }
+      }
+    } finally {
+      levels.clear();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Halves the width or height of a level, rounding up so no pixel of the level is left out.
+   *
+   * @param size the width or height of a level
+   * @return the width or height of the next level
+   */
+  private static int half(int size) {
+    return (size + 1) / 2;
+  }
+}
@@ -0,0 +1,167 @@
+package model;
+
+/**
+ * A summed-area table of an image. For every color channel it stores the sum of the color values
+ * of all the pixels above and to the left of each position, so that the sum or average of the
+ * color values in any rectangular region of the image can be found by reading four of the sums,
+ * however large the region is. Building the table reads every pixel of the image once.
+ *
+ * <p>The sums are stored as {@code long} values, so they never overflow. Each channel is stored in
+ * one array with a sum for every pixel plus an extra row and column, so images whose table does not
+ * fit in one array cannot be summed. An IntegralImage does not change after it is built, so it can
+ * be shared between threads.
+ */
+public final class IntegralImage {
+
+  private final int width;
+  private final int height;
+  // The sums of each channel, stored row by row with an extra row and column of zeros at the top
+  // and left, so the sum above and to the left of pixel (row, col) is at (row + 1, col + 1)
+  private final long[] red;
+  private final long[] green;
+  private final long[] blue;
+
+  /**
+   * Builds the summed-area table of an image.
+   *
+   * @param image the image to sum
+   * @throws IllegalArgumentException if the image is null or too large for its table to fit in one
+   *                                  array
+   */
+  public IntegralImage(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    long size = ((long) width + 1) * ((long) height + 1);
+    if (size > PackedImageBuilder.MAX_ARRAY_LENGTH) {
+      throw new IllegalArgumentException("Image is too large to sum.");
+    }
+    int stride = width + 1;
+    this.red = new long[(int) size];
+    this.green = new long[(int) size];
+    this.blue = new long[(int) size];
+
+    int[] rgbRow = new int[width];
+    for (int row = 0; row < height; row += 1) {
+      image.getRgbRow(row, rgbRow, 0);
+      long redRow = 0;
+      long greenRow = 0;
+      long blueRow = 0;
+      int above = row * stride + 1;
+      int index = above + stride;
+      for (int col = 0; col < width; col += 1) {
+        int rgb = rgbRow[col];
+        redRow += (rgb >> 16) & 0xFF;
+        greenRow += (rgb >> 8) & 0xFF;
+        blueRow += rgb & 0xFF;
+        red[index + col] = red[above + col] + redRow;
+        green[index + col] = green[above + col] + greenRow;
+        blue[index + col] = blue[above + col] + blueRow;
+      }
+    }
+  }
+
+  /**
+   * Gets the width of the image that was summed.
+   *
+   * @return the width in pixels
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the image that was summed.
+   *
+   * @return the height in pixels
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the sum of the color values of one channel in a rectangular region of the image.
+   *
+   * @param channel the channel to sum
+   * @param row     the top row of the region
+   * @param col     the left column of the region
+   * @param width   the width of the region
+   * @param height  the height of the region
+   * @return the sum of the color values in the region
+   * @throws IllegalArgumentException if the channel is null or the region is not inside the image
+   */
+  public long getSum(ColorChannel channel, int row, int col, int width, int height)
+      throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel must not be null.");
+    }
+    ensureValidRegion(row, col, width, height);
+    switch (channel) {
+      case RED:
+        return sum(red, row, col, width, height);
+      case GREEN:
+        return sum(green, row, col, width, height);
+      default:
+        return sum(blue, row, col, width, height);
+    }
+  }
+
+  /**
+   * Gets the average color of a rectangular region of the image. Each channel is averaged
+   * separately and truncated to a whole number.
+   *
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @return the packed RGB value of the average color
+   * @throws IllegalArgumentException if the region is empty or not inside the image
+   */
+  public int getAverageRgb(int row, int col, int width, int height)
+      throws IllegalArgumentException {
+    ensureValidRegion(row, col, width, height);
+    if (width == 0 || height == 0) {
+      throw new IllegalArgumentException("Region must not be empty.");
+    }
+    long count = (long) width * height;
+    return (int) (sum(red, row, col, width, height) / count) << 16
+        | (int) (sum(green, row, col, width, height) / count) << 8
+        | (int) (sum(blue, row, col, width, height) / count);
+  }
+
+  /**
+   * Adds up the values of one channel in a region that is known to be inside the image.
+   *
+   * @param sums   the summed-area table of the channel
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @return the sum of the color values in the region
+   */
+  private long sum(long[] sums, int row, int col, int width, int height) {
+    int stride = this.width + 1;
+    int topLeft = row * stride + col;
+    int bottomLeft = topLeft + height * stride;
+    return sums[bottomLeft + width] - sums[bottomLeft] - sums[topLeft + width] + sums[topLeft];
+  }
+
+  /**
+   * Checks that a region is inside the image.
+   *
+   * @param row    the top row of the region
+   * @param col    the left column of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @throws IllegalArgumentException if the region is not inside the image
+   */
+  private void ensureValidRegion(int row, int col, int width, int height)
+      throws IllegalArgumentException {
+    if (row < 0 || col < 0 || width < 0 || height < 0 || row > this.height - height
+        || col > this.width - width) {
+      throw new IllegalArgumentException("Region must be inside the image.");
+    }
+  }
+}
@@ -51,6 +51,15 @@ public interface Layer {
    */
   Image getImage();
 
+  /**
+   * Gets the pyramid of successively smaller copies of the image of the layer. The pyramid is
+   * computed when it is first needed and kept until the image of the layer changes.
+   *
+   * @return the pyramid of the image of the layer
+   * @throws IllegalStateException if the image of the layer is null
+   */
+  ImagePyramid getPyramid() throws IllegalStateException;
+
   /**
    * Returns the visibility state of the layer.
    *
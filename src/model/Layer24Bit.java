@@ -1,15 +1,34 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Represents the layer in 24 bits. Each layer, by default, follows the naming conventions of
  * "Layer <i>n</i>" when constructed, but the client always has the option to change the name of the
  * layer. The client is allowed to apply any available operation(s) onto this layer.
+ *
+ * <p>Images produced by applying operations to a layer belong to the layer. When such an image is
+ * no longer used by the layer and it holds resources that must be released, such as the off-heap
+ * memory of a {@link DirectImage24Bit}, the layer closes it. An image is still used as long as the
+ * current image of the layer is a view that reads from it. Images given to the layer with {@link
+ * #setImage(Image)} still belong to the caller and are never closed by the layer.
+ *
+ * <p>The {@link ImagePyramid} of the image is kept between calls to {@link #getPyramid()}, so
+ * smaller copies of an unchanged image are only computed once. It is closed when the image of the
+ * layer changes. A {@link DownscaleOperation} that is {@link DownscaleOperation#isFromPyramid()
+ * from the pyramid} is applied to the pyramid of the image instead of to the image.
  */
 public class Layer24Bit implements Layer {
 
   private String name;
   private Image image;
   private boolean isVisible;
+  private final List<Image> ownedImages;
+  // The image last given to the layer with setImage, while the image of the layer reads from it
+  private Image givenImage;
+  private ImagePyramid pyramid;
 
   /**
    * Constructs and {@code Layer24Bit} object with a specific name.
@@ -23,6 +42,9 @@ public class Layer24Bit implements Layer {
     this.name = name;
     this.image = null;
     this.isVisible = true;
+    this.ownedImages = new ArrayList<>();
+    this.givenImage = null;
+    this.pyramid = null;
   }
 
   @Override
@@ -35,7 +57,80 @@ public class Layer24Bit implements Layer {
     if (image == null) {
       throw new IllegalArgumentException("The image cannot be null!");
     }
-    this.image = image;
+    replaceImage(image, false);
+  }
+
+  /**
+   * Sets the image of the layer and takes ownership of it, so the layer closes it once it no longer
+   * uses it, like the images produced by applying operations to the layer.
+   *
+   * @param image the image to set the layer with
+   * @throws IllegalArgumentException if the image is null
+   */
+  void setOwnedImage(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("The image cannot be null!");
+    }
+    replaceImage(image, true);
+  }
+
+  /**
+   * Sets the image of this layer to an image already computed from it by an operation, taking
+   * ownership of it, without releasing anything the layer no longer uses. This cannot fail, so the
+   * images of several layers can be replaced together before {@link #releaseUnused()} is called on
+   * each of them.
+   *
+   * @param result the image computed from the image of this layer
+   * @throws IllegalArgumentException if the image is null
+   */
+  void swapImage(Image result) throws IllegalArgumentException {
+    if (result == null) {
+      throw new IllegalArgumentException("The image cannot be null!");
+    }
+    installImage(result, true);
+  }
+
+  /**
+   * Closes the pyramid of a previous image of this layer and every image produced by this layer
+   * that the image of the layer no longer reads from and that holds resources that must be
+   * released. Every such image is closed even if closing another one fails.
+   *
+   * @throws IllegalStateException if the pyramid or an image fails to be released
+   */
+  void releaseUnused() throws IllegalStateException {
+    IllegalStateException failure = null;
+    if (pyramid != null && pyramid.getLevel(0) != image) {
+      ImagePyramid unused = pyramid;
+      pyramid = null;
+      try {
+        unused.close();
+      } catch (IllegalStateException e) {
+        failure = e;
+      }
+    }
+    Iterator<Image> iterator = ownedImages.iterator();
+    while (iterator.hasNext()) {
+      Image ownedImage = iterator.next();
+      if (!AbstractImageView.readsFrom(image, ownedImage)) {
+        iterator.remove();
+        if (ownedImage instanceof AutoCloseable) {
+          try {
+            ((AutoCloseable) ownedImage).close();
+          } catch (Exception e) {
+            IllegalStateException closeFailure =
+                new IllegalStateException("Failed to release the previous image.", e);
+            if (failure == null) {
+              failure = closeFailure;
+            } else {
+              failure.addSuppressed(closeFailure);
+            }
+          }
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
   }
 
   @Override
@@ -43,6 +138,18 @@ public class Layer24Bit implements Layer {
     return image;
   }
 
+  @Override
+  public ImagePyramid getPyramid() throws IllegalStateException {
+    if (image == null) {
+      throw new IllegalStateException("The image right now is null!");
+    }
+    if (pyramid == null || pyramid.getLevel(0) != image) {
+      releaseUnused();
+      pyramid = new ImagePyramid(image);
+    }
+    return pyramid;
+  }
+
   @Override
   public void apply(ImageOperation operation) {
     if (image == null) {
@@ -51,7 +158,26 @@ public class Layer24Bit implements Layer {
     if (operation == null) {
       throw new IllegalArgumentException("Image operation cannot be null");
     }
-    image = operation.apply(image);
+    replaceImage(compute(operation), true);
+  }
+
+  /**
+   * Computes the result of applying an operation to the image of this layer without changing the
+   * layer. A downscale operation from the pyramid is applied to the pyramid of the image.
+   *
+   * @param operation the operation to apply
+   * @return the computed image
+   * @throws IllegalStateException if the image of the layer is null
+   */
+  Image compute(ImageOperation operation) throws IllegalStateException {
+    if (operation instanceof DownscaleOperation
+        && ((DownscaleOperation) operation).isFromPyramid()) {
+      return ((DownscaleOperation) operation).apply(getPyramid());
+    }
+    if (image == null) {
+      throw new IllegalStateException("The image right now is null!");
+    }
+    return operation.apply(image);
   }
 
   @Override
@@ -71,4 +197,45 @@ public class Layer24Bit implements Layer {
     }
     this.name = name;
   }
+
+  /**
+   * Replaces the image of this layer, closing every image produced by this layer that the new image
+   * no longer reads from and that holds resources that must be released, along with the pyramid
+   * of the previous image.
+   *
+   * @param newImage the new image of the layer
+   * @param owned    whether the new image was produced by this layer
+   * @throws IllegalStateException if the pyramid or an image fails to be released
+   */
+  private void replaceImage(Image newImage, boolean owned) throws IllegalStateException {
+    installImage(newImage, owned);
+    releaseUnused();
+  }
+
+  /**
+   * Sets the image of this layer and records whether the layer owns it, without releasing anything.
+   * An image that comes out of an operation is not owned by the layer if the image last given to
+   * the layer is, or reads from, that image.
+   *
+   * @param newImage the new image of the layer
+   * @param owned    whether the new image was produced by this layer
+   */
+  private void installImage(Image newImage, boolean owned) {
+    image = newImage;
+    boolean alreadyOwned = false;
+    for (Image ownedImage : ownedImages) {
+      alreadyOwned = alreadyOwned || ownedImage == newImage;
+    }
+    // An operation can return the image it was applied to, or an image that a view it was applied
+    // to reads from, which may be an image given to the layer that the layer must never close
+    boolean given = givenImage != null && AbstractImageView.readsFrom(givenImage, newImage);
+    if (owned && !alreadyOwned && !given) {
+      ownedImages.add(newImage);
+    }
+    if (!owned) {
+      givenImage = newImage;
+    } else if (givenImage != null && !AbstractImageView.readsFrom(newImage, givenImage)) {
+      givenImage = null;
+    }
+  }
 }
@@ -0,0 +1,406 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents an image processing operation that changes each color value of an image on its own,
+ * by looking up the new value for every possible value of its channel in a table. Adjustments such
+ * as brightness, contrast, gamma, levels, curves, inverting, posterizing, and thresholding are all
+ * functions of a single color value, so each is computed once for the 256 possible values when the
+ * operation is created, and applying it to an image costs three table lookups per pixel.
+ *
+ * <p>Applying one LutOperation after another is the same as applying a single LutOperation whose
+ * tables look up each value in the first tables and then in the second, so a sequence of these
+ * operations can be combined with {@link #andThen(LutOperation)} and applied in one pass.
+ *
+ * <p>An operation with a pool looks up bands of whole rows of tiles in parallel, which gives the
+ * same image as looking them up on a single thread.
+ */
+public class LutOperation implements ImageOperation {
+
+  // The number of entries in a table, one for every possible color value
+  private static final int TABLE_SIZE = Image24Bit.MAX_VALUE + 1;
+
+  // The new color value of each channel for every old value, shifted into its position in a packed
+  // RGB value
+  private final int[] redTable;
+  private final int[] greenTable;
+  private final int[] blueTable;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a new LutOperation that looks up the values of every channel in the same table.
+   *
+   * @param table the new color value for each of the 256 possible color values
+   * @throws IllegalArgumentException if the table is null, does not have 256 entries, or has a
+   *                                  value outside of the range of color values
+   */
+  public LutOperation(int[] table) throws IllegalArgumentException {
+    this(table, table, table);
+  }
+
+  /**
+   * Constructs a new LutOperation with a separate table for each channel.
+   *
+   * @param red   the new red value for each of the 256 possible red values
+   * @param green the new green value for each of the 256 possible green values
+   * @param blue  the new blue value for each of the 256 possible blue values
+   * @throws IllegalArgumentException if any table is null, does not have 256 entries, or has a
+   *                                  value outside of the range of color values
+   */
+  public LutOperation(int[] red, int[] green, int[] blue) throws IllegalArgumentException {
+    this(red, green, blue, null);
+  }
+
+  /**
+   * Constructs a new LutOperation with a separate table for each channel that looks up bands of
+   * rows in parallel.
+   *
+   * @param red   the new red value for each of the 256 possible red values
+   * @param green the new green value for each of the 256 possible green values
+   * @param blue  the new blue value for each of the 256 possible blue values
+   * @param pool  the pool to look up bands of rows on, or null to look them up on the calling
+   *              thread
+   * @throws IllegalArgumentException if any table is null, does not have 256 entries, or has a
+   *                                  value outside of the range of color values
+   */
+  public LutOperation(int[] red, int[] green, int[] blue, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    this.redTable = shiftedTable(red, 16);
+    this.greenTable = shiftedTable(green, 8);
+    this.blueTable = shiftedTable(blue, 0);
+    this.pool = pool;
+  }
+
+  /**
+   * Constructs a new LutOperation from tables that were already checked and shifted.
+   *
+   * @param other the operation whose tables are used
+   * @param pool  the pool to look up bands of rows on, or null to look them up on the calling
+   *              thread
+   */
+  private LutOperation(LutOperation other, ForkJoinPool pool) {
+    this.redTable = other.redTable;
+    this.greenTable = other.greenTable;
+    this.blueTable = other.blueTable;
+    this.pool = pool;
+  }
+
+  /**
+   * Creates an operation with the same tables as this one that looks up bands of rows on a pool.
+   *
+   * @param pool the pool to look up bands of rows on, or null to look them up on the calling thread
+   * @return the operation
+   */
+  public LutOperation onPool(ForkJoinPool pool) {
+    return new LutOperation(this, pool);
+  }
+
+  /**
+   * Gets the new color value this operation gives to a color value of a channel.
+   *
+   * @param channel the channel of the color value
+   * @param value   the old color value
+   * @return the new color value
+   * @throws IllegalArgumentException if the channel is null or the value is outside of the range
+   *                                  of color values
+   */
+  public int lookup(ColorChannel channel, int value) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel must not be null.");
+    }
+    if (value < Image24Bit.MIN_VALUE || value > Image24Bit.MAX_VALUE) {
+      throw new IllegalArgumentException("Color value must be between 0 and 255.");
+    }
+    switch (channel) {
+      case RED:
+        return redTable[value] >> 16;
+      case GREEN:
+        return greenTable[value] >> 8;
+      default:
+        return blueTable[value];
+    }
+  }
+
+  /**
+   * Combines this operation with another one into a single operation that gives the same result as
+   * applying this operation and then the other one. The combined operation uses the pool of this
+   * operation.
+   *
+   * @param next the operation to apply after this one
+   * @return the combined operation
+   * @throws IllegalArgumentException if the other operation is null
+   */
+  public LutOperation andThen(LutOperation next) throws IllegalArgumentException {
+    if (next == null) {
+      throw new IllegalArgumentException("Operation must not be null.");
+    }
+    int[] red = new int[TABLE_SIZE];
+    int[] green = new int[TABLE_SIZE];
+    int[] blue = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      red[value] = next.redTable[redTable[value] >> 16] >> 16;
+      green[value] = next.greenTable[greenTable[value] >> 8] >> 8;
+      blue[value] = next.blueTable[blueTable[value]];
+    }
+    return new LutOperation(red, green, blue, pool);
+  }
+
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int tileWidth = Math.min(width, image.getTileWidth());
+    int tileHeight = Math.min(height, image.getTileHeight());
+    ImageBuilder builder = image.builder(width, height);
+
+    RowBands.forEach(pool, height, tileHeight, (top, bottom) -> {
+      int[] rgbTile = new int[tileWidth * tileHeight];
+      for (int tileRow = top; tileRow < bottom; tileRow += tileHeight) {
+        for (int tileCol = 0; tileCol < width; tileCol += tileWidth) {
+          int regionWidth = Math.min(tileWidth, width - tileCol);
+          int regionHeight = Math.min(tileHeight, bottom - tileRow);
+          image.getRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+          lookup(rgbTile, regionWidth * regionHeight);
+          builder.setRgbRegion(tileRow, tileCol, regionWidth, regionHeight, rgbTile, 0);
+        }
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Looks up the new colors of a block of packed RGB values in place.
+   *
+   * @param rgb   the packed RGB values to change
+   * @param count the number of values to change
+   */
+  private void lookup(int[] rgb, int count) {
+    int[] red = redTable;
+    int[] green = greenTable;
+    int[] blue = blueTable;
+    for (int index = 0; index < count; index += 1) {
+      int pixel = rgb[index];
+      rgb[index] = red[(pixel >> 16) & 0xFF] | green[(pixel >> 8) & 0xFF] | blue[pixel & 0xFF];
+    }
+  }
+
+  /**
+   * Creates an operation that adds the same amount to every color value.
+   *
+   * @param amount the amount to add, which is negative to darken the image
+   * @return the operation
+   */
+  public static LutOperation brightness(int amount) {
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = clamp((long) value + amount);
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that moves every color value away from or toward the middle value 128.
+   *
+   * @param factor how much to multiply the distance from the middle by, which is less than 1 to
+   *               lower the contrast and more than 1 to raise it
+   * @return the operation
+   * @throws IllegalArgumentException if the factor is negative or not a number
+   */
+  public static LutOperation contrast(double factor) throws IllegalArgumentException {
+    if (!(factor >= 0)) {
+      throw new IllegalArgumentException("Contrast factor must not be negative.");
+    }
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = clamp(Math.round((value - 128) * factor + 128));
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that applies gamma correction to every color value, so that a value that
+   * is the fraction f of the largest value becomes the fraction f to the power of 1 / gamma.
+   *
+   * @param gamma the gamma, which is more than 1 to brighten the middle values and less than 1 to
+   *              darken them
+   * @return the operation
+   * @throws IllegalArgumentException if the gamma is not positive
+   */
+  public static LutOperation gamma(double gamma) throws IllegalArgumentException {
+    if (!(gamma > 0)) {
+      throw new IllegalArgumentException("Gamma must be positive.");
+    }
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      double fraction = (double) value / Image24Bit.MAX_VALUE;
+      table[value] = clamp(Math.round(Image24Bit.MAX_VALUE * Math.pow(fraction, 1 / gamma)));
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that stretches the color values between a black point and a white point
+   * over the whole range of color values. Values at or below the black point become 0 and values
+   * at or above the white point become 255.
+   *
+   * @param black the color value that becomes 0
+   * @param white the color value that becomes 255
+   * @return the operation
+   * @throws IllegalArgumentException if the points are outside of the range of color values or
+   *                                  the black point is not below the white point
+   */
+  public static LutOperation levels(int black, int white) throws IllegalArgumentException {
+    if (black < Image24Bit.MIN_VALUE || white > Image24Bit.MAX_VALUE || black >= white) {
+      throw new IllegalArgumentException(
+          "Levels must be between 0 and 255 with the black point below the white point.");
+    }
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = clamp(Math.round((value - black) * (double) Image24Bit.MAX_VALUE
+          / (white - black)));
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that maps color values along a curve through control points, joining
+   * each pair of neighboring points with a straight line. Values before the first point take the
+   * output of the first point and values after the last point take the output of the last point.
+   *
+   * @param inputs  the old color value of each point, in increasing order
+   * @param outputs the new color value of each point
+   * @return the operation
+   * @throws IllegalArgumentException if either array is null, they have different lengths, there
+   *                                  are no points, the inputs are not increasing, or any value is
+   *                                  outside of the range of color values
+   */
+  public static LutOperation curves(int[] inputs, int[] outputs) throws IllegalArgumentException {
+    if (inputs == null || outputs == null) {
+      throw new IllegalArgumentException("Curve points must not be null.");
+    }
+    if (inputs.length == 0 || inputs.length != outputs.length) {
+      throw new IllegalArgumentException("A curve needs an output for each of its inputs.");
+    }
+    for (int point = 0; point < inputs.length; point += 1) {
+      if (inputs[point] < Image24Bit.MIN_VALUE || inputs[point] > Image24Bit.MAX_VALUE
+          || outputs[point] < Image24Bit.MIN_VALUE || outputs[point] > Image24Bit.MAX_VALUE) {
+        throw new IllegalArgumentException("Curve points must be between 0 and 255.");
+      }
+      if (point > 0 && inputs[point] <= inputs[point - 1]) {
+        throw new IllegalArgumentException("Curve inputs must be in increasing order.");
+      }
+    }
+
+    int[] table = new int[TABLE_SIZE];
+    int point = 0;
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      while (point < inputs.length && inputs[point] < value) {
+        point += 1;
+      }
+      if (point == 0) {
+        table[value] = outputs[0];
+      } else if (point == inputs.length) {
+        table[value] = outputs[inputs.length - 1];
+      } else {
+        double fraction = (double) (value - inputs[point - 1])
+            / (inputs[point] - inputs[point - 1]);
+        table[value] = (int) Math.round(outputs[point - 1]
+            + fraction * (outputs[point] - outputs[point - 1]));
+      }
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that inverts every color value, making a negative of the image.
+   *
+   * @return the operation
+   */
+  public static LutOperation invert() {
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = Image24Bit.MAX_VALUE - value;
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that rounds every color value to the closest of a number of evenly spaced
+   * levels, which always include 0 and 255.
+   *
+   * @param levels the number of levels each channel is reduced to
+   * @return the operation
+   * @throws IllegalArgumentException if the number of levels is not between 2 and 256
+   */
+  public static LutOperation posterize(int levels) throws IllegalArgumentException {
+    if (levels < 2 || levels > TABLE_SIZE) {
+      throw new IllegalArgumentException("Number of levels must be between 2 and 256.");
+    }
+    double step = (double) Image24Bit.MAX_VALUE / (levels - 1);
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = clamp(Math.round(Math.round(value / step) * step));
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Creates an operation that turns every color value at or above a level into 255 and every
+   * other color value into 0.
+   *
+   * @param level the smallest color value that becomes 255
+   * @return the operation
+   * @throws IllegalArgumentException if the level is not between 0 and 256
+   */
+  public static LutOperation threshold(int level) throws IllegalArgumentException {
+    if (level < Image24Bit.MIN_VALUE || level > TABLE_SIZE) {
+      throw new IllegalArgumentException("Threshold must be between 0 and 256.");
+    }
+    int[] table = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      table[value] = value >= level ? Image24Bit.MAX_VALUE : Image24Bit.MIN_VALUE;
+    }
+    return new LutOperation(table);
+  }
+
+  /**
+   * Clamps a computed color value to the range of color values.
+   *
+   * @param value the computed value
+   * @return the closest color value
+   */
+  private static int clamp(long value) {
+    return (int) Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, value));
+  }
+
+  /**
+   * Checks a table and copies it with every value shifted into the position of its channel.
+   *
+   * @param table the table to copy
+   * @param shift the position of the channel in a packed RGB value
+   * @return the shifted copy of the table
+   * @throws IllegalArgumentException if the table is null, does not have 256 entries, or has a
+   *                                  value outside of the range of color values
+   */
+  private static int[] shiftedTable(int[] table, int shift) throws IllegalArgumentException {
+    if (table == null) {
+      throw new IllegalArgumentException("Table must not be null.");
+    }
+    if (table.length != TABLE_SIZE) {
+      throw new IllegalArgumentException("Table must have an entry for each of the 256 values.");
+    }
+    int[] shifted = new int[TABLE_SIZE];
+    for (int value = 0; value < TABLE_SIZE; value += 1) {
+      if (table[value] < Image24Bit.MIN_VALUE || table[value] > Image24Bit.MAX_VALUE) {
+        throw new IllegalArgumentException("Table values must be between 0 and 255.");
+      }
+      shifted[value] = table[value] << shift;
+    }
+    return shifted;
+  }
+}
@@ -0,0 +1,185 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a 24-bit image whose pixels are stored in a file that is mapped into memory. The file
+ * holds 3 bytes for the red, green, and blue values of each pixel, stored row by row from the top
+ * to the bottom of the image with no header. The operating system only keeps the parts of the file
+ * that are being used in memory, so images much larger than the available memory can be processed
+ * as long as they are read a few rows or tiles at a time.
+ *
+ * <p>Images built by operations applied to a MappedImage24Bit are also stored in mapped files,
+ * which are temporary files that are deleted when the image is closed. MappedImage24Bits are
+ * otherwise immutable.
+ */
+public class MappedImage24Bit extends DirectImage24Bit {
+
+  private final Path file;
+  private final boolean temporary;
+
+  /**
+   * Constructs a new MappedImage24Bit by mapping an existing file holding the pixels of an image.
+   * The file is never modified or deleted by the image.
+   *
+   * @param file   the file holding the pixels of the image
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the file is null, if the width or height are not
+   *                                  positive, or if the size of the file does not match the size
+   *                                  of the image
+   * @throws IOException              if the file cannot be mapped
+   */
+  public MappedImage24Bit(Path file, int width, int height)
+      throws IllegalArgumentException, IOException {
+    this(width, height, map(checkedFile(file, width, height), width, height, MapMode.READ_ONLY),
+        file, false);
+  }
+
+  /**
+   * Constructs a new MappedImage24Bit that takes ownership of buffers mapped from a file.
+   *
+   * @param width     the width of the image in pixels
+   * @param height    the height of the image in pixels
+   * @param buffers   the buffers mapped from the file
+   * @param file      the file holding the pixels of the image
+   * @param temporary whether the file should be deleted when the image is closed
+   */
+  MappedImage24Bit(int width, int height, ByteBuffer[] buffers, Path file, boolean temporary) {
+    super(width, height, buffers);
+    this.file = file;
+    this.temporary = temporary;
+  }
+
+  /**
+   * Gets the file that holds the pixels of this image.
+   *
+   * @return the path to the file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    if (rgb == null) {
+      throw new IllegalArgumentException("RGB values must not be null.");
+    }
+    PackedImage24Bit.ensureValidSize(width, height, rgb.length);
+    ImageBuilder builder = builder(width, height);
+    builder.setRgbRegion(0, 0, width, height, rgb, 0);
+    return builder.build();
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return MappedImageBuilder.temporary(width, height);
+  }
+
+  /**
+   * Releases the mapping of the file holding the pixels of this image, and deletes the file if it
+   * is a temporary file created for the result of an operation. Closing an image more than once has
+   * no effect.
+   */
+  @Override
+  public void close() {
+    if (isClosed()) {
+      return;
+    }
+    super.close();
+    if (temporary) {
+      deleteTemporaryFile(file);
+    }
+  }
+
+  /**
+   * Leaves the mapped buffers of this image to the garbage collector, which unmaps them, since
+   * they hold the contents of a file and cannot be reused for other images.
+   *
+   * @param released the buffers that held the pixels of this image
+   */
+  @Override
+  void releaseBuffers(ByteBuffer[] released) {
+    // Mapped buffers are never returned to the pool of direct buffers
+  }
+
+  /**
+   * Maps the buffers holding an image from a file. The buffers are laid out the same way as the
+   * buffers from {@link DirectImage24Bit#allocate(int, int)}, and the file is grown to the size of
+   * the image if it is mapped for writing.
+   *
+   * @param file   the file to map
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param mode   whether to map the file for reading or for writing
+   * @return the buffers that together hold every row of the image
+   * @throws IllegalArgumentException if the width or height are not positive
+   * @throws IOException              if the file cannot be mapped
+   */
+  static ByteBuffer[] map(Path file, int width, int height, MapMode mode)
+      throws IllegalArgumentException, IOException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    int rowsPerBuffer = rowsPerBuffer(width);
+    int count = (height + rowsPerBuffer - 1) / rowsPerBuffer;
+    ByteBuffer[] buffers = new ByteBuffer[count];
+    StandardOpenOption[] options = mode == MapMode.READ_ONLY
+        ? new StandardOpenOption[]{StandardOpenOption.READ}
+        : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE};
+    try (FileChannel channel = FileChannel.open(file, options)) {
+      long position = 0;
+      for (int index = 0; index < count; index += 1) {
+        int rows = Math.min(rowsPerBuffer, height - index * rowsPerBuffer);
+        long size = (long) rows * width * BYTES_PER_PIXEL;
+        buffers[index] = channel.map(mode, position, size);
+        position += size;
+      }
+    }
+    return buffers;
+  }
+
+  /**
+   * Deletes a temporary file holding the pixels of an image. If the file cannot be deleted yet,
+   * for example because the operating system does not allow deleting files that are still mapped,
+   * it is deleted when the program exits instead.
+   *
+   * @param file the file to delete
+   */
+  static void deleteTemporaryFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      file.toFile().deleteOnExit();
+    }
+  }
+
+  /**
+   * Checks that a file exists and has the right size to hold an image.
+   *
+   * @param file   the file holding the pixels of the image
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @return the same file for convenience
+   * @throws IllegalArgumentException if the file is null or does not have the right size
+   * @throws IOException              if the size of the file cannot be read
+   */
+  private static Path checkedFile(Path file, int width, int height)
+      throws IllegalArgumentException, IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File must not be null.");
+    }
+    if (Files.size(file) != (long) width * height * BYTES_PER_PIXEL) {
+      throw new IllegalArgumentException("File does not hold a " + width + "x" + height
+          + " image.");
+    }
+    return file;
+  }
+}
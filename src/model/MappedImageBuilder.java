@@ -0,0 +1,137 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds a {@link MappedImage24Bit} by writing pixels into a file that is mapped into memory. The
+ * mapping is handed to the image without being copied when the image is built, so an image larger
+ * than the available memory can be built as long as it is written a few rows or tiles at a time.
+ */
+public class MappedImageBuilder extends DirectImageBuilder {
+
+  // The temporary files of builders that have not built their image yet. An operation can fail
+  // after creating a builder, so these files are deleted when the program exits
+  private static final Set<Path> UNBUILT_FILES = new HashSet<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(MappedImageBuilder::deleteUnbuiltFiles));
+  }
+
+  private final Path file;
+  private final boolean temporary;
+
+  /**
+   * Constructs a new MappedImageBuilder that writes an image into a file. The file is created if it
+   * does not exist, and it is not deleted when the built image is closed.
+   *
+   * @param file   the file to write the pixels of the image into
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the file is null or if the width or height are not
+   *                                  positive
+   * @throws IOException              if the file cannot be mapped
+   */
+  public MappedImageBuilder(Path file, int width, int height)
+      throws IllegalArgumentException, IOException {
+    this(file, width, height, false);
+  }
+
+  /**
+   * Constructs a new MappedImageBuilder that writes an image into a file.
+   *
+   * @param file      the file to write the pixels of the image into
+   * @param width     the width of the image in pixels
+   * @param height    the height of the image in pixels
+   * @param temporary whether the file should be deleted when the built image is closed
+   * @throws IllegalArgumentException if the file is null or if the width or height are not
+   *                                  positive
+   * @throws IOException              if the file cannot be mapped
+   */
+  private MappedImageBuilder(Path file, int width, int height, boolean temporary)
+      throws IllegalArgumentException, IOException {
+    super(width, height, MappedImage24Bit.map(checkedFile(file), width, height,
+        MapMode.READ_WRITE));
+    this.file = file;
+    this.temporary = temporary;
+  }
+
+  /**
+   * Creates a new MappedImageBuilder that writes an image into a new temporary file. The file is
+   * deleted when the built image is closed, so the image should be closed once it is no longer
+   * needed. If no image is ever built, the file is deleted when the program exits.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @return the new builder
+   * @throws IllegalArgumentException if the width or height are not positive
+   * @throws IllegalStateException    if the temporary file cannot be created
+   */
+  public static MappedImageBuilder temporary(int width, int height)
+      throws IllegalArgumentException, IllegalStateException {
+    DirectImage24Bit.rowsPerBuffer(width);
+    if (height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    Path file = null;
+    try {
+      file = Files.createTempFile("image", ".rgb");
+      MappedImageBuilder builder = new MappedImageBuilder(file, width, height, true);
+      synchronized (UNBUILT_FILES) {
+        UNBUILT_FILES.add(file);
+      }
+      return builder;
+    } catch (IOException e) {
+      if (file != null) {
+        MappedImage24Bit.deleteTemporaryFile(file);
+      }
+      throw new IllegalStateException("Failed to create a mapped image. " + e.getMessage());
+    }
+  }
+
+  @Override
+  Image createImage(ByteBuffer[] buffers) {
+    if (temporary) {
+      // The built image deletes the file once it is closed
+      synchronized (UNBUILT_FILES) {
+        UNBUILT_FILES.remove(file);
+      }
+    }
+    return new MappedImage24Bit(getWidth(), getHeight(), buffers, file, temporary);
+  }
+
+  /**
+   * Deletes the temporary files of every builder that has not built its image.
+   */
+  private static void deleteUnbuiltFiles() {
+    synchronized (UNBUILT_FILES) {
+      for (Path file : UNBUILT_FILES) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          // The program is exiting, so there is nothing left to do about the file
+        }
+      }
+      UNBUILT_FILES.clear();
+    }
+  }
+
+  /**
+   * Checks that a file to write an image into is not null.
+   *
+   * @param file the file
+   * @return the same file for convenience
+   * @throws IllegalArgumentException if the file is null
+   */
+  private static Path checkedFile(Path file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("File must not be null.");
+    }
+    return file;
+  }
+}
@@ -50,16 +50,16 @@ public class MosaicOperation implements ImageOperation {
     }
 
     List<List<int[]>> clusters = generateClusters(image, generateSeeds(image));
-    Pixel[][] pixels = new Pixel[image.getHeight()][image.getWidth()];
+    ImageBuilder builder = image.builder(image.getWidth(), image.getHeight());
 
     for (List<int[]> cluster : clusters) {
-      Pixel average = averageColor(cluster, image);
+      int average = averageColor(cluster, image);
       for (int[] point : cluster) {
-        pixels[point[0]][point[1]] = average;
+        builder.setRgb(point[0], point[1], average);
       }
     }
 
-    return image.fromPixels(pixels, true);
+    return builder.build();
   }
 
   /**
@@ -122,24 +122,25 @@ public class MosaicOperation implements ImageOperation {
    *
    * @param cluster the pixels to calculate the average color for.
    * @param image   the image containing the pixels.
-   * @return a pixel representing the average color.
+   * @return the packed RGB value of the average color.
    */
-  private Pixel averageColor(List<int[]> cluster, Image image) {
-    int red = 0;
-    int green = 0;
-    int blue = 0;
+  private int averageColor(List<int[]> cluster, Image image) {
+    long red = 0;
+    long green = 0;
+    long blue = 0;
 
     for (int[] point : cluster) {
-      red += image.getRedValueAt(point[0], point[1]);
-      green += image.getGreenValueAt(point[0], point[1]);
-      blue += image.getBlueValueAt(point[0], point[1]);
+      int rgb = image.getRgbAt(point[0], point[1]);
+      red += (rgb >> 16) & 0xFF;
+      green += (rgb >> 8) & 0xFF;
+      blue += rgb & 0xFF;
     }
     if (cluster.size() > 0) {
       red /= cluster.size();
       green /= cluster.size();
       blue /= cluster.size();
     }
-    return new RgbPixel(red, green, blue);
+    return PackedImage24Bit.packClamped((int) red, (int) green, (int) blue);
   }
 
   /**
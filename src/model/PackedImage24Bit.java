@@ -0,0 +1,233 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a 24-bit image whose pixels are stored in a single array of packed RGB values instead
+ * of one object per pixel. Each value holds the red value in bits 16-23, the green value in bits
+ * 8-15, and the blue value in bits 0-7. Values are stored row by row from the top to the bottom of
+ * the image. PackedImage24Bits are immutable.
+ */
+public class PackedImage24Bit extends AbstractImage {
+
+  private final int width;
+  private final int height;
+  private final int[] rgb;
+
+  /**
+   * Constructs a new PackedImage24Bit from an array of packed RGB values. The values are copied, so
+   * later changes to the array do not affect the image. Bits 24-31 of each value, such as the alpha
+   * channel of an ARGB value, are ignored.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image stored row by row
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  public PackedImage24Bit(int width, int height, int[] rgb) throws IllegalArgumentException {
+    this(width, height, rgb, true);
+  }
+
+  /**
+   * Constructs a new PackedImage24Bit from an array of packed RGB values, optionally taking
+   * ownership of the array instead of copying it. Only arrays that no other object will modify may
+   * be used without copying, and their values must already have bits 24-31 cleared.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image stored row by row
+   * @param copy   whether to copy the values
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  PackedImage24Bit(int width, int height, int[] rgb, boolean copy)
+      throws IllegalArgumentException {
+    if (rgb == null) {
+      throw new IllegalArgumentException("RGB values must not be null.");
+    }
+    ensureValidSize(width, height, rgb.length);
+    this.width = width;
+    this.height = height;
+    if (copy) {
+      this.rgb = new int[rgb.length];
+      for (int index = 0; index < rgb.length; index += 1) {
+        this.rgb[index] = rgb[index] & 0xFFFFFF;
+      }
+    } else {
+      this.rgb = rgb;
+    }
+  }
+
+  /**
+   * Constructs a new PackedImage24Bit from a 2-dimensional array of pixels.
+   *
+   * @param pixels a two-dimensional array of the pixels in the image where each inner array
+   *               represents a row of pixel values. Rows are from top to bottom, and pixels in a
+   *               row are from left to right.
+   * @param clamp  whether to clamp the pixel values to the allowed range. Values above the maximum
+   *               value will be set to the maximum, values below the minimum value will be set to
+   *               the minimum.
+   * @throws IllegalArgumentException if the array is null, if each row is not the same length, if
+   *                                  the array is empty, or if color values are outside the valid
+   *                                  range if clamping is false.
+   */
+  public PackedImage24Bit(Pixel[][] pixels, boolean clamp) throws IllegalArgumentException {
+    ensureValidPixels(pixels);
+    this.height = pixels.length;
+    this.width = pixels[0].length;
+    this.rgb = new int[width * height];
+
+    for (int row = 0; row < height; row += 1) {
+      for (int col = 0; col < width; col += 1) {
+        Pixel pixel = pixels[row][col];
+        int red = pixel.getRedValue();
+        int green = pixel.getGreenValue();
+        int blue = pixel.getBlueValue();
+        if (clamp) {
+          rgb[row * width + col] = packClamped(red, green, blue);
+        } else {
+          ensureInRange(red);
+          ensureInRange(green);
+          ensureInRange(blue);
+          rgb[row * width + col] = (red << 16) | (green << 8) | blue;
+        }
+      }
+    }
+  }
+
+  /**
+   * A convenience constructor for creating a new image without clamping. Constructs a new image
+   * from a 2-dimensional array of pixels.
+   *
+   * @param pixels a two-dimensional array of the pixels in the image where each inner array
+   *               represents a row of pixel values. Rows are from top to bottom, and pixels in a
+   *               row are from left to right.
+   * @throws IllegalArgumentException if the pixel color values are outside the allowed range for
+   *                                  this image.
+   */
+  public PackedImage24Bit(Pixel[][] pixels) throws IllegalArgumentException {
+    this(pixels, false);
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    return (rgb[row * width + col] >> 16) & 0xFF;
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    return (rgb[row * width + col] >> 8) & 0xFF;
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    return rgb[row * width + col] & 0xFF;
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    return rgb[row * width + col];
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int shift = channelShift(channel);
+    for (int r = 0; r < height; r += 1) {
+      int source = (row + r) * this.width + col;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = (rgb[source + c] >> shift) & 0xFF;
+      }
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    for (int r = 0; r < height; r += 1) {
+      System.arraycopy(rgb, (row + r) * this.width + col, dest, offset + r * width, width);
+    }
+  }
+
+  @Override
+  public Image fromPixels(Pixel[][] pixels, boolean clamp) {
+    return new PackedImage24Bit(pixels, clamp);
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return new PackedImage24Bit(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return new PackedImageBuilder(width, height);
+  }
+
+  @Override
+  protected boolean rasterEquals(AbstractImage other) {
+    return Arrays.equals(rgb, ((PackedImage24Bit) other).rgb);
+  }
+
+  @Override
+  protected int minValue() {
+    return Image24Bit.MIN_VALUE;
+  }
+
+  @Override
+  protected int maxValue() {
+    return Image24Bit.MAX_VALUE;
+  }
+
+  /**
+   * Packs red, green, and blue values into a single RGB value, clamping each value to the range
+   * [0, 255] first.
+   *
+   * @param red   the red value
+   * @param green the green value
+   * @param blue  the blue value
+   * @return the packed RGB value
+   */
+  static int packClamped(int red, int green, int blue) {
+    red = Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, red));
+    green = Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, green));
+    blue = Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, blue));
+    return (red << 16) | (green << 8) | blue;
+  }
+
+  /**
+   * Checks that the dimensions of an image are positive and match the number of values provided.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param length the number of values provided for the image
+   * @throws IllegalArgumentException if the dimensions are invalid
+   */
+  static void ensureValidSize(int width, int height, int length)
+      throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    if ((long) width * height != length) {
+      throw new IllegalArgumentException("Expected " + width + "x" + height + " RGB values.");
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package model;
+
+/**
+ * Builds a {@link PackedImage24Bit} by writing into a packed RGB array. The array is handed to the
+ * image without being copied when the image is built.
+ */
+public class PackedImageBuilder implements ImageBuilder {
+
+  // The largest number of elements the virtual machine can allocate in one array
+  static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+  private final int width;
+  private final int height;
+  private int[] rgb;
+
+  /**
+   * Constructs a new PackedImageBuilder for an image of the given size where every pixel starts
+   * out black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the width or height are not positive, or the image has
+   *                                  too many pixels to store in one array
+   */
+  public PackedImageBuilder(int width, int height) throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    if ((long) width * height > MAX_ARRAY_LENGTH) {
+      throw new IllegalArgumentException("Image is too large to store in one array.");
+    }
+    this.width = width;
+    this.height = height;
+    this.rgb = new int[width * height];
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void setRgb(int row, int col, int rgb) {
+    ensureNotBuilt();
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IllegalArgumentException("Invalid row or column.");
+    }
+    this.rgb[row * width + col] = rgb & 0xFFFFFF;
+  }
+
+  @Override
+  public void setPixel(int row, int col, int red, int green, int blue) {
+    ensureNotBuilt();
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IllegalArgumentException("Invalid row or column.");
+    }
+    rgb[row * width + col] = PackedImage24Bit.packClamped(red, green, blue);
+  }
+
+  @Override
+  public void setRgbRow(int row, int[] rgb, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, rgb, offset);
+    int start = row * width;
+    for (int col = 0; col < width; col += 1) {
+      this.rgb[start + col] = rgb[offset + col] & 0xFFFFFF;
+    }
+  }
+
+  @Override
+  public void setRgbRegion(int row, int col, int width, int height, int[] rgb, int offset) {
+    ensureNotBuilt();
+    ensureValidRegion(this.width, this.height, row, col, width, height, rgb, offset);
+    for (int r = 0; r < height; r += 1) {
+      int start = (row + r) * this.width + col;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        this.rgb[start + c] = rgb[index + c] & 0xFFFFFF;
+      }
+    }
+  }
+
+  @Override
+  public void setRow(int row, ColorChannel channel, int[] values, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, values, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int shift = AbstractImage.channelShift(channel);
+    int mask = ~(0xFF << shift);
+    int start = row * width;
+    for (int col = 0; col < width; col += 1) {
+      int value = Math.max(Image24Bit.MIN_VALUE,
+          Math.min(Image24Bit.MAX_VALUE, values[offset + col]));
+      rgb[start + col] = (rgb[start + col] & mask) | (value << shift);
+    }
+  }
+
+  @Override
+  public Image build() {
+    ensureNotBuilt();
+    Image image = new PackedImage24Bit(width, height, rgb, false);
+    rgb = null;
+    return image;
+  }
+
+  /**
+   * Ensures that the image has not been built yet.
+   *
+   * @throws IllegalStateException if the image has already been built
+   */
+  private void ensureNotBuilt() throws IllegalStateException {
+    if (rgb == null) {
+      throw new IllegalStateException("The image has already been built.");
+    }
+  }
+
+  /**
+   * Ensures that a row index is valid and that an array holds enough values for a whole row.
+   *
+   * @param row    the row of the image
+   * @param values the array of values for the row
+   * @param offset the index in the array of the first value
+   * @throws IllegalArgumentException if the row is invalid or the array is null or too small
+   */
+  private void ensureValidRow(int row, int[] values, int offset)
+      throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not be null.");
+    }
+    if (row < 0 || row >= height) {
+      throw new IllegalArgumentException("Invalid row.");
+    }
+    if (offset < 0 || width > values.length - offset) {
+      throw new IllegalArgumentException("Array is too small to hold the row.");
+    }
+  }
+
+  /**
+   * Ensures that a rectangular region lies inside an image and that an array holds enough values
+   * for every pixel in the region.
+   *
+   * @param imageWidth  the width of the image in pixels
+   * @param imageHeight the height of the image in pixels
+   * @param row         the top row of the region
+   * @param col         the left column of the region
+   * @param width       the width of the region in pixels
+   * @param height      the height of the region in pixels
+   * @param values      the array of values for the region
+   * @param offset      the index in the array of the first value
+   * @throws IllegalArgumentException if the region is outside the image or the array is null or
+   *                                  too small
+   */
+  static void ensureValidRegion(int imageWidth, int imageHeight, int row, int col, int width,
+      int height, int[] values, int offset) throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not be null.");
+    }
+    if (row < 0 || col < 0 || width < 0 || height < 0
+        || height > imageHeight - row || width > imageWidth - col) {
+      throw new IllegalArgumentException("Region must be inside the image.");
+    }
+    if (offset < 0 || (long) offset + (long) width * height > values.length) {
+      throw new IllegalArgumentException("Array is too small to hold the region.");
+    }
+  }
+}
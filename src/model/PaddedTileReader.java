@@ -0,0 +1,131 @@
+package model;
+
+/**
+ * Reads blocks of an image together with a border of the pixels around them into separate arrays
+ * for each color channel. Pixels of the border that are outside the image are given colors by an
+ * {@link EdgeMode}, so operations that read the pixels around each pixel of the block never have
+ * to check whether a pixel is inside the image.
+ */
+final class PaddedTileReader {
+
+  private final Image image;
+  private final EdgeMode edgeMode;
+  private final int width;
+  private final int height;
+  private final int reach;
+  // The packed RGB values of the part of the padded block that is inside the image
+  private final int[] rgbRegion;
+  // The column of the image each column of the padded block takes its color from
+  private final int[] colSources;
+  // The bounds of the part of the last block read that is inside the image
+  private int regionRow;
+  private int regionCol;
+  private int regionBottom;
+  private int regionRight;
+  private int regionWidth;
+
+  /**
+   * Constructs a new PaddedTileReader for blocks of an image up to a given size.
+   *
+   * @param image     the image to read from
+   * @param edgeMode  how to pick the colors of pixels outside the edges of the image
+   * @param reach     the width of the border around each block in pixels
+   * @param maxWidth  the largest width of a block in pixels
+   * @param maxHeight the largest height of a block in pixels
+   */
+  PaddedTileReader(Image image, EdgeMode edgeMode, int reach, int maxWidth, int maxHeight) {
+    this.image = image;
+    this.edgeMode = edgeMode;
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    this.reach = reach;
+    this.rgbRegion = new int[(maxWidth + 2 * reach) * (maxHeight + 2 * reach)];
+    this.colSources = new int[maxWidth + 2 * reach];
+  }
+
+  /**
+   * Copies the color values of a block and the border around it into arrays that store the padded
+   * block row by row, with rows that are {@code blockWidth + 2 * reach} values long. The part of
+   * the padded block that is inside the image is read in one region and copied without any checks.
+   * Only the margins of the padded block that are outside the image are mapped by the edge mode.
+   *
+   * @param row         the top row of the block
+   * @param col         the left column of the block
+   * @param blockWidth  the width of the block in pixels
+   * @param blockHeight the height of the block in pixels
+   * @param red         the array to store the red values in
+   * @param green       the array to store the green values in
+   * @param blue        the array to store the blue values in
+   */
+  void read(int row, int col, int blockWidth, int blockHeight, int[] red, int[] green,
+      int[] blue) {
+    int paddedWidth = blockWidth + 2 * reach;
+    int paddedHeight = blockHeight + 2 * reach;
+    regionRow = Math.max(0, row - reach);
+    regionCol = Math.max(0, col - reach);
+    regionBottom = Math.min(height, row + blockHeight + reach);
+    regionRight = Math.min(width, col + blockWidth + reach);
+    regionWidth = regionRight - regionCol;
+    image.getRgbRegion(regionRow, regionCol, regionWidth, regionBottom - regionRow, rgbRegion, 0);
+
+    // The rows and columns of the padded block that are inside the image
+    int top = regionRow - (row - reach);
+    int bottom = regionBottom - (row - reach);
+    int left = regionCol - (col - reach);
+    int right = regionRight - (col - reach);
+    for (int c = 0; c < paddedWidth; c += 1) {
+      colSources[c] = edgeMode.map(col - reach + c, width);
+    }
+
+    for (int r = 0; r < paddedHeight; r += 1) {
+      int index = r * paddedWidth;
+      if (r >= top && r < bottom) {
+        int source = (r - top) * regionWidth - left;
+        for (int c = left; c < right; c += 1) {
+          int rgb = rgbRegion[source + c];
+          red[index + c] = (rgb >> 16) & 0xFF;
+          green[index + c] = (rgb >> 8) & 0xFF;
+          blue[index + c] = rgb & 0xFF;
+        }
+        int sourceRow = row - reach + r;
+        readBorder(sourceRow, 0, left, index, red, green, blue);
+        readBorder(sourceRow, right, paddedWidth, index, red, green, blue);
+      } else {
+        int sourceRow = edgeMode.map(row - reach + r, height);
+        readBorder(sourceRow, 0, paddedWidth, index, red, green, blue);
+      }
+    }
+  }
+
+  /**
+   * Copies the color values of a run of columns of the padded block that are outside the image
+   * into a row of the arrays, taking each color from the pixel the edge mode maps it to.
+   *
+   * @param sourceRow the row of the image the row of the padded block takes its colors from, or
+   *                  -1 if it is black
+   * @param start     the first column of the padded block to copy
+   * @param end       the column of the padded block after the last one to copy
+   * @param index     the index in the arrays of the first value of the row of the padded block
+   * @param red       the array to store the red values in
+   * @param green     the array to store the green values in
+   * @param blue      the array to store the blue values in
+   */
+  private void readBorder(int sourceRow, int start, int end, int index, int[] red, int[] green,
+      int[] blue) {
+    boolean rowInRegion = sourceRow >= regionRow && sourceRow < regionBottom;
+    for (int c = start; c < end; c += 1) {
+      int sourceCol = colSources[c];
+      int rgb;
+      if (sourceRow < 0 || sourceCol < 0) {
+        rgb = 0;
+      } else if (rowInRegion && sourceCol >= regionCol && sourceCol < regionRight) {
+        rgb = rgbRegion[(sourceRow - regionRow) * regionWidth + sourceCol - regionCol];
+      } else {
+        rgb = image.getRgbAt(sourceRow, sourceCol);
+      }
+      red[index + c] = (rgb >> 16) & 0xFF;
+      green[index + c] = (rgb >> 8) & 0xFF;
+      blue[index + c] = rgb & 0xFF;
+    }
+  }
+}
@@ -0,0 +1,269 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Represents a 24-bit image whose color channels are stored in three separate planes of bytes, one
+ * for each of the red, green, and blue channels. Each plane holds width * height unsigned 8-bit
+ * values stored row by row from the top to the bottom of the image. Storing each channel on its
+ * own keeps the values of a channel next to each other in memory, which suits operations that work
+ * on one channel at a time. PlanarImage24Bits are immutable.
+ */
+public class PlanarImage24Bit extends AbstractImage {
+
+  private final int width;
+  private final int height;
+  private final byte[] red;
+  private final byte[] green;
+  private final byte[] blue;
+
+  /**
+   * Constructs a new PlanarImage24Bit from three planes of color values. Each value is interpreted
+   * as an unsigned 8-bit number. The planes are copied, so later changes to the arrays do not
+   * affect the image.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param red    the red values of the pixels stored row by row
+   * @param green  the green values of the pixels stored row by row
+   * @param blue   the blue values of the pixels stored row by row
+   * @throws IllegalArgumentException if any of the planes are null, if the width or height are
+   *                                  not positive, or if a plane does not contain exactly width *
+   *                                  height values
+   */
+  public PlanarImage24Bit(int width, int height, byte[] red, byte[] green, byte[] blue)
+      throws IllegalArgumentException {
+    this(width, height, red, green, blue, true);
+  }
+
+  /**
+   * Constructs a new PlanarImage24Bit from three planes of color values, optionally taking
+   * ownership of the arrays instead of copying them. Only arrays that no other object will modify
+   * may be used without copying.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param red    the red values of the pixels stored row by row
+   * @param green  the green values of the pixels stored row by row
+   * @param blue   the blue values of the pixels stored row by row
+   * @param copy   whether to copy the planes
+   * @throws IllegalArgumentException if any of the planes are null, if the width or height are
+   *                                  not positive, or if a plane does not contain exactly width *
+   *                                  height values
+   */
+  PlanarImage24Bit(int width, int height, byte[] red, byte[] green, byte[] blue, boolean copy)
+      throws IllegalArgumentException {
+    if (red == null || green == null || blue == null) {
+      throw new IllegalArgumentException("Color planes must not be null.");
+    }
+    PackedImage24Bit.ensureValidSize(width, height, red.length);
+    PackedImage24Bit.ensureValidSize(width, height, green.length);
+    PackedImage24Bit.ensureValidSize(width, height, blue.length);
+    this.width = width;
+    this.height = height;
+    this.red = copy ? red.clone() : red;
+    this.green = copy ? green.clone() : green;
+    this.blue = copy ? blue.clone() : blue;
+  }
+
+  /**
+   * Constructs a new PlanarImage24Bit from packed RGB values. Bits 0-7 of each value represent the
+   * blue value. Bits 8-15 are green. Bits 16-23 are red. Bits 24-31 are ignored.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image stored row by row
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  public PlanarImage24Bit(int width, int height, int[] rgb) throws IllegalArgumentException {
+    if (rgb == null) {
+      throw new IllegalArgumentException("RGB values must not be null.");
+    }
+    PackedImage24Bit.ensureValidSize(width, height, rgb.length);
+    this.width = width;
+    this.height = height;
+    this.red = new byte[rgb.length];
+    this.green = new byte[rgb.length];
+    this.blue = new byte[rgb.length];
+    for (int index = 0; index < rgb.length; index += 1) {
+      red[index] = (byte) (rgb[index] >> 16);
+      green[index] = (byte) (rgb[index] >> 8);
+      blue[index] = (byte) rgb[index];
+    }
+  }
+
+  /**
+   * Constructs a new PlanarImage24Bit from a 2-dimensional array of pixels.
+   *
+   * @param pixels a two-dimensional array of the pixels in the image where each inner array
+   *               represents a row of pixel values. Rows are from top to bottom, and pixels in a
+   *               row are from left to right.
+   * @param clamp  whether to clamp the pixel values to the allowed range. Values above the maximum
+   *               value will be set to the maximum, values below the minimum value will be set to
+   *               the minimum.
+   * @throws IllegalArgumentException if the array is null, if each row is not the same length, if
+   *                                  the array is empty, or if color values are outside the valid
+   *                                  range if clamping is false.
+   */
+  public PlanarImage24Bit(Pixel[][] pixels, boolean clamp) throws IllegalArgumentException {
+    ensureValidPixels(pixels);
+    this.height = pixels.length;
+    this.width = pixels[0].length;
+    this.red = new byte[width * height];
+    this.green = new byte[width * height];
+    this.blue = new byte[width * height];
+
+    for (int row = 0; row < height; row += 1) {
+      for (int col = 0; col < width; col += 1) {
+        Pixel pixel = pixels[row][col];
+        int index = row * width + col;
+        red[index] = (byte) checkedValue(pixel.getRedValue(), clamp);
+        green[index] = (byte) checkedValue(pixel.getGreenValue(), clamp);
+        blue[index] = (byte) checkedValue(pixel.getBlueValue(), clamp);
+      }
+    }
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    return red[row * width + col] & 0xFF;
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    return green[row * width + col] & 0xFF;
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    return blue[row * width + col] & 0xFF;
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    byte[] plane = plane(channel);
+    for (int r = 0; r < height; r += 1) {
+      int source = (row + r) * this.width + col;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = plane[source + c] & 0xFF;
+      }
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    for (int r = 0; r < height; r += 1) {
+      int source = (row + r) * this.width + col;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        dest[index + c] = ((red[source + c] & 0xFF) << 16)
+            | ((green[source + c] & 0xFF) << 8)
+            | (blue[source + c] & 0xFF);
+      }
+    }
+  }
+
+  /**
+   * Gets a read-only view of all of the values of one color channel without copying them. The
+   * buffer holds width * height unsigned 8-bit values stored row by row, so the value of the pixel
+   * at (row, col) is at index row * width + col and must be read with {@code get(index) & 0xFF}.
+   *
+   * @param channel the color channel to get the values of
+   * @return a read-only buffer over the values of the channel
+   * @throws IllegalArgumentException if the channel is null
+   */
+  public ByteBuffer getChannelPlane(ColorChannel channel) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    return ByteBuffer.wrap(plane(channel)).asReadOnlyBuffer();
+  }
+
+  @Override
+  public Image fromPixels(Pixel[][] pixels, boolean clamp) {
+    return new PlanarImage24Bit(pixels, clamp);
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return new PlanarImage24Bit(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return new PlanarImageBuilder(width, height);
+  }
+
+  @Override
+  protected boolean rasterEquals(AbstractImage other) {
+    PlanarImage24Bit planar = (PlanarImage24Bit) other;
+    return Arrays.equals(red, planar.red) && Arrays.equals(green, planar.green)
+        && Arrays.equals(blue, planar.blue);
+  }
+
+  @Override
+  protected int minValue() {
+    return Image24Bit.MIN_VALUE;
+  }
+
+  @Override
+  protected int maxValue() {
+    return Image24Bit.MAX_VALUE;
+  }
+
+  /**
+   * Gets the plane of values for a color channel.
+   *
+   * @param channel the color channel
+   * @return the array holding the values of the channel
+   * @throws IllegalArgumentException if the channel is not supported
+   */
+  private byte[] plane(ColorChannel channel) throws IllegalArgumentException {
+    switch (channel) {
+      case RED:
+        return red;
+      case GREEN:
+        return green;
+      case BLUE:
+        return blue;
+      default:
+        throw new IllegalArgumentException("Unsupported color channel");
+    }
+  }
+
+  /**
+   * Clamps a color value to the allowed range or ensures that it is already inside the range.
+   *
+   * @param value the color value
+   * @param clamp whether to clamp the value instead of checking it
+   * @return the value inside the allowed range
+   * @throws IllegalArgumentException if the value is outside the range and clamping is false
+   */
+  private int checkedValue(int value, boolean clamp) throws IllegalArgumentException {
+    if (clamp) {
+      return Math.max(minValue(), Math.min(maxValue(), value));
+    }
+    ensureInRange(value);
+    return value;
+  }
+}
@@ -0,0 +1,185 @@
+package model;
+
+/**
+ * Builds a {@link PlanarImage24Bit} by writing into one plane of bytes per color channel. The
+ * planes are handed to the image without being copied when the image is built.
+ */
+public class PlanarImageBuilder implements ImageBuilder {
+
+  private final int width;
+  private final int height;
+  private byte[] red;
+  private byte[] green;
+  private byte[] blue;
+
+  /**
+   * Constructs a new PlanarImageBuilder for an image of the given size where every pixel starts
+   * out black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the width or height are not positive
+   */
+  public PlanarImageBuilder(int width, int height) throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    this.width = width;
+    this.height = height;
+    this.red = new byte[width * height];
+    this.green = new byte[width * height];
+    this.blue = new byte[width * height];
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void setRgb(int row, int col, int rgb) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    int index = row * width + col;
+    red[index] = (byte) (rgb >> 16);
+    green[index] = (byte) (rgb >> 8);
+    blue[index] = (byte) rgb;
+  }
+
+  @Override
+  public void setPixel(int row, int col, int red, int green, int blue) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    int index = row * width + col;
+    this.red[index] = (byte) clamp(red);
+    this.green[index] = (byte) clamp(green);
+    this.blue[index] = (byte) clamp(blue);
+  }
+
+  @Override
+  public void setRgbRow(int row, int[] rgb, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, rgb, offset);
+    int start = row * width;
+    for (int col = 0; col < width; col += 1) {
+      int value = rgb[offset + col];
+      red[start + col] = (byte) (value >> 16);
+      green[start + col] = (byte) (value >> 8);
+      blue[start + col] = (byte) value;
+    }
+  }
+
+  @Override
+  public void setRgbRegion(int row, int col, int width, int height, int[] rgb, int offset) {
+    ensureNotBuilt();
+    PackedImageBuilder.ensureValidRegion(this.width, this.height, row, col, width, height, rgb,
+        offset);
+    for (int r = 0; r < height; r += 1) {
+      int start = (row + r) * this.width + col;
+      int index = offset + r * width;
+      for (int c = 0; c < width; c += 1) {
+        int value = rgb[index + c];
+        red[start + c] = (byte) (value >> 16);
+        green[start + c] = (byte) (value >> 8);
+        blue[start + c] = (byte) value;
+      }
+    }
+  }
+
+  @Override
+  public void setRow(int row, ColorChannel channel, int[] values, int offset) {
+    ensureNotBuilt();
+    ensureValidRow(row, values, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    byte[] plane;
+    switch (channel) {
+      case RED:
+        plane = red;
+        break;
+      case GREEN:
+        plane = green;
+        break;
+      case BLUE:
+        plane = blue;
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported color channel");
+    }
+    int start = row * width;
+    for (int col = 0; col < width; col += 1) {
+      plane[start + col] = (byte) clamp(values[offset + col]);
+    }
+  }
+
+  @Override
+  public Image build() {
+    ensureNotBuilt();
+    Image image = new PlanarImage24Bit(width, height, red, green, blue, false);
+    red = null;
+    green = null;
+    blue = null;
+    return image;
+  }
+
+  /**
+   * Clamps a color value to the range allowed in a 24-bit image.
+   *
+   * @param value the value to clamp
+   * @return the clamped value
+   */
+  private static int clamp(int value) {
+    return Math.max(Image24Bit.MIN_VALUE, Math.min(Image24Bit.MAX_VALUE, value));
+  }
+
+  /**
+   * Ensures that the image has not been built yet.
+   *
+   * @throws IllegalStateException if the image has already been built
+   */
+  private void ensureNotBuilt() throws IllegalStateException {
+    if (red == null) {
+      throw new IllegalStateException("The image has already been built.");
+    }
+  }
+
+  /**
+   * Ensures that a coordinate is a valid index for a pixel in the image.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @throws IllegalArgumentException if the coordinate is outside the image
+   */
+  private void ensureValidCoordinates(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IllegalArgumentException("Invalid row or column.");
+    }
+  }
+
+  /**
+   * Ensures that a row index is valid and that an array holds enough values for a whole row.
+   *
+   * @param row    the row of the image
+   * @param values the array of values for the row
+   * @param offset the index in the array of the first value
+   * @throws IllegalArgumentException if the row is invalid or the array is null or too small
+   */
+  private void ensureValidRow(int row, int[] values, int offset)
+      throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not be null.");
+    }
+    if (row < 0 || row >= height) {
+      throw new IllegalArgumentException("Invalid row.");
+    }
+    if (offset < 0 || width > values.length - offset) {
+      throw new IllegalArgumentException("Array is too small to hold the row.");
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Resizes images with the filter of a {@link ResamplingMode}, first along each row and then along
+ * each column. The pixels of the original image that each column and row of the resized image
+ * reads, and their weights, are computed once when the resampler is created. When the image is
+ * made smaller, the filter is stretched to cover every pixel that a pixel of the resized image
+ * stands for, so fine details are averaged away instead of aliasing. The nearest mode has no
+ * filter and copies the one pixel each pixel of the resized image falls on.
+ *
+ * <p>The resized image is computed in bands of rows. Each band first resizes the rows of the
+ * original image that it reads horizontally, then combines them vertically, so only a few rows
+ * are ever held in memory. The weights of each pixel add up to 1 and the results are rounded to
+ * the closest color value and clamped, since the filters of some modes have negative weights.
+ */
+final class Resampler {
+
+  // The number of rows of the resized image computed at once
+  private static final int BAND_HEIGHT = 64;
+
+  private final Weights cols;
+  private final Weights rows;
+
+  /**
+   * Constructs a new Resampler that resizes images of one size to another.
+   *
+   * @param mode           how to compute the colors of the resized image
+   * @param originalWidth  the width of the images to resize
+   * @param originalHeight the height of the images to resize
+   * @param width          the width of the resized images
+   * @param height         the height of the resized images
+   */
+  Resampler(ResamplingMode mode, int originalWidth, int originalHeight, int width, int height) {
+    this.cols = new Weights(mode, originalWidth, width);
+    this.rows = new Weights(mode, originalHeight, height);
+  }
+
+  /**
+   * Resizes an image whose size is the original size of this resampler on the calling thread.
+   *
+   * @param image the image to resize
+   * @return the resized image, with the same representation as the original image
+   */
+  Image apply(Image image) {
+    return apply(image, null);
+  }
+
+  /**
+   * Resizes an image whose size is the original size of this resampler, computing the bands of
+   * the resized image in parallel on a pool of threads. Each band reads the rows of the original
+   * image it needs on its own, so the result is the same for any number of threads.
+   *
+   * @param image the image to resize
+   * @param pool  the pool to compute the bands on, or null to compute them on the calling thread
+   * @return the resized image, with the same representation as the original image
+   */
+  Image apply(Image image, ForkJoinPool pool) {
+    int width = cols.size;
+    int height = rows.size;
+    ImageBuilder builder = image.builder(width, height);
+    RowBands.forEach(pool, height, BAND_HEIGHT, (top, bottom) -> {
+      int[] rgbRow = new int[image.getWidth()];
+      int[] rgbBand = new int[width * Math.min(bottom - top, BAND_HEIGHT)];
+      for (int bandTop = top; bandTop < bottom; bandTop += BAND_HEIGHT) {
+        int bandBottom = Math.min(bottom, bandTop + BAND_HEIGHT);
+        resizeBand(image, bandTop, bandBottom, rgbRow, rgbBand);
+        builder.setRgbRegion(bandTop, 0, width, bandBottom - bandTop, rgbBand, 0);
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Computes a band of rows of the resized image.
+   *
+   * @param image      the image to resize
+   * @param bandTop    the first row of the band
+   * @param bandBottom the row after the last row of the band
+   * @param rgbRow     a buffer for one row of the original image
+   * @param rgbBand    the buffer to write the packed RGB values of the band to, row by row
+   */
+  private void resizeBand(Image image, int bandTop, int bandBottom, int[] rgbRow,
+      int[] rgbBand) {
+    int width = cols.size;
+    int sourceTop = rows.first[bandTop];
+    int sourceBottom = sourceTop;
+    for (int row = bandTop; row < bandBottom; row += 1) {
+      sourceBottom = Math.max(sourceBottom, rows.first[row] + rows.count[row]);
+    }
+
+    // Resize the rows of the original image that the band reads horizontally
+    int sourceRows = sourceBottom - sourceTop;
+    double[] red = new double[sourceRows * width];
+    double[] green = new double[sourceRows * width];
+    double[] blue = new double[sourceRows * width];
+    for (int source = 0; source < sourceRows; source += 1) {
+      image.getRgbRow(sourceTop + source, rgbRow, 0);
+      for (int col = 0; col < width; col += 1) {
+        double redSum = 0;
+        double greenSum = 0;
+        double blueSum = 0;
+        int weight = col * cols.stride;
+        int first = cols.first[col];
+        for (int tap = 0; tap < cols.count[col]; tap += 1) {
+          int rgb = rgbRow[first + tap];
+          double value = cols.values[weight + tap];
+          redSum += ((rgb >> 16) & 0xFF) * value;
+          greenSum += ((rgb >> 8) & 0xFF) * value;
+          blueSum += (rgb & 0xFF) * value;
+        }
+        red[source * width + col] = redSum;
+        green[source * width + col] = greenSum;
+        blue[source * width + col] = blueSum;
+      }
+    }
+
+    // Combine the horizontally resized rows vertically
+    int index = 0;
+    for (int row = bandTop; row < bandBottom; row += 1) {
+      int weight = row * rows.stride;
+      int first = rows.first[row] - sourceTop;
+      for (int col = 0; col < width; col += 1) {
+        double redSum = 0;
+        double greenSum = 0;
+        double blueSum = 0;
+        for (int tap = 0; tap < rows.count[row]; tap += 1) {
+          int source = (first + tap) * width + col;
+          double value = rows.values[weight + tap];
+          redSum += red[source] * value;
+          greenSum += green[source] * value;
+          blueSum += blue[source] * value;
+        }
+        rgbBand[index] = PackedImage24Bit.packClamped((int) Math.round(redSum),
+            (int) Math.round(greenSum), (int) Math.round(blueSum));
+        index += 1;
+      }
+    }
+  }
+
+  /**
+   * The pixels of the original image that each column or each row of the resized image reads, and
+   * the weight of each of them.
+   */
+  private static final class Weights {
+
+    // The width or height of the resized image
+    private final int size;
+    // The first pixel each column or row reads
+    private final int[] first;
+    // The number of pixels each column or row reads
+    private final int[] count;
+    // The weights of the pixels each column or row reads, with stride values for each
+    private final double[] values;
+    private final int stride;
+
+    /**
+     * Computes the weights of the columns or rows of a resized image.
+     *
+     * @param mode     how to compute the colors of the resized image
+     * @param original the width or height of the original image
+     * @param size     the width or height of the resized image
+     */
+    Weights(ResamplingMode mode, int original, int size) {
+      this.size = size;
+      this.first = new int[size];
+      this.count = new int[size];
+      double ratio = (double) original / size;
+      double scale = Math.max(1, ratio);
+      double support = mode == ResamplingMode.AREA ? ratio + 1 : mode.support() * scale;
+      this.stride = Math.min(original, (int) Math.ceil(2 * support) + 2);
+      this.values = new double[size * stride];
+
+      for (int scaled = 0; scaled < size; scaled += 1) {
+        int start;
+        int end;
+        double total = 0;
+        if (mode == ResamplingMode.NEAREST) {
+          // The only weight is the pixel that the center of this pixel falls on
+          start = Math.min(original - 1, (int) ((scaled + 0.5) * ratio));
+          end = start + 1;
+          values[scaled * stride] = 1;
+          total = 1;
+        } else if (mode == ResamplingMode.AREA) {
+          // The weights are the lengths of the pixels covered by the span of this pixel
+          double low = scaled * ratio;
+          double high = (scaled + 1) * ratio;
+          start = Math.max(0, (int) Math.floor(low));
+          end = Math.min(original, (int) Math.ceil(high));
+          for (int pixel = start; pixel < end; pixel += 1) {
+            double covered = Math.min(high, pixel + 1) - Math.max(low, pixel);
+            values[scaled * stride + pixel - start] = covered;
+            total += covered;
+          }
+        } else {
+          // The center of this pixel, measured in pixels of the original image
+          double center = (scaled + 0.5) * ratio - 0.5;
+          start = Math.max(0, (int) Math.ceil(center - support));
+          end = Math.min(original, (int) Math.floor(center + support) + 1);
+          for (int pixel = start; pixel < end; pixel += 1) {
+            double weight = mode.weight((pixel - center) / scale);
+            values[scaled * stride + pixel - start] = weight;
+            total += weight;
+          }
+        }
+        if (total == 0) {
+          // No pixel is close enough to have a weight, so copy the closest one
+          start = Math.min(original - 1, Math.max(0, (int) (scaled * ratio)));
+          end = start + 1;
+          values[scaled * stride] = 1;
+          total = 1;
+        }
+        first[scaled] = start;
+        count[scaled] = end - start;
+        for (int tap = 0; tap < end - start; tap += 1) {
+          values[scaled * stride + tap] /= total;
+        }
+      }
+    }
+  }
+}
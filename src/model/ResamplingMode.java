@@ -0,0 +1,89 @@
+package model;
+
+/**
+ * Represents the ways the colors of a resized image can be computed from the pixels of the
+ * original image.
+ */
+public enum ResamplingMode {
+  // Each pixel copies the pixel its position falls on, which keeps hard edges between pixels
+  NEAREST,
+  // Each pixel combines the pixels next to its position, weighted by how close they are
+  BILINEAR,
+  // Each pixel combines the pixels within two pixels of its position with a cubic filter that
+  // is sharper than the bilinear mode
+  BICUBIC,
+  // Each pixel is the average of the pixels it covers, weighted by how much of each it covers
+  AREA,
+  // Each pixel combines the pixels within three pixels of its position with a windowed sinc
+  // filter, which keeps edges sharp but can ring around them
+  LANCZOS3,
+  // Each pixel combines the pixels within two pixels of its position with a cubic filter that
+  // balances sharpness against ringing
+  MITCHELL;
+
+  /**
+   * Gets how far from its position a pixel of the resized image reads the original image, in
+   * pixels of the original image when the image is not made smaller.
+   *
+   * @return the reach of the filter of this mode
+   */
+  double support() {
+    switch (this) {
+      case NEAREST:
+        return 0.5;
+      case LANCZOS3:
+        return 3;
+      case BICUBIC:
+      case MITCHELL:
+        return 2;
+      default:
+        return 1;
+    }
+  }
+
+  /**
+   * Gets the weight the filter of this mode gives to a pixel of the original image at a distance
+   * from the position of a pixel of the resized image. The area mode does not use a filter, since
+   * its weights are the exact amounts that pixels are covered.
+   *
+   * @param distance the distance in pixels, scaled so the filter has the reach of {@link
+   *                 #support()}
+   * @return the weight of the pixel, which is not normalized
+   */
+  double weight(double distance) {
+    double x = Math.abs(distance);
+    switch (this) {
+      case LANCZOS3:
+        if (x < 1e-12) {
+          return 1;
+        }
+        if (x >= 3) {
+          return 0;
+        }
+        double angle = Math.PI * x;
+        return 3 * Math.sin(angle) * Math.sin(angle / 3) / (angle * angle);
+      case NEAREST:
+        return x < 0.5 ? 1 : 0;
+      case BICUBIC:
+        // The Catmull-Rom filter, which is the Keys cubic with a = -0.5
+        if (x < 1) {
+          return 1.5 * x * x * x - 2.5 * x * x + 1;
+        }
+        if (x < 2) {
+          return -0.5 * x * x * x + 2.5 * x * x - 4 * x + 2;
+        }
+        return 0;
+      case MITCHELL:
+        // The Mitchell-Netravali filter with B = C = 1 / 3
+        if (x < 1) {
+          return (7 * x * x * x - 12 * x * x + 16.0 / 3) / 6;
+        }
+        if (x < 2) {
+          return (-7.0 / 3 * x * x * x + 12 * x * x - 20 * x + 32.0 / 3) / 6;
+        }
+        return 0;
+      default:
+        return x < 1 ? 1 - x : 0;
+    }
+  }
+}
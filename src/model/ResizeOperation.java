@@ -0,0 +1,148 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents an image processing operation that resizes an image to a given width and height, or
+ * by a given factor in each direction, making it larger or smaller independently in each
+ * direction. The colors of the resized image are computed with a {@link ResamplingMode}: {@link
+ * ResamplingMode#NEAREST} copies pixels, {@link ResamplingMode#BILINEAR} and {@link
+ * ResamplingMode#BICUBIC} interpolate between them, and the other modes are suited to making
+ * images smaller. When an image is made smaller, the filter of each mode is stretched to cover
+ * every pixel a pixel of the resized image stands for.
+ *
+ * <p>The pixels each column and row of the resized image read, and their weights, are computed
+ * once for each image, and bands of rows of the resized image can be computed in parallel.
+ */
+public class ResizeOperation implements ImageOperation {
+
+  private final int width;
+  private final int height;
+  private final double xscale;
+  private final double yscale;
+  private final ResamplingMode mode;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a new ResizeOperation that resizes images to the given size.
+   *
+   * @param width  the width of the resized image
+   * @param height the height of the resized image
+   * @param mode   how to compute the colors of the resized image
+   * @throws IllegalArgumentException if the width or height is not positive or the mode is null
+   */
+  public ResizeOperation(int width, int height, ResamplingMode mode)
+      throws IllegalArgumentException {
+    this(width, height, mode, null);
+  }
+
+  /**
+   * Constructs a new ResizeOperation that resizes images to the given size, computing bands of
+   * rows of the resized image in parallel.
+   *
+   * @param width  the width of the resized image
+   * @param height the height of the resized image
+   * @param mode   how to compute the colors of the resized image
+   * @param pool   the pool to compute bands of rows on, or null to compute on the calling thread
+   * @throws IllegalArgumentException if the width or height is not positive or the mode is null
+   */
+  public ResizeOperation(int width, int height, ResamplingMode mode, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    this(width, height, 0, 0, mode, pool);
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Width and height must be positive.");
+    }
+  }
+
+  /**
+   * Constructs a new ResizeOperation from either a size or a pair of scale factors.
+   *
+   * @param width  the width of the resized image, or 0 to scale the width
+   * @param height the height of the resized image, or 0 to scale the height
+   * @param xscale the factor to scale the width by when no width is given
+   * @param yscale the factor to scale the height by when no height is given
+   * @param mode   how to compute the colors of the resized image
+   * @param pool   the pool to compute bands of rows on, or null to compute on the calling thread
+   * @throws IllegalArgumentException if the mode is null
+   */
+  private ResizeOperation(int width, int height, double xscale, double yscale,
+      ResamplingMode mode, ForkJoinPool pool) throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("Resampling mode must not be null.");
+    }
+    this.width = width;
+    this.height = height;
+    this.xscale = xscale;
+    this.yscale = yscale;
+    this.mode = mode;
+    this.pool = pool;
+  }
+
+  /**
+   * Creates a ResizeOperation that scales images by the given factors. Each side of the resized
+   * image is the side of the image times its factor, truncated to a whole number, but never less
+   * than 1 pixel.
+   *
+   * @param xscale the factor to scale the width by, where values above 1 make the image wider
+   * @param yscale the factor to scale the height by, where values above 1 make the image taller
+   * @param mode   how to compute the colors of the resized image
+   * @return the operation
+   * @throws IllegalArgumentException if either factor is not a positive number or the mode is null
+   */
+  public static ResizeOperation byFactor(double xscale, double yscale, ResamplingMode mode)
+      throws IllegalArgumentException {
+    return byFactor(xscale, yscale, mode, null);
+  }
+
+  /**
+   * Creates a ResizeOperation that scales images by the given factors, computing bands of rows of
+   * the resized image in parallel.
+   *
+   * @param xscale the factor to scale the width by, where values above 1 make the image wider
+   * @param yscale the factor to scale the height by, where values above 1 make the image taller
+   * @param mode   how to compute the colors of the resized image
+   * @param pool   the pool to compute bands of rows on, or null to compute on the calling thread
+   * @return the operation
+   * @throws IllegalArgumentException if either factor is not a positive number or the mode is null
+   */
+  public static ResizeOperation byFactor(double xscale, double yscale, ResamplingMode mode,
+      ForkJoinPool pool) throws IllegalArgumentException {
+    if (!(xscale > 0) || !(yscale > 0) || Double.isInfinite(xscale)
+        || Double.isInfinite(yscale)) {
+      throw new IllegalArgumentException("Scales must be positive numbers.");
+    }
+    return new ResizeOperation(0, 0, xscale, yscale, mode, pool);
+  }
+
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image cannot be null.");
+    }
+
+    int resizedWidth = width;
+    int resizedHeight = height;
+    if (resizedWidth == 0) {
+      resizedWidth = scale(image.getWidth(), xscale);
+      resizedHeight = scale(image.getHeight(), yscale);
+    }
+    return new Resampler(mode, image.getWidth(), image.getHeight(), resizedWidth, resizedHeight)
+        .apply(image, pool);
+  }
+
+  /**
+   * Scales the width or height of an image by a factor.
+   *
+   * @param size  the width or height of the image
+   * @param scale the factor to scale it by
+   * @return the scaled width or height, which is at least 1
+   * @throws IllegalArgumentException if the scaled size is too large for an image
+   */
+  private static int scale(int size, double scale) throws IllegalArgumentException {
+    double scaled = (double) size * scale;
+    if (scaled >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The resized image would be too large.");
+    }
+    return Math.max(1, (int) scaled);
+  }
+}
@@ -8,6 +8,14 @@ import java.util.Objects;
  */
 public class RgbPixel implements Pixel {
 
+  // The number of bits used to index the cache of shared pixels
+  private static final int CACHE_BITS = 12;
+
+  // Recently requested pixels with 8-bit color values, indexed by a hash of their color. Entries
+  // may be replaced at any time by another color with the same index. RgbPixels are immutable, so
+  // sharing them between threads without synchronization is safe.
+  private static final RgbPixel[] CACHE = new RgbPixel[1 << CACHE_BITS];
+
   private final int red;
   private final int green;
   private final int blue;
@@ -27,6 +35,33 @@ public class RgbPixel implements Pixel {
     this.blue = blue;
   }
 
+  /**
+   * Gets an RgbPixel with the given red, green, and blue color values. Pixels whose color values
+   * are all in the range [0, 255] are shared through a bounded cache, so images that contain few
+   * distinct colors, such as mosaics and checkerboards, reuse the same instances instead of
+   * allocating a new pixel for every position. Pixels with values outside that range are always
+   * newly created.
+   *
+   * @param red   the red value for the pixel
+   * @param green the green value for the pixel
+   * @param blue  the blue value for the pixel
+   * @return a pixel with the given color values
+   */
+  public static RgbPixel of(int red, int green, int blue) {
+    if (((red | green | blue) & ~0xFF) != 0) {
+      return new RgbPixel(red, green, blue);
+    }
+    int rgb = (red << 16) | (green << 8) | blue;
+    int index = (rgb * 0x9E3779B1) >>> (Integer.SIZE - CACHE_BITS);
+    RgbPixel cached = CACHE[index];
+    if (cached != null && cached.red == red && cached.green == green && cached.blue == blue) {
+      return cached;
+    }
+    RgbPixel pixel = new RgbPixel(red, green, blue);
+    CACHE[index] = pixel;
+    return pixel;
+  }
+
   @Override
   public int getRedValue() {
     return red;
@@ -55,12 +90,15 @@ public class RgbPixel implements Pixel {
     int red = Math.max(min, Math.min(max, getRedValue()));
     int green = Math.max(min, Math.min(max, getGreenValue()));
     int blue = Math.max(min, Math.min(max, getBlueValue()));
-    return new RgbPixel(red, green, blue);
+    if (red == getRedValue() && green == getGreenValue() && blue == getBlueValue()) {
+      return this;
+    }
+    return of(red, green, blue);
   }
 
   @Override
   public Pixel fromRGB(int red, int green, int blue) {
-    return new RgbPixel(red, green, blue);
+    return of(red, green, blue);
   }
 
   @Override
@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * An operation that rotates an image clockwise by a multiple of 90 degrees. The rotated image is a
+ * view of the original image, so rotating takes constant time and memory no matter how large the
+ * image is.
+ */
+public class RotateOperation implements ImageOperation {
+
+  private final int quarterTurns;
+
+  /**
+   * Constructs a new RotateOperation.
+   *
+   * @param degrees the number of degrees to rotate images clockwise by. Negative values rotate
+   *                images counterclockwise.
+   * @throws IllegalArgumentException if the number of degrees is not a multiple of 90
+   */
+  public RotateOperation(int degrees) throws IllegalArgumentException {
+    if (degrees % 90 != 0) {
+      throw new IllegalArgumentException("Images can only be rotated by multiples of 90 degrees.");
+    }
+    this.quarterTurns = Math.floorMod(degrees / 90, 4);
+  }
+
+  /**
+   * Rotates an image. Rotating an image that is already rotated creates a single view of the
+   * original image, and rotations that add up to a full turn return the original image.
+   *
+   * @param image the image to rotate
+   * @return a view of the rotated image
+   * @throws IllegalArgumentException if the image is null
+   */
+  @Override
+  public Image apply(Image image) throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Image must not be null.");
+    }
+    Image source = image;
+    int turns = quarterTurns;
+    if (image instanceof RotatedImage) {
+      source = ((RotatedImage) image).getSource();
+      turns = (turns + ((RotatedImage) image).getQuarterTurns()) % 4;
+    }
+    if (turns == 0) {
+      return source;
+    }
+    return new RotatedImage(AbstractImageView.viewSource(source), turns);
+  }
+}
@@ -0,0 +1,110 @@
+package model;
+
+/**
+ * A view of another image rotated clockwise by a multiple of 90 degrees. Rotating by 90 or 270
+ * degrees swaps the width and height of the image.
+ */
+public class RotatedImage extends AbstractImageView {
+
+  private final int quarterTurns;
+
+  /**
+   * Constructs a new view of a rotated image.
+   *
+   * @param source       the image to rotate
+   * @param quarterTurns the number of times to rotate the image clockwise by 90 degrees. Negative
+   *                     values rotate the image counterclockwise.
+   * @throws IllegalArgumentException if the source is null
+   */
+  public RotatedImage(Image source, int quarterTurns) throws IllegalArgumentException {
+    super(source);
+    this.quarterTurns = Math.floorMod(quarterTurns, 4);
+  }
+
+  /**
+   * Gets the number of times this view rotates its source image clockwise by 90 degrees.
+   *
+   * @return the number of quarter turns in the range [0, 3]
+   */
+  public int getQuarterTurns() {
+    return quarterTurns;
+  }
+
+  @Override
+  public int getWidth() {
+    return quarterTurns % 2 == 0 ? source.getWidth() : source.getHeight();
+  }
+
+  @Override
+  public int getHeight() {
+    return quarterTurns % 2 == 0 ? source.getHeight() : source.getWidth();
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    switch (quarterTurns) {
+      case 1:
+        return source.getRgbAt(source.getHeight() - 1 - col, row);
+      case 2:
+        return source.getRgbAt(source.getHeight() - 1 - row, source.getWidth() - 1 - col);
+      case 3:
+        return source.getRgbAt(col, source.getWidth() - 1 - row);
+      default:
+        return source.getRgbAt(row, col);
+    }
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    getRgbRegion(row, col, width, height, dest, offset);
+    int shift = channelShift(channel);
+    for (int index = offset; index < offset + width * height; index += 1) {
+      dest[index] = (dest[index] >> shift) & 0xFF;
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (width == 0 || height == 0) {
+      return;
+    }
+    int sourceHeight = source.getHeight();
+    int sourceWidth = source.getWidth();
+    int[] region = new int[width * height];
+    switch (quarterTurns) {
+      case 1:
+        // The region is a block of the source image that is height pixels wide
+        source.getRgbRegion(sourceHeight - col - width, row, height, width, region, 0);
+        for (int r = 0; r < height; r += 1) {
+          for (int c = 0; c < width; c += 1) {
+            dest[offset + r * width + c] = region[(width - 1 - c) * height + r];
+          }
+        }
+        break;
+      case 2:
+        source.getRgbRegion(sourceHeight - row - height, sourceWidth - col - width, width,
+            height, region, 0);
+        for (int r = 0; r < height; r += 1) {
+          for (int c = 0; c < width; c += 1) {
+            dest[offset + r * width + c] = region[(height - 1 - r) * width + width - 1 - c];
+          }
+        }
+        break;
+      case 3:
+        source.getRgbRegion(col, sourceWidth - row - height, height, width, region, 0);
+        for (int r = 0; r < height; r += 1) {
+          for (int c = 0; c < width; c += 1) {
+            dest[offset + r * width + c] = region[c * height + height - 1 - r];
+          }
+        }
+        break;
+      default:
+        source.getRgbRegion(row, col, width, height, dest, offset);
+    }
+  }
+}
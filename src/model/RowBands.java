@@ -0,0 +1,98 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the rows of an image into horizontal bands and processes the bands on a {@link
+ * ForkJoinPool}. Each band starts on a row that is a multiple of an alignment, usually the tile
+ * height of the image, so that no tile is shared between two bands. Operations that write every
+ * band into the same {@link ImageBuilder} get the same result no matter how many threads are used.
+ */
+final class RowBands {
+
+  // The number of bands made for each thread of the pool, so that threads that finish their bands
+  // early can take bands from threads that are slower
+  private static final int BANDS_PER_THREAD = 4;
+
+  /**
+   * Processes a band of rows of an image.
+   */
+  interface BandTask {
+
+    /**
+     * Processes the rows in a band.
+     *
+     * @param top    the first row of the band
+     * @param bottom the row after the last row of the band
+     */
+    void process(int top, int bottom);
+  }
+
+  private RowBands() {
+  }
+
+  /**
+   * Processes every row of an image in bands. The bands are processed in parallel on the pool, or
+   * as a single band on the calling thread if the pool is null, only has one thread, or the image
+   * is too short to split. Exceptions thrown while processing a band are rethrown to the caller.
+   *
+   * @param pool      the pool to process the bands on, or null to process them on this thread
+   * @param height    the number of rows in the image
+   * @param alignment the number of rows that the height of each band must be a multiple of
+   * @param task      the task that processes each band
+   */
+  static void forEach(ForkJoinPool pool, int height, int alignment, BandTask task) {
+    if (pool == null || pool.getParallelism() == 1 || height <= alignment) {
+      task.process(0, height);
+      return;
+    }
+    int units = (height + alignment - 1) / alignment;
+    int bands = Math.min(units, pool.getParallelism() * BANDS_PER_THREAD);
+    int bandHeight = (units + bands - 1) / bands * alignment;
+    int count = (height + bandHeight - 1) / bandHeight;
+    pool.invoke(new BandAction(task, height, bandHeight, 0, count));
+  }
+
+  /**
+   * Processes a range of bands by splitting it in half until only one band is left.
+   */
+  private static final class BandAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BandTask task;
+    private final int height;
+    private final int bandHeight;
+    private final int first;
+    private final int last;
+
+    /**
+     * Constructs a new action that processes the bands from first up to but not including last.
+     *
+     * @param task       the task that processes each band
+     * @param height     the number of rows in the image
+     * @param bandHeight the number of rows in each band except possibly the last
+     * @param first      the index of the first band
+     * @param last       the index after the last band
+     */
+    BandAction(BandTask task, int height, int bandHeight, int first, int last) {
+      this.task = task;
+      this.height = height;
+      this.bandHeight = bandHeight;
+      this.first = first;
+      this.last = last;
+    }
+
+    @Override
+    protected void compute() {
+      if (last - first == 1) {
+        task.process(first * bandHeight, Math.min(height, (first + 1) * bandHeight));
+        return;
+      }
+      int middle = (first + last) >>> 1;
+      invokeAll(new BandAction(task, height, bandHeight, first, middle),
+          new BandAction(task, height, bandHeight, middle, last));
+    }
+  }
+}
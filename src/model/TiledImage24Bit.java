@@ -0,0 +1,260 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a 24-bit image whose pixels are stored in square tiles of {@value #TILE_SIZE} by
+ * {@value #TILE_SIZE} pixels. Each tile is an array of packed RGB values stored row by row, so the
+ * pixels that are close to each other in both directions are also close to each other in memory.
+ * Tiles are only allocated once a pixel in them has a color other than black, which keeps mostly
+ * empty images small. Tiles in the last row or column of tiles may be cut off by the edge of the
+ * image. TiledImage24Bits are immutable.
+ */
+public class TiledImage24Bit extends AbstractImage {
+
+  // The width and height of each tile in pixels
+  public static final int TILE_SIZE = 64;
+
+  private final int width;
+  private final int height;
+  private final int tilesAcross;
+  private final int[][] tiles;
+
+  /**
+   * Constructs a new TiledImage24Bit from packed RGB values. Bits 0-7 of each value represent the
+   * blue value. Bits 8-15 are green. Bits 16-23 are red. Bits 24-31 are ignored.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param rgb    the packed RGB values of the pixels in the image stored row by row
+   * @throws IllegalArgumentException if the array is null, if the width or height are not
+   *                                  positive, or if the array does not contain exactly width *
+   *                                  height values
+   */
+  public TiledImage24Bit(int width, int height, int[] rgb) throws IllegalArgumentException {
+    if (rgb == null) {
+      throw new IllegalArgumentException("RGB values must not be null.");
+    }
+    PackedImage24Bit.ensureValidSize(width, height, rgb.length);
+    TiledImageBuilder builder = new TiledImageBuilder(width, height);
+    builder.setRgbRegion(0, 0, width, height, rgb, 0);
+    this.width = width;
+    this.height = height;
+    this.tilesAcross = tilesAcross(width);
+    this.tiles = builder.takeTiles();
+  }
+
+  /**
+   * Constructs a new TiledImage24Bit that takes ownership of an array of tiles. Tiles that are null
+   * are treated as completely black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @param tiles  the tiles of the image stored row by row
+   */
+  TiledImage24Bit(int width, int height, int[][] tiles) {
+    this.width = width;
+    this.height = height;
+    this.tilesAcross = tilesAcross(width);
+    this.tiles = tiles;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getTileWidth() {
+    return TILE_SIZE;
+  }
+
+  @Override
+  public int getTileHeight() {
+    return TILE_SIZE;
+  }
+
+  /**
+   * Determines whether the tile containing a pixel has been allocated. Tiles that are not
+   * allocated take up no memory and all of their pixels are black.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @return whether the tile containing the pixel is allocated
+   * @throws IllegalArgumentException if the row or column is outside the image
+   */
+  public boolean isTileAllocated(int row, int col) throws IllegalArgumentException {
+    checkCoordinates(row, col);
+    return tiles[tileIndex(row, col)] != null;
+  }
+
+  @Override
+  protected int redAt(int row, int col) {
+    return (rgbAt(row, col) >> 16) & 0xFF;
+  }
+
+  @Override
+  protected int greenAt(int row, int col) {
+    return (rgbAt(row, col) >> 8) & 0xFF;
+  }
+
+  @Override
+  protected int blueAt(int row, int col) {
+    return rgbAt(row, col) & 0xFF;
+  }
+
+  @Override
+  protected int rgbAt(int row, int col) {
+    int[] tile = tiles[tileIndex(row, col)];
+    if (tile == null) {
+      return 0;
+    }
+    return tile[(row % TILE_SIZE) * TILE_SIZE + col % TILE_SIZE];
+  }
+
+  @Override
+  public void getRegion(int row, int col, int width, int height, ColorChannel channel,
+      int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int shift = channelShift(channel);
+    for (int r = 0; r < height; r += 1) {
+      int tileRow = (row + r) % TILE_SIZE;
+      int c = 0;
+      while (c < width) {
+        int[] tile = tiles[tileIndex(row + r, col + c)];
+        int tileCol = (col + c) % TILE_SIZE;
+        int count = Math.min(width - c, TILE_SIZE - tileCol);
+        int index = offset + r * width + c;
+        if (tile == null) {
+          for (int i = 0; i < count; i += 1) {
+            dest[index + i] = 0;
+          }
+        } else {
+          int source = tileRow * TILE_SIZE + tileCol;
+          for (int i = 0; i < count; i += 1) {
+            dest[index + i] = (tile[source + i] >> shift) & 0xFF;
+          }
+        }
+        c += count;
+      }
+    }
+  }
+
+  @Override
+  public void getRgbRegion(int row, int col, int width, int height, int[] dest, int offset) {
+    checkRegion(row, col, width, height, dest, offset);
+    for (int r = 0; r < height; r += 1) {
+      int tileRow = (row + r) % TILE_SIZE;
+      int c = 0;
+      while (c < width) {
+        int[] tile = tiles[tileIndex(row + r, col + c)];
+        int tileCol = (col + c) % TILE_SIZE;
+        int count = Math.min(width - c, TILE_SIZE - tileCol);
+        int index = offset + r * width + c;
+        if (tile == null) {
+          for (int i = 0; i < count; i += 1) {
+            dest[index + i] = 0;
+          }
+        } else {
+          System.arraycopy(tile, tileRow * TILE_SIZE + tileCol, dest, index, count);
+        }
+        c += count;
+      }
+    }
+  }
+
+  @Override
+  public Image fromPixels(Pixel[][] pixels, boolean clamp) {
+    return buildFromPixels(pixels, clamp);
+  }
+
+  @Override
+  public Image fromRgb(int width, int height, int[] rgb) {
+    return new TiledImage24Bit(width, height, rgb);
+  }
+
+  @Override
+  public ImageBuilder builder(int width, int height) {
+    return new TiledImageBuilder(width, height);
+  }
+
+  /**
+   * Compares the tiles of this image with the tiles of another tiled image of the same size. A tile
+   * that is not allocated is equal to a tile whose pixels are all black.
+   *
+   * @param other a tiled image of the same size as this image
+   * @return whether the images have the same color values
+   */
+  @Override
+  protected boolean rasterEquals(AbstractImage other) {
+    int[][] otherTiles = ((TiledImage24Bit) other).tiles;
+    for (int index = 0; index < tiles.length; index += 1) {
+      int[] tile = tiles[index];
+      int[] otherTile = otherTiles[index];
+      if (tile == null || otherTile == null) {
+        if (!isBlack(tile) || !isBlack(otherTile)) {
+          return false;
+        }
+      } else if (!Arrays.equals(tile, otherTile)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected int minValue() {
+    return Image24Bit.MIN_VALUE;
+  }
+
+  @Override
+  protected int maxValue() {
+    return Image24Bit.MAX_VALUE;
+  }
+
+  /**
+   * Determines whether every pixel in a tile is black.
+   *
+   * @param tile the tile to check, or null if the tile is not allocated
+   * @return whether the tile is black
+   */
+  private static boolean isBlack(int[] tile) {
+    if (tile != null) {
+      for (int rgb : tile) {
+        if (rgb != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the index of the tile containing a pixel.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @return the index of the tile in the array of tiles
+   */
+  private int tileIndex(int row, int col) {
+    return (row / TILE_SIZE) * tilesAcross + col / TILE_SIZE;
+  }
+
+  /**
+   * Calculates the number of tiles needed to cover a given number of pixels in one direction.
+   *
+   * @param pixels the number of pixels
+   * @return the number of tiles
+   */
+  static int tilesAcross(int pixels) {
+    return (pixels + TILE_SIZE - 1) / TILE_SIZE;
+  }
+}
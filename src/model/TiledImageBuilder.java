@@ -0,0 +1,224 @@
+package model;
+
+/**
+ * Builds a {@link TiledImage24Bit} by writing into square tiles of packed RGB values. A tile is
+ * only allocated the first time a pixel in it is set to a color other than black. The tiles are
+ * handed to the image without being copied when the image is built.
+ */
+public class TiledImageBuilder implements ImageBuilder {
+
+  private static final int TILE_SIZE = TiledImage24Bit.TILE_SIZE;
+
+  private final int width;
+  private final int height;
+  private final int tilesAcross;
+  private int[][] tiles;
+
+  /**
+   * Constructs a new TiledImageBuilder for an image of the given size where every pixel starts out
+   * black.
+   *
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IllegalArgumentException if the width or height are not positive
+   */
+  public TiledImageBuilder(int width, int height) throws IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Image must contain at least one pixel.");
+    }
+    this.width = width;
+    this.height = height;
+    this.tilesAcross = TiledImage24Bit.tilesAcross(width);
+    this.tiles = new int[tilesAcross * TiledImage24Bit.tilesAcross(height)][];
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void setRgb(int row, int col, int rgb) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    put(row, col, rgb & 0xFFFFFF);
+  }
+
+  @Override
+  public void setPixel(int row, int col, int red, int green, int blue) {
+    ensureNotBuilt();
+    ensureValidCoordinates(row, col);
+    put(row, col, PackedImage24Bit.packClamped(red, green, blue));
+  }
+
+  @Override
+  public void setRgbRow(int row, int[] rgb, int offset) {
+    setRgbRegion(row, 0, width, 1, rgb, offset);
+  }
+
+  @Override
+  public void setRgbRegion(int row, int col, int width, int height, int[] rgb, int offset) {
+    ensureNotBuilt();
+    PackedImageBuilder.ensureValidRegion(this.width, this.height, row, col, width, height, rgb,
+        offset);
+    for (int r = 0; r < height; r += 1) {
+      int tileRow = (row + r) % TILE_SIZE;
+      int c = 0;
+      while (c < width) {
+        int tileIndex = tileIndex(row + r, col + c);
+        int tileCol = (col + c) % TILE_SIZE;
+        int count = Math.min(width - c, TILE_SIZE - tileCol);
+        int index = offset + r * width + c;
+        int[] tile = tiles[tileIndex];
+        if (tile == null && !allBlack(rgb, index, count)) {
+          tile = allocateTile(tileIndex);
+        }
+        if (tile != null) {
+          int start = tileRow * TILE_SIZE + tileCol;
+          for (int i = 0; i < count; i += 1) {
+            tile[start + i] = rgb[index + i] & 0xFFFFFF;
+          }
+        }
+        c += count;
+      }
+    }
+  }
+
+  @Override
+  public void setRow(int row, ColorChannel channel, int[] values, int offset) {
+    ensureNotBuilt();
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not be null.");
+    }
+    if (row < 0 || row >= height) {
+      throw new IllegalArgumentException("Invalid row.");
+    }
+    if (offset < 0 || width > values.length - offset) {
+      throw new IllegalArgumentException("Array is too small to hold the row.");
+    }
+    if (channel == null) {
+      throw new IllegalArgumentException("Color channel must not be null.");
+    }
+    int shift = AbstractImage.channelShift(channel);
+    int mask = ~(0xFF << shift);
+    for (int col = 0; col < width; col += 1) {
+      int value = Math.max(Image24Bit.MIN_VALUE,
+          Math.min(Image24Bit.MAX_VALUE, values[offset + col]));
+      int[] tile = tiles[tileIndex(row, col)];
+      int index = (row % TILE_SIZE) * TILE_SIZE + col % TILE_SIZE;
+      int old = tile == null ? 0 : tile[index];
+      put(row, col, (old & mask) | (value << shift));
+    }
+  }
+
+  @Override
+  public Image build() {
+    return new TiledImage24Bit(width, height, takeTiles());
+  }
+
+  /**
+   * Takes the tiles that have been written so far, after which the builder can no longer be
+   * written to.
+   *
+   * @return the tiles of the image stored row by row
+   * @throws IllegalStateException if the image has already been built
+   */
+  int[][] takeTiles() throws IllegalStateException {
+    ensureNotBuilt();
+    int[][] result = tiles;
+    tiles = null;
+    return result;
+  }
+
+  /**
+   * Stores the packed RGB value of a pixel, allocating its tile if needed.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @param rgb the packed RGB value with bits 24-31 cleared
+   */
+  private void put(int row, int col, int rgb) {
+    int tileIndex = tileIndex(row, col);
+    int[] tile = tiles[tileIndex];
+    if (tile == null) {
+      if (rgb == 0) {
+        return;
+      }
+      tile = allocateTile(tileIndex);
+    }
+    tile[(row % TILE_SIZE) * TILE_SIZE + col % TILE_SIZE] = rgb;
+  }
+
+  /**
+   * Allocates a tile unless another thread writing to a different part of the same tile has
+   * already allocated it.
+   *
+   * @param tileIndex the index of the tile
+   * @return the tile
+   */
+  private synchronized int[] allocateTile(int tileIndex) {
+    int[] tile = tiles[tileIndex];
+    if (tile == null) {
+      tile = new int[TILE_SIZE * TILE_SIZE];
+      tiles[tileIndex] = tile;
+    }
+    return tile;
+  }
+
+  /**
+   * Determines whether a range of packed RGB values are all black.
+   *
+   * @param rgb    the array of packed RGB values
+   * @param offset the index of the first value
+   * @param count  the number of values to check
+   * @return whether every value is black, ignoring bits 24-31
+   */
+  private static boolean allBlack(int[] rgb, int offset, int count) {
+    for (int index = offset; index < offset + count; index += 1) {
+      if ((rgb[index] & 0xFFFFFF) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the index of the tile containing a pixel.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @return the index of the tile in the array of tiles
+   */
+  private int tileIndex(int row, int col) {
+    return (row / TILE_SIZE) * tilesAcross + col / TILE_SIZE;
+  }
+
+  /**
+   * Ensures that the image has not been built yet.
+   *
+   * @throws IllegalStateException if the image has already been built
+   */
+  private void ensureNotBuilt() throws IllegalStateException {
+    if (tiles == null) {
+      throw new IllegalStateException("The image has already been built.");
+    }
+  }
+
+  /**
+   * Ensures that a coordinate is a valid index for a pixel in the image.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @throws IllegalArgumentException if the coordinate is outside the image
+   */
+  private void ensureValidCoordinates(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IllegalArgumentException("Invalid row or column.");
+    }
+  }
+}
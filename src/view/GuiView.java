@@ -31,7 +31,6 @@ import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
 import model.ImageProcessingModelState;
 import model.MosaicOperation;
-import model.Pixel;
 
 /**
  * Displays information to the user in a graphical interface. Allows the user to execute operations
@@ -468,14 +467,10 @@ public class GuiView extends JFrame implements GuiImageProcessingView {
   private BufferedImage convertImage(Image image) {
     BufferedImage buffer = new BufferedImage(image.getWidth(),
         image.getHeight(), BufferedImage.TYPE_INT_BGR);
+    int[] row = new int[image.getWidth()];
     for (int r = 0; r < image.getHeight(); r += 1) {
-      for (int c = 0; c < image.getWidth(); c += 1) {
-        Pixel pixel = image.getPixelAt(r, c);
-        int rgb = pixel.getBlueValue()
-            + (pixel.getGreenValue() << 8)
-            + (pixel.getRedValue() << 16);
-        buffer.setRGB(c, r, rgb);
-      }
+      image.getRgbRow(r, row, 0);
+      buffer.setRGB(0, r, image.getWidth(), 1, row, 0, image.getWidth());
     }
     return buffer;
   }
@@ -0,0 +1,97 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+import model.BoxBlurOperation;
+import model.Image;
+import model.ImageExamples;
+import model.PackedImage24Bit;
+import model.TiledImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests for the BoxBlurOperation class.
+ */
+public class BoxBlurOperationTest {
+
+  // Tests constructing a BoxBlurOperation with a negative radius
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNegativeRadius() {
+    new BoxBlurOperation(-1);
+  }
+
+  // Tests applying a BoxBlurOperation to a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNullImage() {
+    new BoxBlurOperation(1).apply(null);
+  }
+
+  // Tests that a radius of zero doesn't change an image
+  @Test
+  public void testApplyZeroRadius() {
+    Image image = ImageExamples.rainbow(20, 15);
+    assertEquals(image, new BoxBlurOperation(0).apply(image));
+  }
+
+  // Tests the averages of a small image, including the edges where the square is cut off
+  @Test
+  public void testApplySmallImage() {
+    Image image = new PackedImage24Bit(3, 1, new int[]{0x0A0000, 0x140000, 0x210000});
+    Image blurred = new BoxBlurOperation(1).apply(image);
+    assertEquals(15, blurred.getRedValueAt(0, 0));
+    assertEquals(21, blurred.getRedValueAt(0, 1));
+    assertEquals(26, blurred.getRedValueAt(0, 2));
+  }
+
+  // Tests that every pixel is the average of the pixels around it that are inside the image
+  @Test
+  public void testApplyRainbow() {
+    Image image = ImageExamples.rainbow(31, 23);
+    int radius = 4;
+    Image blurred = new BoxBlurOperation(radius).apply(image);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        int total = 0;
+        int count = 0;
+        for (int r = row - radius; r <= row + radius; r += 1) {
+          for (int c = col - radius; c <= col + radius; c += 1) {
+            if (r >= 0 && r < image.getHeight() && c >= 0 && c < image.getWidth()) {
+              total += image.getBlueValueAt(r, c);
+              count += 1;
+            }
+          }
+        }
+        assertEquals(total / count, blurred.getBlueValueAt(row, col));
+      }
+    }
+  }
+
+  // Tests that a radius larger than the image averages the whole image
+  @Test
+  public void testApplyLargeRadius() {
+    Image image = new PackedImage24Bit(2, 2, new int[]{0x000000, 0x040404, 0x080808, 0x0C0C0C});
+    Image blurred = new BoxBlurOperation(100).apply(image);
+    for (int row = 0; row < 2; row += 1) {
+      for (int col = 0; col < 2; col += 1) {
+        assertEquals(0x060606, blurred.getRgbAt(row, col));
+      }
+    }
+  }
+
+  // Tests that blurring bands of rows in parallel gives the same result as a single thread
+  @Test
+  public void testApplyParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Image rainbow = ImageExamples.rainbow(150, 300);
+      int[] rgb = new int[150 * 300];
+      for (int row = 0; row < 300; row += 1) {
+        rainbow.getRgbRow(row, rgb, row * 150);
+      }
+      Image image = new TiledImage24Bit(150, 300, rgb);
+      Image expected = new BoxBlurOperation(7).apply(image);
+      assertEquals(expected, new BoxBlurOperation(7, pool).apply(image));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import model.ChannelImage;
+import model.ColorChannel;
+import model.Image;
+import model.PackedImage24Bit;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the ChannelImage class.
+ */
+public class ChannelImageTest {
+
+  private final Image source;
+
+  /**
+   * Construct a new ChannelImageTest object initializing all example data for testing.
+   */
+  public ChannelImageTest() {
+    this.source = new PackedImage24Bit(2, 1, new int[]{0x102030, 0x405060});
+  }
+
+  // Tests creating a view without a channel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullChannel() {
+    new ChannelImage(source, null);
+  }
+
+  // Tests extracting a color channel as a greyscale image.
+  @Test
+  public void testExtractChannel() {
+    Image green = new ChannelImage(source, ColorChannel.GREEN);
+    assertEquals(new RgbPixel(0x20, 0x20, 0x20), green.getPixelAt(0, 0));
+    assertEquals(0x50, green.getValueAt(0, 1, ColorChannel.RED));
+    int[] row = new int[2];
+    green.getRgbRow(0, row, 0);
+    assertArrayEquals(new int[]{0x202020, 0x505050}, row);
+    green.getRow(0, ColorChannel.BLUE, row, 0);
+    assertArrayEquals(new int[]{0x20, 0x50}, row);
+  }
+}
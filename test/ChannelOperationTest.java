@@ -0,0 +1,35 @@
+import static org.junit.Assert.assertEquals;
+
+import model.ChannelOperation;
+import model.ColorChannel;
+import model.Image;
+import model.ImageExamples;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the ChannelOperation class.
+ */
+public class ChannelOperationTest {
+
+  // Tests constructing an operation without a channel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNull() {
+    new ChannelOperation(null);
+  }
+
+  // Tests applying the operation to a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNull() {
+    new ChannelOperation(ColorChannel.RED).apply(null);
+  }
+
+  // Tests extracting a channel from an image.
+  @Test
+  public void testApply() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image red = new ChannelOperation(ColorChannel.RED).apply(image);
+    int value = image.getRedValueAt(5, 5);
+    assertEquals(new RgbPixel(value, value, value), red.getPixelAt(5, 5));
+  }
+}
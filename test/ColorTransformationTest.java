@@ -1,6 +1,10 @@
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.ForkJoinPool;
+import model.Arithmetic;
+import model.ColorChannel;
 import model.ColorTransformation;
+import model.DirectImage24Bit;
 import model.FilterOperation;
 import model.Image;
 import model.Image24Bit;
@@ -8,8 +12,11 @@ import model.ImageExamples;
 import model.ImageOperation;
 import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
+import model.PackedImage24Bit;
 import model.Pixel;
+import model.PlanarImage24Bit;
 import model.RgbPixel;
+import model.TiledImage24Bit;
 import org.junit.Test;
 
 /**
@@ -195,4 +202,127 @@ public class ColorTransformationTest {
     Image filtered = identity.apply(exampleImage2);
     assertEquals(exampleImage2, filtered);
   }
-}
\ No newline at end of file
+
+  // Tests constructing a ColorTransformation object with null arithmetic
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullArithmetic() {
+    new ColorTransformation(new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}}, null);
+  }
+
+  // Tests constructing a fixed-point ColorTransformation with weights that could overflow
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorFixedPointOverflow() {
+    new ColorTransformation(new double[][]{{200, 0, 0}, {0, 1, 0}, {0, 0, 1}},
+        Arithmetic.FIXED_POINT);
+  }
+
+  // Tests that fixed-point arithmetic is exact for weights that are multiples of 1 / 65536 and
+  // within 1 of floating-point arithmetic for other weights
+  @Test
+  public void testApplyFixedPoint() {
+    double[][] exact = {{0.5, 0.25, 0.25}, {-0.125, 1.5, 0}, {0, 0, 0.75}};
+    double[][] sepia = {{0.393, 0.769, 0.189}, {0.349, 0.686, 0.168}, {0.272, 0.534, 0.131}};
+    Image image = ImageExamples.rainbow(64, 80);
+    assertEquals(new ColorTransformation(exact).apply(image),
+        new ColorTransformation(exact, Arithmetic.FIXED_POINT).apply(image));
+
+    Image expected = new ColorTransformation(sepia).apply(image);
+    Image result = new ColorTransformation(sepia, Arithmetic.FIXED_POINT).apply(image);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        for (ColorChannel channel : ColorChannel.values()) {
+          assertEquals(expected.getValueAt(row, col, channel),
+              result.getValueAt(row, col, channel), 1);
+        }
+      }
+    }
+  }
+
+  // Tests combining a transformation with null
+  @Test(expected = IllegalArgumentException.class)
+  public void testAndThenNull() {
+    new ColorTransformation(new double[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}}).andThen(null);
+  }
+
+  // Tests that combining transformations multiplies their matrices
+  @Test
+  public void testAndThenMultipliesMatrices() {
+    double[][] swap = {{0, 1, 0}, {0, 0, 1}, {1, 0, 0}};
+    double[][] scale = {{0.5, 0, 0}, {0, 0.25, 0}, {0, 0, 2}};
+    double[][] product = {{0, 0.5, 0}, {0, 0, 0.25}, {2, 0, 0}};
+    Image image = ImageExamples.rainbow(30, 20);
+    ColorTransformation combined = new ColorTransformation(swap)
+        .andThen(new ColorTransformation(scale));
+    assertEquals(new ColorTransformation(product).apply(image), combined.apply(image));
+    assertEquals(new ColorTransformation(scale).apply(new ColorTransformation(swap).apply(image)),
+        combined.apply(image));
+  }
+
+  // Tests that combining fixed-point transformations gives a fixed-point transformation
+  @Test
+  public void testAndThenFixedPoint() {
+    double[][] sepia = {{0.393, 0.769, 0.189}, {0.349, 0.686, 0.168}, {0.272, 0.534, 0.131}};
+    double[][] half = {{0.5, 0, 0}, {0, 0.5, 0}, {0, 0, 0.5}};
+    double[][] product = {{0.1965, 0.3845, 0.0945}, {0.1745, 0.343, 0.084},
+        {0.136, 0.267, 0.0655}};
+    Image image = ImageExamples.rainbow(40, 40);
+    ColorTransformation combined = new ColorTransformation(sepia, Arithmetic.FIXED_POINT)
+        .andThen(new ColorTransformation(half, Arithmetic.FIXED_POINT));
+    assertEquals(new ColorTransformation(product, Arithmetic.FIXED_POINT).apply(image),
+        combined.apply(image));
+  }
+
+  // Tests that a chain that clamps after each step gives exactly the colors of applying each
+  // transformation separately, even where the steps clamp
+  @Test
+  public void testAndThenClampEachStep() {
+    ColorTransformation sepia = (ColorTransformation) ImageOperationCreator.create(
+        OperationType.SEPIA);
+    ColorTransformation greyscale = (ColorTransformation) ImageOperationCreator.create(
+        OperationType.GREYSCALE);
+    ColorTransformation darken = new ColorTransformation(
+        new double[][]{{0.7, 0.1, 0}, {0, 0.7, 0.1}, {0.1, 0, 0.7}}, Arithmetic.FIXED_POINT);
+    Image image = ImageExamples.rainbow(70, 50);
+    Image expected = darken.apply(greyscale.apply(sepia.apply(image)));
+
+    ColorTransformation chain = sepia.andThen(greyscale, true).andThen(darken, true);
+    assertEquals(expected, chain.apply(image));
+    ColorTransformation nested = sepia.andThen(greyscale.andThen(darken, true), true);
+    assertEquals(expected, nested.apply(image));
+  }
+
+  // Tests that transforming bands of rows in parallel gives the same result as a single thread,
+  // for single transformations and for chains
+  @Test
+  public void testApplyParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Image rainbow = ImageExamples.rainbow(150, 300);
+      int[] rgb = new int[150 * 300];
+      for (int row = 0; row < 300; row += 1) {
+        rainbow.getRgbRow(row, rgb, row * 150);
+      }
+      Image[] images = {new PackedImage24Bit(150, 300, rgb), new PlanarImage24Bit(150, 300, rgb),
+          new TiledImage24Bit(150, 300, rgb), new DirectImage24Bit(150, 300, rgb)};
+      double[][] sepia = {{0.393, 0.769, 0.189}, {0.349, 0.686, 0.168}, {0.272, 0.534, 0.131}};
+      ColorTransformation greyscale = (ColorTransformation) ImageOperationCreator.create(
+          OperationType.GREYSCALE);
+      for (Image image : images) {
+        for (Arithmetic arithmetic : Arithmetic.values()) {
+          Image expected = new ColorTransformation(sepia, arithmetic).apply(image);
+          Image result = new ColorTransformation(sepia, arithmetic, pool).apply(image);
+          assertEquals(image.getClass(), result.getClass());
+          assertEquals(expected, result);
+        }
+        Image expected = greyscale.apply(new ColorTransformation(sepia).apply(image));
+        ColorTransformation chain = new ColorTransformation(sepia, Arithmetic.FLOATING_POINT,
+            pool).andThen(greyscale, true);
+        assertEquals(expected, chain.apply(image));
+        assertEquals(ImageOperationCreator.create(OperationType.SEPIA).apply(image),
+            ImageOperationCreator.create(OperationType.SEPIA, pool).apply(image));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.CropOperation;
+import model.CroppedImage;
+import model.Image;
+import model.ImageExamples;
+import org.junit.Test;
+
+/**
+ * Tests the CropOperation class.
+ */
+public class CropOperationTest {
+
+  // Tests constructing an operation with a negative coordinate.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNegativeCoordinate() {
+    new CropOperation(-1, 0, 1, 1);
+  }
+
+  // Tests constructing an operation with an empty region.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorEmptyRegion() {
+    new CropOperation(0, 0, 1, 0);
+  }
+
+  // Tests applying the operation to a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNull() {
+    new CropOperation(0, 0, 1, 1).apply(null);
+  }
+
+  // Tests cropping to a region that does not fit in the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyOutside() {
+    new CropOperation(8, 0, 3, 1).apply(ImageExamples.rainbow(10, 12));
+  }
+
+  // Tests cropping an image.
+  @Test
+  public void testApply() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image cropped = new CropOperation(2, 3, 4, 5).apply(image);
+    assertEquals(4, cropped.getWidth());
+    assertEquals(5, cropped.getHeight());
+    assertEquals(image.getPixelAt(3, 2), cropped.getPixelAt(0, 0));
+    assertEquals(image.getPixelAt(7, 5), cropped.getPixelAt(4, 3));
+  }
+
+  // Tests that cropping a cropped image creates one view of the original image.
+  @Test
+  public void testApplyTwice() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image cropped = new CropOperation(1, 1, 2, 2).apply(new CropOperation(2, 3, 4, 5).apply(image));
+    assertTrue(cropped instanceof CroppedImage);
+    assertSame(image, ((CroppedImage) cropped).getSource());
+    assertEquals(image.getPixelAt(4, 3), cropped.getPixelAt(0, 0));
+  }
+}
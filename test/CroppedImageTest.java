@@ -0,0 +1,73 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.CroppedImage;
+import model.Image;
+import model.PackedImage24Bit;
+import model.PlanarImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests the CroppedImage class.
+ */
+public class CroppedImageTest {
+
+  private final Image source;
+  private final CroppedImage cropped;
+
+  /**
+   * Construct a new CroppedImageTest object initializing all example data for testing.
+   */
+  public CroppedImageTest() {
+    int[] rgb = new int[4 * 3];
+    for (int index = 0; index < rgb.length; index += 1) {
+      rgb[index] = index * 0x010203;
+    }
+    this.source = new PlanarImage24Bit(4, 3, rgb);
+    this.cropped = new CroppedImage(source, 1, 2, 2, 2);
+  }
+
+  // Tests creating a view of a region that doesn't fit in the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorOutside() {
+    new CroppedImage(source, 2, 2, 2, 2);
+  }
+
+  // Tests creating a view of an empty region.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorEmpty() {
+    new CroppedImage(source, 0, 0, 0, 1);
+  }
+
+  // Tests reading the pixels of the view.
+  @Test
+  public void testGetValues() {
+    assertEquals(2, cropped.getWidth());
+    assertEquals(2, cropped.getHeight());
+    assertEquals(source.getRgbAt(1, 2), cropped.getRgbAt(0, 0));
+    assertEquals(source.getPixelAt(2, 3), cropped.getPixelAt(1, 1));
+    int[] region = new int[4];
+    cropped.getRegion(0, 0, 2, 2, ColorChannel.BLUE, region, 0);
+    assertArrayEquals(new int[]{18, 21, 30, 33}, region);
+    assertEquals(new PackedImage24Bit(2, 2, new int[]{6 * 0x010203, 7 * 0x010203,
+        10 * 0x010203, 11 * 0x010203}), cropped);
+  }
+
+  // Tests reading a pixel outside the view that is inside the source image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetValueOutside() {
+    cropped.getRgbAt(0, 2);
+  }
+
+  // Tests that materializing the view stores its pixels like the source image.
+  @Test
+  public void testMaterialize() {
+    Image materialized = cropped.materialize();
+    assertTrue(materialized instanceof PlanarImage24Bit);
+    assertEquals(cropped, materialized);
+    assertSame(source, cropped.getSource());
+  }
+}
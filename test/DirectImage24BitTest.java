@@ -0,0 +1,149 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.DirectImage24Bit;
+import model.Image;
+import model.ImageExamples;
+import model.ImageOperationCreator;
+import model.ImageOperationCreator.OperationType;
+import model.PackedImage24Bit;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the DirectImage24Bit class.
+ */
+public class DirectImage24BitTest {
+
+  private final DirectImage24Bit exampleImage;
+
+  /**
+   * Construct a new DirectImage24BitTest object initializing all example data for testing.
+   */
+  public DirectImage24BitTest() {
+    this.exampleImage = new DirectImage24Bit(2, 2,
+        new int[]{0x0A0B0C, 0xFF0000, 0x00C800, 0xFF000080});
+  }
+
+  // Tests constructing an image with null values.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullValues() {
+    new DirectImage24Bit(1, 1, null);
+  }
+
+  // Tests constructing an image with values that don't match the dimensions.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWrongLength() {
+    new DirectImage24Bit(2, 2, new int[3]);
+  }
+
+  // Tests constructing an image by copying a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullImage() {
+    new DirectImage24Bit(null);
+  }
+
+  // Tests getting the color values of pixels, including values above 127 and ignored alpha bits.
+  @Test
+  public void testGetValues() {
+    assertEquals(new RgbPixel(10, 11, 12), exampleImage.getPixelAt(0, 0));
+    assertEquals(255, exampleImage.getRedValueAt(0, 1));
+    assertEquals(200, exampleImage.getValueAt(1, 0, ColorChannel.GREEN));
+    assertEquals(128, exampleImage.getBlueValueAt(1, 1));
+    assertEquals(0x000080, exampleImage.getRgbAt(1, 1));
+  }
+
+  // Tests copying rows and regions.
+  @Test
+  public void testBulkAccessors() {
+    int[] row = new int[2];
+    exampleImage.getRow(0, ColorChannel.RED, row, 0);
+    assertArrayEquals(new int[]{10, 255}, row);
+    exampleImage.getRgbRegion(1, 0, 2, 1, row, 0);
+    assertArrayEquals(new int[]{0x00C800, 0x000080}, row);
+  }
+
+  // Tests that copying another image produces an equal image with the same hash code.
+  @Test
+  public void testCopyImage() {
+    Image rainbow = ImageExamples.rainbow(3, 7);
+    Image copy = new DirectImage24Bit(rainbow);
+    assertEquals(rainbow, copy);
+    assertEquals(copy, rainbow);
+    assertEquals(rainbow.hashCode(), copy.hashCode());
+  }
+
+  // Tests that direct images are equal to packed images with the same colors.
+  @Test
+  public void testEqualsPacked() {
+    Image packed = new PackedImage24Bit(2, 2, new int[]{0x0A0B0C, 0xFF0000, 0x00C800, 0x80});
+    assertEquals(packed, exampleImage);
+    assertEquals(packed.hashCode(), exampleImage.hashCode());
+  }
+
+  // Tests that operations on direct images produce direct images with the same colors.
+  @Test
+  public void testOperationsKeepRepresentation() {
+    Image rainbow = ImageExamples.rainbow(4, 7);
+    for (OperationType type : OperationType.values()) {
+      Image expected = ImageOperationCreator.create(type).apply(rainbow);
+      Image result = ImageOperationCreator.create(type).apply(new DirectImage24Bit(rainbow));
+      assertTrue(result instanceof DirectImage24Bit);
+      assertEquals(expected, result);
+    }
+  }
+
+  // Tests that closing an image releases it.
+  @Test
+  public void testClose() {
+    assertFalse(exampleImage.isClosed());
+    exampleImage.close();
+    exampleImage.close();
+    assertTrue(exampleImage.isClosed());
+    assertEquals(2, exampleImage.getWidth());
+  }
+
+  // Tests that new images of the same size as a closed image, which reuse its memory, start out
+  // black instead of with the pixels of the closed image.
+  @Test
+  public void testCloseReusedMemoryStartsBlack() {
+    DirectImage24Bit image = new DirectImage24Bit(3, 1, new int[]{0x123456, 0xFFFFFF, 0xABCDEF});
+    image.close();
+    Image built = image.builder(3, 1).build();
+    for (int col = 0; col < 3; col += 1) {
+      assertEquals(0, built.getRgbAt(0, col));
+    }
+    image = new DirectImage24Bit(3, 1, new int[]{0x123456, 0xFFFFFF, 0xABCDEF});
+    image.close();
+    Image copied = new DirectImage24Bit(3, 1, new int[]{0, 0x010203, 0});
+    assertEquals(0, copied.getRgbAt(0, 0));
+    assertEquals(0x010203, copied.getRgbAt(0, 1));
+    assertEquals(0, copied.getRgbAt(0, 2));
+  }
+
+  // Tests reading a pixel from a closed image.
+  @Test(expected = IllegalStateException.class)
+  public void testGetValueAfterClose() {
+    exampleImage.close();
+    exampleImage.getRedValueAt(0, 0);
+  }
+
+  // Tests reading a row from a closed image.
+  @Test(expected = IllegalStateException.class)
+  public void testGetRowAfterClose() {
+    exampleImage.close();
+    exampleImage.getRgbRow(0, new int[2], 0);
+  }
+
+  // Tests comparing a closed image with another direct image.
+  @Test(expected = IllegalStateException.class)
+  public void testEqualsAfterClose() {
+    Image copy = new DirectImage24Bit(exampleImage);
+    assertEquals(exampleImage, copy);
+    exampleImage.close();
+    exampleImage.equals(copy);
+  }
+}
@@ -0,0 +1,65 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.DirectImage24Bit;
+import model.DirectImageBuilder;
+import model.Image;
+import model.ImageBuilder;
+import model.PackedImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests the DirectImageBuilder class.
+ */
+public class DirectImageBuilderTest {
+
+  // Tests constructing a builder with an invalid size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidSize() {
+    new DirectImageBuilder(0, 3);
+  }
+
+  // Tests that setting a pixel clamps its values.
+  @Test
+  public void testSetPixelClamps() {
+    ImageBuilder builder = new DirectImageBuilder(2, 1);
+    builder.setPixel(0, 0, 300, -20, 128);
+    builder.setRgb(0, 1, 0x123456);
+    Image image = builder.build();
+    assertTrue(image instanceof DirectImage24Bit);
+    assertEquals(new PackedImage24Bit(2, 1, new int[]{0xFF0080, 0x123456}), image);
+  }
+
+  // Tests setting whole rows of packed values and single channels.
+  @Test
+  public void testSetRows() {
+    ImageBuilder builder = new DirectImageBuilder(2, 2);
+    builder.setRgbRow(0, new int[]{0xFFFFFF, 0x808080}, 0);
+    builder.setRow(1, ColorChannel.GREEN, new int[]{0, 7, 400}, 1);
+    assertEquals(new PackedImage24Bit(2, 2, new int[]{0xFFFFFF, 0x808080, 0x000700, 0x00FF00}),
+        builder.build());
+  }
+
+  // Tests setting a pixel outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetOutside() {
+    new DirectImageBuilder(2, 2).setRgb(2, 0, 0);
+  }
+
+  // Tests building the image twice.
+  @Test(expected = IllegalStateException.class)
+  public void testBuildTwice() {
+    ImageBuilder builder = new DirectImageBuilder(1, 1);
+    builder.build();
+    builder.build();
+  }
+
+  // Tests writing to the builder after the image has been built.
+  @Test(expected = IllegalStateException.class)
+  public void testSetAfterBuild() {
+    ImageBuilder builder = new DirectImageBuilder(1, 1);
+    builder.build();
+    builder.setRgb(0, 0, 0);
+  }
+}
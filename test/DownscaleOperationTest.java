@@ -1,9 +1,16 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import model.DownscaleOperation;
 import model.Image;
 import model.ImageExamples;
+import model.ImagePyramid;
+import model.PackedImage24Bit;
+import model.ResamplingMode;
 import model.RgbPixel;
+import model.TiledImage24Bit;
 import org.junit.Test;
 
 /**
@@ -86,4 +93,130 @@ public class DownscaleOperationTest {
     assertEquals(new RgbPixel(3, 38, 199), output.getPixelAt(2, 2));
     assertEquals(new RgbPixel(190, 255, 87), output.getPixelAt(3, 2));
   }
-}
\ No newline at end of file
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullMode() {
+    new DownscaleOperation(0.5, 0.5, null);
+  }
+
+  @Test
+  public void testDownscaleBilinearMode() {
+    Image image = ImageExamples.rainbow(37, 23);
+    assertEquals(new DownscaleOperation(0.3, 0.7).apply(image),
+        new DownscaleOperation(0.3, 0.7, ResamplingMode.BILINEAR).apply(image));
+  }
+
+  @Test
+  public void testDownscaleAreaHalf() {
+    Image image = new PackedImage24Bit(4, 2, new int[]{
+        0x000000, 0x0A1400, 0xFFFFFF, 0xFFFFFF,
+        0x020000, 0x000A01, 0x000000, 0x010101});
+    Image output = new DownscaleOperation(0.5, 0.5, ResamplingMode.AREA).apply(image);
+    assertEquals(2, output.getWidth());
+    assertEquals(1, output.getHeight());
+    assertEquals(0x030800, output.getRgbAt(0, 0));
+    assertEquals(0x808080, output.getRgbAt(0, 1));
+  }
+
+  @Test
+  public void testDownscaleAreaPartialCoverage() {
+    Image image = new PackedImage24Bit(3, 1, new int[]{0x000000, 0x960000, 0xFF0000});
+    Image output = new DownscaleOperation(0.67, 1, ResamplingMode.AREA).apply(image);
+    assertEquals(2, output.getWidth());
+    assertEquals(50, output.getRedValueAt(0, 0));
+    assertEquals(220, output.getRedValueAt(0, 1));
+  }
+
+  @Test
+  public void testDownscaleModesKeepSolidColor() {
+    int[] rgb = new int[90 * 70];
+    Arrays.fill(rgb, 0x64C81E);
+    Image image = new TiledImage24Bit(90, 70, rgb);
+    for (ResamplingMode mode : ResamplingMode.values()) {
+      Image output = new DownscaleOperation(0.13, 0.4, mode).apply(image);
+      assertEquals(TiledImage24Bit.class, output.getClass());
+      assertEquals(11, output.getWidth());
+      assertEquals(28, output.getHeight());
+      for (int row = 0; row < 28; row += 1) {
+        for (int col = 0; col < 11; col += 1) {
+          assertEquals(0x64C81E, output.getRgbAt(row, col));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDownscaleAreaAveragesFineDetail() {
+    Image image = ImageExamples.checkerboard(200, 200, 1, 1,
+        new RgbPixel(0, 0, 0), new RgbPixel(200, 200, 200));
+    Image output = new DownscaleOperation(0.05, 0.05, ResamplingMode.AREA).apply(image);
+    assertEquals(10, output.getWidth());
+    for (int row = 0; row < 10; row += 1) {
+      for (int col = 0; col < 10; col += 1) {
+        assertEquals(100, output.getRedValueAt(row, col));
+      }
+    }
+    for (ResamplingMode mode : new ResamplingMode[]{ResamplingMode.LANCZOS3,
+        ResamplingMode.MITCHELL}) {
+      Image filtered = new DownscaleOperation(0.05, 0.05, mode).apply(image);
+      for (int row = 0; row < 10; row += 1) {
+        for (int col = 0; col < 10; col += 1) {
+          assertEquals(100, filtered.getRedValueAt(row, col), 2);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIsFromPyramid() {
+    assertFalse(new DownscaleOperation(0.5, 0.5).isFromPyramid());
+    assertFalse(new DownscaleOperation(0.5, 0.5, ResamplingMode.AREA).isFromPyramid());
+    assertTrue(new DownscaleOperation(0.5, 0.5, ResamplingMode.AREA, true).isFromPyramid());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDownscalePyramidNull() {
+    new DownscaleOperation(0.5, 0.5).apply((ImagePyramid) null);
+  }
+
+  @Test
+  public void testDownscalePyramidWithoutSmallerLevel() {
+    Image image = ImageExamples.rainbow(40, 30);
+    DownscaleOperation operation = new DownscaleOperation(0.75, 0.6);
+    assertEquals(operation.apply(image), operation.apply(new ImagePyramid(image)));
+  }
+
+  @Test
+  public void testDownscalePyramidStartsFromSmallerLevel() {
+    Image image = ImageExamples.checkerboard(200, 200, 1, 1,
+        new RgbPixel(0, 0, 0), new RgbPixel(200, 200, 200));
+    ImagePyramid pyramid = new ImagePyramid(image);
+    for (ResamplingMode mode : ResamplingMode.values()) {
+      Image output = new DownscaleOperation(0.05, 0.1, mode).apply(pyramid);
+      assertEquals(10, output.getWidth());
+      assertEquals(20, output.getHeight());
+      for (int row = 0; row < 20; row += 1) {
+        for (int col = 0; col < 10; col += 1) {
+          assertEquals(100, output.getRedValueAt(row, col));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDownscalePyramidCloseToDirect() {
+    Image image = ImageExamples.rainbow(300, 240);
+    DownscaleOperation operation = new DownscaleOperation(0.2, 0.2, ResamplingMode.AREA);
+    Image direct = operation.apply(image);
+    Image output = operation.apply(new ImagePyramid(image));
+    assertEquals(direct.getWidth(), output.getWidth());
+    assertEquals(direct.getHeight(), output.getHeight());
+    for (int row = 0; row < output.getHeight(); row += 1) {
+      for (int col = 0; col < output.getWidth(); col += 1) {
+        assertEquals(direct.getRedValueAt(row, col), output.getRedValueAt(row, col), 3);
+        assertEquals(direct.getGreenValueAt(row, col), output.getGreenValueAt(row, col), 3);
+        assertEquals(direct.getBlueValueAt(row, col), output.getBlueValueAt(row, col), 3);
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import model.EdgeMode;
+import model.FftFilterOperation;
+import model.FilterOperation;
+import model.Image;
+import model.ImageExamples;
+import model.PackedImage24Bit;
+import model.TiledImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests for the FftFilterOperation class.
+ */
+public class FftFilterOperationTest {
+
+  // Tests constructing an FftFilterOperation object with a null kernel
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullKernel() {
+    new FftFilterOperation(null);
+  }
+
+  // Tests constructing an FftFilterOperation object with an even-dimensioned kernel
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorEvenDimensionKernel() {
+    new FftFilterOperation(new double[][]{
+        {1, 0},
+        {0, 1}});
+  }
+
+  // Tests constructing an FftFilterOperation object with a null edge mode
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullEdgeMode() {
+    new FftFilterOperation(new double[][]{{1}}, null, null);
+  }
+
+  // Tests applying an FftFilterOperation to a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNullImage() {
+    new FftFilterOperation(new double[][]{{1}}).apply(null);
+  }
+
+  // Tests that a large kernel gives the same colors as applying it directly, up to rounding
+  @Test
+  public void testApplyLargeKernel() {
+    double[][] kernel = randomKernel(31, 1);
+    Image image = ImageExamples.rainbow(90, 70);
+    Image filtered = new FftFilterOperation(kernel).apply(image);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        int expected = filteredRgb(image, kernel, row, col);
+        int actual = filtered.getRgbAt(row, col);
+        for (int shift = 0; shift < 24; shift += 8) {
+          assertEquals((expected >> shift) & 0xFF, (actual >> shift) & 0xFF, 1);
+        }
+      }
+    }
+  }
+
+  // Tests that a kernel whose sums are whole numbers is not rounded down by the transforms
+  @Test
+  public void testApplyExactSums() {
+    double[][] kernel = new double[17][17];
+    for (double[] row : kernel) {
+      Arrays.fill(row, 1 / 289.0);
+    }
+    kernel[3][5] = 2 / 289.0;
+    kernel[8][8] = 0;
+    int[] rgb = new int[60 * 50];
+    Arrays.fill(rgb, 0x64C8FF);
+    Image image = new PackedImage24Bit(60, 50, rgb);
+    Image filtered = new FftFilterOperation(kernel, EdgeMode.CLAMP, null).apply(image);
+    assertEquals(image, filtered);
+  }
+
+  // Tests that every edge mode gives the same colors as a FilterOperation, up to rounding
+  @Test
+  public void testApplyEdgeModes() {
+    double[][] kernel = randomKernel(9, 2);
+    Image image = ImageExamples.rainbow(45, 37);
+    for (EdgeMode mode : EdgeMode.values()) {
+      Image expected = new FilterOperation(kernel, mode, null).apply(image);
+      Image actual = new FftFilterOperation(kernel, mode, null).apply(image);
+      assertTrue(maxDifference(expected, actual) <= 1);
+    }
+  }
+
+  // Tests that filtering bands of blocks in parallel gives the same result as a single thread
+  @Test
+  public void testApplyParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      double[][] kernel = randomKernel(15, 3);
+      Image image = ImageExamples.rainbow(130, 260);
+      int[] rgb = new int[130 * 260];
+      for (int row = 0; row < 260; row += 1) {
+        image.getRgbRow(row, rgb, row * 130);
+      }
+      Image tiled = new TiledImage24Bit(130, 260, rgb);
+      Image expected = new FftFilterOperation(kernel).apply(tiled);
+      Image result = new FftFilterOperation(kernel, EdgeMode.ZERO, pool).apply(tiled);
+      assertEquals(TiledImage24Bit.class, result.getClass());
+      assertEquals(expected, result);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Tests that a FilterOperation with a large kernel that isn't separable still gives the colors
+  // of applying the kernel directly, up to rounding
+  @Test
+  public void testFilterOperationLargeKernel() {
+    double[][] kernel = randomKernel(FftFilterOperation.KERNEL_SIZE_THRESHOLD, 4);
+    Image image = ImageExamples.rainbow(40, 50);
+    Image filtered = new FilterOperation(kernel).apply(image);
+    assertEquals(new FftFilterOperation(kernel).apply(image), filtered);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        int expected = filteredRgb(image, kernel, row, col);
+        assertEquals(expected >> 16, filtered.getRedValueAt(row, col), 1);
+      }
+    }
+  }
+
+  /**
+   * Makes a kernel of random values that is not separable and whose values add up to 1.
+   *
+   * @param size the width and height of the kernel
+   * @param seed the seed of the random values
+   * @return the kernel
+   */
+  private static double[][] randomKernel(int size, long seed) {
+    Random random = new Random(seed);
+    double[][] kernel = new double[size][size];
+    double total = 0;
+    for (int row = 0; row < size; row += 1) {
+      for (int col = 0; col < size; col += 1) {
+        kernel[row][col] = random.nextDouble();
+        total += kernel[row][col];
+      }
+    }
+    for (int row = 0; row < size; row += 1) {
+      for (int col = 0; col < size; col += 1) {
+        kernel[row][col] /= total;
+      }
+    }
+    return kernel;
+  }
+
+  /**
+   * Applies a whole kernel to one pixel, ignoring pixels outside the image.
+   *
+   * @param image  the image to filter
+   * @param kernel the kernel to apply
+   * @param row    the row of the pixel
+   * @param col    the column of the pixel
+   * @return the packed RGB value of the filtered pixel
+   */
+  private static int filteredRgb(Image image, double[][] kernel, int row, int col) {
+    int reach = kernel.length / 2;
+    int rgb = 0;
+    for (int shift = 16; shift >= 0; shift -= 8) {
+      double value = 0;
+      for (int kernelRow = 0; kernelRow < kernel.length; kernelRow += 1) {
+        for (int kernelCol = 0; kernelCol < kernel.length; kernelCol += 1) {
+          int imageRow = row + kernelRow - reach;
+          int imageCol = col + kernelCol - reach;
+          if (imageRow >= 0 && imageRow < image.getHeight() && imageCol >= 0
+              && imageCol < image.getWidth()) {
+            int color = (image.getRgbAt(imageRow, imageCol) >> shift) & 0xFF;
+            value += kernel[kernelRow][kernelCol] * color;
+          }
+        }
+      }
+      rgb |= Math.max(0, Math.min(255, (int) value)) << shift;
+    }
+    return rgb;
+  }
+
+  /**
+   * Finds the largest difference between the color values of two images of the same size.
+   *
+   * @param first  the first image
+   * @param second the second image
+   * @return the largest difference between two color values at the same pixel and channel
+   */
+  private static int maxDifference(Image first, Image second) {
+    int max = 0;
+    for (int row = 0; row < first.getHeight(); row += 1) {
+      for (int col = 0; col < first.getWidth(); col += 1) {
+        int a = first.getRgbAt(row, col);
+        int b = second.getRgbAt(row, col);
+        for (int shift = 0; shift < 24; shift += 8) {
+          max = Math.max(max, Math.abs(((a >> shift) & 0xFF) - ((b >> shift) & 0xFF)));
+        }
+      }
+    }
+    return max;
+  }
+}
@@ -1,5 +1,10 @@
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import model.Arithmetic;
+import model.DirectImage24Bit;
+import model.EdgeMode;
 import model.FilterOperation;
 import model.Image;
 import model.Image24Bit;
@@ -7,8 +12,11 @@ import model.ImageExamples;
 import model.ImageOperation;
 import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
+import model.PackedImage24Bit;
 import model.Pixel;
+import model.PlanarImage24Bit;
 import model.RgbPixel;
+import model.TiledImage24Bit;
 import org.junit.Test;
 
 /**
@@ -62,6 +70,34 @@ public class FilterOperationTest {
         {3, 4, 5}});
   }
 
+  // Tests constructing a FilterOperation object with a kernel of odd dimensions that has more
+  // columns than rows
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWideKernel() {
+    new FilterOperation(new double[][]{
+        {1, 0, 3, 2, 1},
+        {0, 1, 7, 1, 0},
+        {3, 4, 5, 0, 9}});
+  }
+
+  // Tests constructing a FilterOperation object with a kernel of odd dimensions that has more
+  // rows than columns
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTallKernel() {
+    new FilterOperation(new double[][]{
+        {1, 0, 3},
+        {0, 1, 7},
+        {3, 4, 5},
+        {2, 1, 0},
+        {1, 0, 9}});
+  }
+
+  // Tests constructing a FilterOperation object with a null row in the kernel
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullKernelRow() {
+    new FilterOperation(new double[][]{{1, 0, 3}, null, {3, 4, 5}});
+  }
+
   // Tests applying a 3x3 blur FilterOperation to a checkerboard image
   @Test
   public void testApplyBlurToCheckerBoard() {
@@ -178,4 +214,173 @@ public class FilterOperationTest {
   public void testApplyNullImage() {
     ImageOperationCreator.create(OperationType.BLUR).apply(null);
   }
-}
\ No newline at end of file
+
+  // Tests that a separable kernel gives the same result as applying the whole kernel.
+  @Test
+  public void testApplySeparableKernel() {
+    double[] factors = {1 / 16.0, 4 / 16.0, 6 / 16.0, 4 / 16.0, 1 / 16.0};
+    double[][] kernel = outerProduct(factors, factors);
+    Image image = ImageExamples.rainbow(70, 90);
+    Image filtered = new FilterOperation(kernel).apply(image);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        assertEquals(filteredValue(image, kernel, row, col),
+            filtered.getRedValueAt(row, col));
+      }
+    }
+  }
+
+  // Tests that a separable kernel with values that aren't powers of two stays within rounding.
+  @Test
+  public void testApplySeparableKernelRounding() {
+    double[][] kernel = outerProduct(new double[]{0.3, 0.45, 0.25}, new double[]{0.2, 0.7, 0.1});
+    Image image = ImageExamples.rainbow(40, 30);
+    Image filtered = new FilterOperation(kernel).apply(image);
+    for (int row = 0; row < image.getHeight(); row += 1) {
+      for (int col = 0; col < image.getWidth(); col += 1) {
+        assertEquals(filteredValue(image, kernel, row, col),
+            filtered.getRedValueAt(row, col), 1);
+      }
+    }
+  }
+
+  /**
+   * Computes the outer product of two vectors.
+   *
+   * @param rows the value for each row
+   * @param cols the value for each column
+   * @return the matrix whose values are the products of the row and column values
+   */
+  private static double[][] outerProduct(double[] rows, double[] cols) {
+    double[][] result = new double[rows.length][cols.length];
+    for (int row = 0; row < rows.length; row += 1) {
+      for (int col = 0; col < cols.length; col += 1) {
+        result[row][col] = rows[row] * cols[col];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies a whole kernel to the red value of one pixel, ignoring pixels outside the image.
+   *
+   * @param image  the image to filter
+   * @param kernel the kernel to apply
+   * @param row    the row of the pixel
+   * @param col    the column of the pixel
+   * @return the clamped red value of the filtered pixel
+   */
+  private static int filteredValue(Image image, double[][] kernel, int row, int col) {
+    int reach = kernel.length / 2;
+    double value = 0;
+    for (int kernelRow = 0; kernelRow < kernel.length; kernelRow += 1) {
+      for (int kernelCol = 0; kernelCol < kernel.length; kernelCol += 1) {
+        int imageRow = row + kernelRow - reach;
+        int imageCol = col + kernelCol - reach;
+        if (imageRow >= 0 && imageRow < image.getHeight() && imageCol >= 0
+            && imageCol < image.getWidth()) {
+          value += kernel[kernelRow][kernelCol] * image.getRedValueAt(imageRow, imageCol);
+        }
+      }
+    }
+    return Math.max(0, Math.min(255, (int) value));
+  }
+
+  // Tests that filtering bands of rows in parallel gives the same result as a single thread.
+  @Test
+  public void testApplyParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Image rainbow = ImageExamples.rainbow(150, 300);
+      int[] rgb = new int[150 * 300];
+      for (int row = 0; row < 300; row += 1) {
+        rainbow.getRgbRow(row, rgb, row * 150);
+      }
+      Image[] images = {new PackedImage24Bit(150, 300, rgb), new PlanarImage24Bit(150, 300, rgb),
+          new TiledImage24Bit(150, 300, rgb), new DirectImage24Bit(150, 300, rgb)};
+      for (OperationType type : new OperationType[]{OperationType.BLUR, OperationType.SHARPEN}) {
+        Image expected = ImageOperationCreator.create(type).apply(rainbow);
+        for (Image image : images) {
+          Image result = ImageOperationCreator.create(type, pool).apply(image);
+          assertEquals(image.getClass(), result.getClass());
+          assertEquals(expected, result);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Tests constructing a FilterOperation object with a null edge mode
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullEdgeMode() {
+    new FilterOperation(new double[][]{{1}}, null, null);
+  }
+
+  // Tests the colors each edge mode gives to pixels to the left of the image.
+  @Test
+  public void testApplyEdgeModes() {
+    double[][] left = {
+        {0, 0, 0},
+        {1, 0, 0},
+        {0, 0, 0}};
+    Image image = new PackedImage24Bit(3, 1, new int[]{0x0A0000, 0x140000, 0x1E0000});
+    int[][] expected = {{0, 10, 20}, {10, 10, 20}, {20, 10, 20}, {30, 10, 20}};
+    EdgeMode[] modes = {EdgeMode.ZERO, EdgeMode.CLAMP, EdgeMode.MIRROR, EdgeMode.WRAP};
+    for (int mode = 0; mode < modes.length; mode += 1) {
+      Image filtered = new FilterOperation(left, modes[mode], null).apply(image);
+      for (int col = 0; col < 3; col += 1) {
+        assertEquals(expected[mode][col], filtered.getRedValueAt(0, col));
+      }
+    }
+  }
+
+  // Tests that blurring a solid image only darkens its edges when pixels outside it are black.
+  @Test
+  public void testApplyEdgeModesSolidImage() {
+    double[][] blur = {
+        {0.0625, 0.125, 0.0625},
+        {0.125, 0.25, 0.125},
+        {0.0625, 0.125, 0.0625}};
+    int[] rgb = new int[70 * 80];
+    Arrays.fill(rgb, 0x808080);
+    Image image = new PackedImage24Bit(70, 80, rgb);
+    for (EdgeMode mode : new EdgeMode[]{EdgeMode.CLAMP, EdgeMode.MIRROR, EdgeMode.WRAP}) {
+      assertEquals(image, new FilterOperation(blur, mode, null).apply(image));
+    }
+    Image zero = new FilterOperation(blur, EdgeMode.ZERO, null).apply(image);
+    assertEquals(0x60, zero.getRedValueAt(0, 35));
+    assertEquals(0x48, zero.getRedValueAt(79, 69));
+    assertEquals(0x80, zero.getRedValueAt(40, 35));
+  }
+
+  // Tests constructing a fixed-point FilterOperation with weights that could overflow
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorFixedPointOverflow() {
+    new FilterOperation(new double[][]{{1, 1, 1}, {1, 1000, 1}, {1, 1, 1}}, EdgeMode.ZERO,
+        Arithmetic.FIXED_POINT, null);
+  }
+
+  // Tests that fixed-point arithmetic gives the same result as floating-point arithmetic for the
+  // blur and sharpen kernels
+  @Test
+  public void testApplyFixedPoint() {
+    double[][] blur = {
+        {0.0625, 0.125, 0.0625},
+        {0.125, 0.25, 0.125},
+        {0.0625, 0.125, 0.0625}};
+    double[][] sharpen = {
+        {-0.125, -0.125, -0.125, -0.125, -0.125},
+        {-0.125, 0.25, 0.25, 0.25, -0.125},
+        {-0.125, 0.25, 1, 0.25, -0.125},
+        {-0.125, 0.25, 0.25, 0.25, -0.125},
+        {-0.125, -0.125, -0.125, -0.125, -0.125}};
+    Image image = ImageExamples.rainbow(90, 70);
+    for (double[][] kernel : new double[][][]{blur, sharpen}) {
+      for (EdgeMode mode : EdgeMode.values()) {
+        assertEquals(new FilterOperation(kernel, mode, null).apply(image),
+            new FilterOperation(kernel, mode, Arithmetic.FIXED_POINT, null).apply(image));
+      }
+    }
+  }
+}
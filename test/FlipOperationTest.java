@@ -0,0 +1,48 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import model.FlipOperation;
+import model.Image;
+import model.ImageExamples;
+import org.junit.Test;
+
+/**
+ * Tests the FlipOperation class.
+ */
+public class FlipOperationTest {
+
+  // Tests applying the operation to a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNull() {
+    new FlipOperation(true).apply(null);
+  }
+
+  // Tests flipping an image in both directions.
+  @Test
+  public void testApply() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image horizontal = new FlipOperation(true).apply(image);
+    Image vertical = new FlipOperation(false).apply(image);
+    assertEquals(image.getPixelAt(0, 9), horizontal.getPixelAt(0, 0));
+    assertEquals(image.getPixelAt(11, 0), vertical.getPixelAt(0, 0));
+  }
+
+  // Tests that flipping an image twice in the same direction returns the original image.
+  @Test
+  public void testApplyTwice() {
+    Image image = ImageExamples.rainbow(10, 12);
+    FlipOperation flip = new FlipOperation(false);
+    assertSame(image, flip.apply(flip.apply(image)));
+  }
+
+  // Tests that long chains of views are materialized.
+  @Test
+  public void testApplyManyViews() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image result = image;
+    for (int index = 0; index < 20; index += 1) {
+      result = new FlipOperation(index % 2 == 0).apply(result);
+    }
+    assertEquals(image, result);
+  }
+}
@@ -0,0 +1,51 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import model.ColorChannel;
+import model.FlippedImage;
+import model.Image;
+import model.PackedImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests the FlippedImage class.
+ */
+public class FlippedImageTest {
+
+  private final Image source;
+
+  /**
+   * Construct a new FlippedImageTest object initializing all example data for testing.
+   */
+  public FlippedImageTest() {
+    this.source = new PackedImage24Bit(3, 2, new int[]{1, 2, 3, 4, 5, 6});
+  }
+
+  // Tests creating a view of a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNull() {
+    new FlippedImage(null, true);
+  }
+
+  // Tests flipping an image horizontally.
+  @Test
+  public void testHorizontal() {
+    Image flipped = new FlippedImage(source, true);
+    assertEquals(new PackedImage24Bit(3, 2, new int[]{3, 2, 1, 6, 5, 4}), flipped);
+    assertEquals(1, flipped.getRgbAt(0, 2));
+    int[] region = new int[4];
+    flipped.getRgbRegion(0, 1, 2, 2, region, 0);
+    assertArrayEquals(new int[]{2, 1, 5, 4}, region);
+  }
+
+  // Tests flipping an image vertically.
+  @Test
+  public void testVertical() {
+    Image flipped = new FlippedImage(source, false);
+    assertEquals(new PackedImage24Bit(3, 2, new int[]{4, 5, 6, 1, 2, 3}), flipped);
+    assertEquals(3, flipped.getRgbAt(1, 2));
+    int[] region = new int[2];
+    flipped.getRegion(0, 1, 1, 2, ColorChannel.BLUE, region, 0);
+    assertArrayEquals(new int[]{5, 2}, region);
+  }
+}
@@ -1,3 +1,4 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
@@ -288,5 +289,38 @@ public class Image24BitTest {
     assertEquals(Arrays.deepHashCode(pixels1), image1.hashCode());
     assertEquals(Arrays.deepHashCode(pixels2), image2.hashCode());
   }
-}
 
+  // Tests copying a row of one color channel.
+  @Test
+  public void testGetRow() {
+    int[] dest = new int[3];
+    exampleImage.getRow(2, ColorChannel.BLUE, dest, 1);
+    assertArrayEquals(new int[]{0, 13, 0}, dest);
+  }
+
+  // Tests copying a region of packed RGB values.
+  @Test
+  public void testGetRgbRegion() {
+    int[] dest = new int[2];
+    exampleImage.getRgbRegion(1, 0, 1, 2, dest, 0);
+    assertArrayEquals(new int[]{0x0C0C0C, 0x0D0C0D}, dest);
+  }
+
+  // Tests copying a region that is partially outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRegionOutsideImage() {
+    exampleImage.getRegion(2, 0, 1, 2, ColorChannel.RED, new int[2], 0);
+  }
+
+  // Tests copying a region into an array that is too small.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRgbRowArrayTooSmall() {
+    exampleImage.getRgbRow(0, new int[1], 1);
+  }
+
+  // Tests copying an empty region whose height would overflow past the bottom of the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRgbRegionHeightOverflow() {
+    exampleImage.getRgbRegion(1, 0, 0, Integer.MAX_VALUE, new int[0], 0);
+  }
+}
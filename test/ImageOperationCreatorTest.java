@@ -80,4 +80,87 @@ public class ImageOperationCreatorTest {
     assertEquals(new RgbPixel(214, 191, 148), applied.getPixelAt(1, 0));
     assertEquals(new RgbPixel(230, 205, 159), applied.getPixelAt(1, 1));
   }
-}
\ No newline at end of file
+
+  // Test the create method with an invert type.
+  @Test
+  public void testCreateInvert() {
+    Image applied = ImageOperationCreator.create(OperationType.INVERT).apply(image);
+
+    assertEquals(new RgbPixel(10, 95, 195), applied.getPixelAt(0, 0));
+    assertEquals(new RgbPixel(15, 155, 25), applied.getPixelAt(0, 1));
+  }
+
+  // Test that the create method gives adjustments their default parameters
+  @Test
+  public void testCreateDefaultAdjustments() {
+    assertEquals(ImageOperationCreator.createAdjustment(OperationType.BRIGHTNESS, 32).apply(image),
+        ImageOperationCreator.create(OperationType.BRIGHTNESS).apply(image));
+    assertEquals(ImageOperationCreator.createAdjustment(OperationType.THRESHOLD, 128).apply(image),
+        ImageOperationCreator.create(OperationType.THRESHOLD).apply(image));
+  }
+
+  // Test the createAdjustment method without the parameters an adjustment needs
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentWithoutParameters() {
+    ImageOperationCreator.createAdjustment(OperationType.BRIGHTNESS);
+  }
+
+  // Test the createAdjustment method with a null type
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentNullType() {
+    ImageOperationCreator.createAdjustment(null, 1);
+  }
+
+  // Test the createAdjustment method with a null array of parameters
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentNullParameters() {
+    ImageOperationCreator.createAdjustment(OperationType.GAMMA, (double[]) null);
+  }
+
+  // Test the createAdjustment method with a type that is not an adjustment
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentBlur() {
+    ImageOperationCreator.createAdjustment(OperationType.BLUR);
+  }
+
+  // Test the createAdjustment method with too many parameters
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentTooManyParameters() {
+    ImageOperationCreator.createAdjustment(OperationType.THRESHOLD, 100, 200);
+  }
+
+  // Test the createAdjustment method with a parameter that must be a whole number
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentFractionalParameter() {
+    ImageOperationCreator.createAdjustment(OperationType.POSTERIZE, 2.5);
+  }
+
+  // Test the createAdjustment method with an odd number of curve parameters
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateAdjustmentOddCurve() {
+    ImageOperationCreator.createAdjustment(OperationType.CURVES, 0, 0, 255);
+  }
+
+  // Test the createAdjustment method with each adjustment type.
+  @Test
+  public void testCreateAdjustment() {
+    Image applied = ImageOperationCreator.createAdjustment(OperationType.BRIGHTNESS, 20)
+        .apply(image);
+    assertEquals(new RgbPixel(255, 180, 80), applied.getPixelAt(0, 0));
+    applied = ImageOperationCreator.createAdjustment(OperationType.CONTRAST, 2).apply(image);
+    assertEquals(new RgbPixel(255, 192, 0), applied.getPixelAt(0, 0));
+    applied = ImageOperationCreator.createAdjustment(OperationType.GAMMA, 1).apply(image);
+    assertEquals(image, applied);
+    applied = ImageOperationCreator.createAdjustment(OperationType.LEVELS, 60, 240)
+        .apply(image);
+    assertEquals(new RgbPixel(255, 142, 0), applied.getPixelAt(0, 0));
+    applied = ImageOperationCreator.createAdjustment(OperationType.CURVES, 0, 255, 255, 0)
+        .apply(image);
+    assertEquals(ImageOperationCreator.create(OperationType.INVERT).apply(image), applied);
+    applied = ImageOperationCreator.createAdjustment(OperationType.POSTERIZE, 2).apply(image);
+    assertEquals(new RgbPixel(255, 255, 0), applied.getPixelAt(0, 0));
+    applied = ImageOperationCreator.createAdjustment(OperationType.THRESHOLD, 160).apply(image);
+    assertEquals(new RgbPixel(255, 255, 0), applied.getPixelAt(0, 0));
+    assertEquals(new RgbPixel(255, 0, 255), applied.getPixelAt(0, 1));
+  }
+}
@@ -1,7 +1,10 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import controller.commands.ImageProcessAllCommand;
+import model.DownscaleOperation;
 import model.Image;
 import model.ImageExamples;
 import model.ImageOperation;
@@ -136,4 +139,48 @@ public class ImageProcessAllCommandTest {
     String expected = "Applied operation to all layers." + System.lineSeparator();
     assertEquals(expected, output.toString());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGoFailureChangesNoLayer() {
+    Image image1 = ImageExamples.rainbow(2, 12);
+    Image image2 = ImageExamples.rainbow(2, 12);
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", image1);
+    model.setLayerImage("layer2", image2);
+
+    ImageOperation operation = image -> {
+      if (image == image2) {
+        throw new IllegalArgumentException("Failed on layer2.");
+      }
+      return ImageOperationCreator.create(OperationType.BLUR).apply(image);
+    };
+    try {
+      new ImageProcessAllCommand(operation).runCommand(model, view);
+      fail("The command should have failed.");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Failed on layer2.", e.getMessage());
+    }
+
+    assertSame(image1, model.getImageIn("layer1"));
+    assertSame(image2, model.getImageIn("layer2"));
+    assertEquals("", output.toString());
+  }
+
+  @Test
+  public void testGoValidWithoutPool() {
+    Image image1 = ImageExamples.rainbow(8, 6);
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", image1);
+    model.setLayerImage("layer2", image1);
+
+    new ImageProcessAllCommand(new DownscaleOperation(0.5, 0.5), null).runCommand(model, view);
+
+    Image image1Down = new DownscaleOperation(0.5, 0.5).apply(image1);
+    assertEquals(image1Down, model.getImageIn("layer1"));
+    assertEquals(image1Down, model.getImageIn("layer2"));
+    String expected = "Applied operation to all layers." + System.lineSeparator();
+    assertEquals(expected, output.toString());
+  }
+}
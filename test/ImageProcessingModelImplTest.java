@@ -1,14 +1,26 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
-
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.AbstractImageView;
+import model.DirectImage24Bit;
+import model.DownscaleOperation;
 import model.Image;
 import model.ImageExamples;
+import model.ImageOperation;
 import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
 import model.ImageProcessingModel;
 import model.ImageProcessingModelImpl;
+import model.ImagePyramid;
+import model.ResamplingMode;
 import model.RgbPixel;
 import org.junit.Before;
 import org.junit.Test;
@@ -200,6 +212,179 @@ public class ImageProcessingModelImplTest {
     assertEquals(sepiaImage2, model.getImageIn("first"));
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyOperationToAllNullOperation() {
+    model.applyOperationToAll(null, null);
+  }
+
+  @Test
+  public void testApplyOperationToAll() {
+    model.addLayer("first");
+    model.addLayer("second");
+    model.addLayer("third");
+    model.setLayerImage("first", image1);
+    model.setLayerImage("third", image1);
+
+    model.applyOperationToAll(new DownscaleOperation(0.5, 0.5), null);
+
+    Image downscaledImage1 = new DownscaleOperation(0.5, 0.5).apply(image1);
+    assertEquals(downscaledImage1, model.getImageIn("first"));
+    assertNull(model.getImageIn("second"));
+    assertEquals(downscaledImage1, model.getImageIn("third"));
+  }
+
+  @Test
+  public void testApplyOperationToAllParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int index = 0; index < 12; index += 1) {
+        model.addLayer("layer" + index);
+        model.setLayerImage("layer" + index, ImageExamples.rainbow(40, 30));
+      }
+      model.applyOperationToAll(new DownscaleOperation(0.5, 0.25, ResamplingMode.AREA), pool);
+
+      Image expected = new DownscaleOperation(0.5, 0.25, ResamplingMode.AREA)
+          .apply(ImageExamples.rainbow(40, 30));
+      for (int index = 0; index < 12; index += 1) {
+        assertEquals(expected, model.getImageIn("layer" + index));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testApplyOperationToAllFromPyramid() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Image image = ImageExamples.rainbow(120, 90);
+      for (int index = 0; index < 4; index += 1) {
+        model.addLayer("layer" + index);
+        model.setLayerImage("layer" + index, image);
+      }
+      DownscaleOperation operation = new DownscaleOperation(0.2, 0.2, ResamplingMode.AREA, true);
+      model.applyOperationToAll(operation, pool);
+
+      Image expected = operation.apply(new ImagePyramid(image));
+      for (int index = 0; index < 4; index += 1) {
+        assertEquals(expected, model.getImageIn("layer" + index));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testApplyOperationToAllFailureChangesNoLayer() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      model.addLayer("first");
+      model.addLayer("second");
+      model.addLayer("third");
+      model.setLayerImage("first", image1);
+      model.setLayerImage("second", image1);
+      DirectImage24Bit third = new DirectImage24Bit(image1);
+      model.setLayerImage("third", third);
+      List<DirectImage24Bit> computed = Collections.synchronizedList(new ArrayList<>());
+      ImageOperation failsOnThird = image -> {
+        if (image == third) {
+          throw new IllegalArgumentException("Cannot process the third layer.");
+        }
+        DirectImage24Bit result = new DirectImage24Bit(
+            ImageOperationCreator.create(OperationType.BLUR).apply(image));
+        computed.add(result);
+        return result;
+      };
+
+      for (ForkJoinPool applyPool : new ForkJoinPool[]{null, pool}) {
+        try {
+          model.applyOperationToAll(failsOnThird, applyPool);
+          fail("The operation should have failed.");
+        } catch (IllegalArgumentException e) {
+          assertEquals("Cannot process the third layer.", e.getMessage());
+        }
+        assertSame(image1, model.getImageIn("first"));
+        assertSame(image1, model.getImageIn("second"));
+        assertSame(third, model.getImageIn("third"));
+        assertFalse(third.isClosed());
+      }
+      assertEquals(4, computed.size());
+      for (DirectImage24Bit image : computed) {
+        assertTrue(image.isClosed());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testApplyOperationToAllErrorChangesNoLayer() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      model.addLayer("first");
+      model.addLayer("second");
+      model.addLayer("third");
+      model.setLayerImage("first", image1);
+      model.setLayerImage("second", image1);
+      DirectImage24Bit third = new DirectImage24Bit(image1);
+      model.setLayerImage("third", third);
+      List<DirectImage24Bit> computed = Collections.synchronizedList(new ArrayList<>());
+      ImageOperation failsOnThird = image -> {
+        if (image == third) {
+          throw new OutOfMemoryError("Cannot process the third layer.");
+        }
+        DirectImage24Bit result = new DirectImage24Bit(
+            ImageOperationCreator.create(OperationType.BLUR).apply(image));
+        computed.add(result);
+        return result;
+      };
+
+      for (ForkJoinPool applyPool : new ForkJoinPool[]{null, pool}) {
+        try {
+          model.applyOperationToAll(failsOnThird, applyPool);
+          fail("The operation should have failed.");
+        } catch (OutOfMemoryError e) {
+          assertEquals("Cannot process the third layer.", e.getMessage());
+        }
+        assertSame(image1, model.getImageIn("first"));
+        assertSame(image1, model.getImageIn("second"));
+        assertSame(third, model.getImageIn("third"));
+      }
+      assertEquals(4, computed.size());
+      for (DirectImage24Bit image : computed) {
+        assertTrue(image.isClosed());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testApplyOperationToAllReleaseFailureChangesEveryLayer() {
+    model.addLayer("first");
+    model.addLayer("second");
+    model.addLayer("third");
+    DirectImage24Bit first = new DirectImage24Bit(image1);
+    model.setLayerImage("first", first, true);
+    model.setLayerImage("second", new UnreleasableImage(image1), true);
+    DirectImage24Bit third = new DirectImage24Bit(image1);
+    model.setLayerImage("third", third, true);
+    ImageOperation blur = ImageOperationCreator.create(OperationType.BLUR);
+
+    try {
+      model.applyOperationToAll(blur, null);
+      fail("Releasing the second image should have failed.");
+    } catch (IllegalStateException e) {
+      assertEquals("Failed to release the previous image.", e.getMessage());
+    }
+    Image expected = blur.apply(image1);
+    assertEquals(expected, model.getImageIn("first"));
+    assertEquals(expected, model.getImageIn("second"));
+    assertEquals(expected, model.getImageIn("third"));
+    assertTrue(first.isClosed());
+    assertTrue(third.isClosed());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testRemoveLayerNullName() {
     model.removeLayer(null);
@@ -369,4 +554,34 @@ public class ImageProcessingModelImplTest {
     model.removeLayer("first");
     assertEquals(2, model.numLayers());
   }
+
+  /**
+   * A view of an image that fails whenever it is closed.
+   */
+  private static class UnreleasableImage extends AbstractImageView implements AutoCloseable {
+
+    UnreleasableImage(Image source) {
+      super(source);
+    }
+
+    @Override
+    public int getWidth() {
+      return getSource().getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+      return getSource().getHeight();
+    }
+
+    @Override
+    protected int rgbAt(int row, int col) {
+      return getSource().getRgbAt(row, col);
+    }
+
+    @Override
+    public void close() throws IllegalStateException {
+      throw new IllegalStateException("Cannot release this image.");
+    }
+  }
 }
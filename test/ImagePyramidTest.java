@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import model.DirectImage24Bit;
+import model.Image;
+import model.ImageBuilder;
+import model.ImageExamples;
+import model.ImagePyramid;
+import model.PackedImage24Bit;
+import model.PackedImageBuilder;
+import org.junit.Test;
+
+/**
+ * Tests for the ImagePyramid class.
+ */
+public class ImagePyramidTest {
+
+  // Tests constructing an ImagePyramid with a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullImage() {
+    new ImagePyramid(null);
+  }
+
+  // Tests that the levels go down to a single pixel, rounding odd sizes up
+  @Test
+  public void testLevelSizes() {
+    ImagePyramid pyramid = new ImagePyramid(ImageExamples.rainbow(13, 5));
+    assertEquals(5, pyramid.getLevelCount());
+    int[] widths = {13, 7, 4, 2, 1};
+    int[] heights = {5, 3, 2, 1, 1};
+    for (int level = 0; level < 5; level += 1) {
+      assertEquals(widths[level], pyramid.getLevel(level).getWidth());
+      assertEquals(heights[level], pyramid.getLevel(level).getHeight());
+    }
+  }
+
+  // Tests that a single pixel image has only one level
+  @Test
+  public void testSinglePixel() {
+    Image image = new PackedImage24Bit(1, 1, new int[]{0x123456});
+    ImagePyramid pyramid = new ImagePyramid(image);
+    assertEquals(1, pyramid.getLevelCount());
+    assertSame(image, pyramid.getLevel(0));
+  }
+
+  // Tests that each level averages the pixels of the level before it
+  @Test
+  public void testLevelsAverage() {
+    Image image = new PackedImage24Bit(4, 2, new int[]{
+        0x000000, 0x080808, 0xFF0000, 0xFF0000,
+        0x101010, 0x181818, 0x0000FF, 0x0000FF});
+    ImagePyramid pyramid = new ImagePyramid(image);
+    Image half = pyramid.getLevel(1);
+    assertEquals(0x0C0C0C, half.getRgbAt(0, 0));
+    assertEquals(0x800080, half.getRgbAt(0, 1));
+    assertEquals(0x460646, pyramid.getLevel(2).getRgbAt(0, 0));
+  }
+
+  // Tests that a level is computed once and kept
+  @Test
+  public void testLevelsKept() {
+    Image image = ImageExamples.rainbow(64, 48);
+    ImagePyramid pyramid = new ImagePyramid(image);
+    assertSame(image, pyramid.getLevel(0));
+    Image level = pyramid.getLevel(3);
+    assertSame(level, pyramid.getLevel(3));
+    assertEquals(8, level.getWidth());
+    assertEquals(6, level.getHeight());
+  }
+
+  // Tests getting a level that is out of range
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetLevelOutOfRange() {
+    ImagePyramid pyramid = new ImagePyramid(ImageExamples.rainbow(4, 4));
+    pyramid.getLevel(pyramid.getLevelCount());
+  }
+
+  // Tests getting a negative level
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetLevelNegative() {
+    new ImagePyramid(ImageExamples.rainbow(4, 4)).getLevel(-1);
+  }
+
+  // Tests finding the smallest level at least a given size
+  @Test
+  public void testFindLevel() {
+    ImagePyramid pyramid = new ImagePyramid(ImageExamples.rainbow(100, 60));
+    assertEquals(0, pyramid.findLevel(100, 60));
+    assertEquals(0, pyramid.findLevel(51, 10));
+    assertEquals(1, pyramid.findLevel(50, 30));
+    assertEquals(2, pyramid.findLevel(20, 15));
+    assertEquals(3, pyramid.findLevel(13, 8));
+    assertEquals(pyramid.getLevelCount() - 1, pyramid.findLevel(0, 0));
+    assertEquals(0, pyramid.findLevel(200, 200));
+  }
+
+  // Tests that closing releases the levels but not the image itself
+  @Test
+  public void testClose() {
+    DirectImage24Bit image = new DirectImage24Bit(ImageExamples.rainbow(16, 16));
+    ImagePyramid pyramid = new ImagePyramid(image);
+    DirectImage24Bit level = (DirectImage24Bit) pyramid.getLevel(2);
+    pyramid.close();
+    assertTrue(level.isClosed());
+    assertFalse(image.isClosed());
+  }
+
+  // Tests that closing releases every level even when releasing some of them fails
+  @Test
+  public void testCloseFailure() {
+    UnreleasableImage image = new UnreleasableImage(8, 8, new int[64]);
+    ImagePyramid pyramid = new ImagePyramid(image);
+    UnreleasableImage level1 = (UnreleasableImage) pyramid.getLevel(1);
+    UnreleasableImage level3 = (UnreleasableImage) pyramid.getLevel(3);
+    try {
+      pyramid.close();
+      fail("Releasing the levels should have failed.");
+    } catch (IllegalStateException e) {
+      assertEquals("Failed to release a level of the pyramid.", e.getMessage());
+      assertEquals(2, e.getSuppressed().length);
+    }
+    assertEquals(1, level1.closeCount);
+    assertEquals(1, level3.closeCount);
+    assertEquals(0, image.closeCount);
+    try {
+      pyramid.getLevel(1);
+      fail("The pyramid should be closed.");
+    } catch (IllegalStateException e) {
+      assertEquals("The pyramid has been closed.", e.getMessage());
+    }
+  }
+
+  // Tests using a pyramid after closing it
+  @Test(expected = IllegalStateException.class)
+  public void testGetLevelAfterClose() {
+    ImagePyramid pyramid = new ImagePyramid(ImageExamples.rainbow(16, 16));
+    pyramid.close();
+    pyramid.getLevel(1);
+  }
+
+  /**
+   * An image that fails whenever it is closed, and whose levels are images of the same kind.
+   */
+  private static class UnreleasableImage extends PackedImage24Bit implements AutoCloseable {
+
+    private int closeCount = 0;
+
+    UnreleasableImage(int width, int height, int[] rgb) {
+      super(width, height, rgb);
+    }
+
+    @Override
+    public ImageBuilder builder(int width, int height) {
+      return new PackedImageBuilder(width, height) {
+        @Override
+        public Image build() {
+          Image built = super.build();
+          int[] rgb = new int[width * height];
+          built.getRgbRegion(0, 0, width, height, rgb, 0);
+          return new UnreleasableImage(width, height, rgb);
+        }
+      };
+    }
+
+    @Override
+    public void close() throws IllegalStateException {
+      closeCount += 1;
+      throw new IllegalStateException("Cannot release this image.");
+    }
+  }
+}
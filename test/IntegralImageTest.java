@@ -0,0 +1,120 @@
+import static org.junit.Assert.assertEquals;
+
+import model.ColorChannel;
+import model.AbstractImageView;
+import model.Image;
+import model.ImageExamples;
+import model.IntegralImage;
+import model.PackedImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests for the IntegralImage class.
+ */
+public class IntegralImageTest {
+
+  private final Image image = new PackedImage24Bit(3, 2, new int[]{
+      0x010203, 0x0A141E, 0xFFFFFF,
+      0x000000, 0x050505, 0x64C8FF});
+
+  // Tests constructing an IntegralImage from a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullImage() {
+    new IntegralImage(null);
+  }
+
+  // Tests constructing an IntegralImage of an image whose table does not fit in one array
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTooLarge() {
+    new IntegralImage(new AbstractImageView(image) {
+      @Override
+      public int getWidth() {
+        return 65536;
+      }
+
+      @Override
+      public int getHeight() {
+        return 65536;
+      }
+
+      @Override
+      protected int rgbAt(int row, int col) {
+        return 0;
+      }
+    });
+  }
+
+  // Tests the dimensions of an IntegralImage
+  @Test
+  public void testDimensions() {
+    IntegralImage sums = new IntegralImage(image);
+    assertEquals(3, sums.getWidth());
+    assertEquals(2, sums.getHeight());
+  }
+
+  // Tests the sums of regions in each channel
+  @Test
+  public void testGetSum() {
+    IntegralImage sums = new IntegralImage(image);
+    assertEquals(1 + 10 + 255 + 5 + 100, sums.getSum(ColorChannel.RED, 0, 0, 3, 2));
+    assertEquals(20 + 5, sums.getSum(ColorChannel.GREEN, 0, 1, 1, 2));
+    assertEquals(255 + 255, sums.getSum(ColorChannel.BLUE, 0, 2, 1, 2));
+    assertEquals(0, sums.getSum(ColorChannel.RED, 1, 1, 0, 1));
+    assertEquals(5, sums.getSum(ColorChannel.BLUE, 1, 1, 1, 1));
+  }
+
+  // Tests that every region of a larger image sums to the same values as adding up its pixels
+  @Test
+  public void testGetSumRainbow() {
+    Image rainbow = ImageExamples.rainbow(13, 11);
+    IntegralImage sums = new IntegralImage(rainbow);
+    for (int row = 0; row < 11; row += 3) {
+      for (int col = 0; col < 13; col += 2) {
+        for (int height = 0; row + height <= 11; height += 4) {
+          for (int width = 0; col + width <= 13; width += 5) {
+            long expected = 0;
+            for (int r = row; r < row + height; r += 1) {
+              for (int c = col; c < col + width; c += 1) {
+                expected += rainbow.getGreenValueAt(r, c);
+              }
+            }
+            assertEquals(expected, sums.getSum(ColorChannel.GREEN, row, col, width, height));
+          }
+        }
+      }
+    }
+  }
+
+  // Tests getting the sum of a null channel
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetSumNullChannel() {
+    new IntegralImage(image).getSum(null, 0, 0, 1, 1);
+  }
+
+  // Tests getting the sum of a region that is outside the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetSumOutsideImage() {
+    new IntegralImage(image).getSum(ColorChannel.RED, 1, 1, 3, 1);
+  }
+
+  // Tests getting the sum of a region with a negative size
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetSumNegativeSize() {
+    new IntegralImage(image).getSum(ColorChannel.RED, 1, 1, -1, 1);
+  }
+
+  // Tests the truncated average color of regions
+  @Test
+  public void testGetAverageRgb() {
+    IntegralImage sums = new IntegralImage(image);
+    assertEquals(0x64C8FF, sums.getAverageRgb(1, 2, 1, 1));
+    assertEquals(0x050B10, sums.getAverageRgb(0, 0, 2, 1));
+    assertEquals(0x5C7888, sums.getAverageRgb(0, 1, 2, 2));
+  }
+
+  // Tests getting the average color of an empty region
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetAverageRgbEmptyRegion() {
+    new IntegralImage(image).getAverageRgb(0, 0, 0, 2);
+  }
+}
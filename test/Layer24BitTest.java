@@ -1,15 +1,25 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import model.CropOperation;
+import model.DirectImage24Bit;
+import model.DownscaleOperation;
+import model.FlipOperation;
 import model.Image;
 import model.ImageExamples;
 import model.ImageOperationCreator;
+import model.ImagePyramid;
 import model.ImageOperationCreator.OperationType;
 import model.Layer;
 import model.Layer24Bit;
+import model.ResamplingMode;
 import model.RgbPixel;
+import model.RotateOperation;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -132,4 +142,91 @@ public class Layer24BitTest {
     layer1.setName("even newer name");
     assertEquals("even newer name", layer1.getName());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testApplyReleasesOwnedImages() {
+    DirectImage24Bit given = new DirectImage24Bit(image1);
+    layer3.setImage(given);
+    layer3.apply(ImageOperationCreator.create(OperationType.BLUR));
+    assertFalse(given.isClosed());
+    DirectImage24Bit blurred = (DirectImage24Bit) layer3.getImage();
+    layer3.apply(ImageOperationCreator.create(OperationType.SEPIA));
+    assertTrue(blurred.isClosed());
+    DirectImage24Bit sepia = (DirectImage24Bit) layer3.getImage();
+    layer3.setImage(image1);
+    assertTrue(sepia.isClosed());
+    assertEquals(image1, layer3.getImage());
+  }
+
+  @Test
+  public void testApplyKeepsImagesReadByViews() {
+    layer3.setImage(new DirectImage24Bit(image1));
+    layer3.apply(ImageOperationCreator.create(OperationType.SEPIA));
+    DirectImage24Bit sepia = (DirectImage24Bit) layer3.getImage();
+    layer3.apply(new CropOperation(0, 1, 1, 3));
+    assertFalse(sepia.isClosed());
+    assertEquals(sepia.getPixelAt(1, 0), layer3.getImage().getPixelAt(0, 0));
+    layer3.apply(new FlipOperation(true));
+    assertFalse(sepia.isClosed());
+    layer3.apply(ImageOperationCreator.create(OperationType.BLUR));
+    assertTrue(sepia.isClosed());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetPyramidNullImage() {
+    layer3.getPyramid();
+  }
+
+  @Test
+  public void testGetPyramidKeptUntilImageChanges() {
+    ImagePyramid pyramid = layer1.getPyramid();
+    assertSame(image1, pyramid.getLevel(0));
+    assertSame(pyramid, layer1.getPyramid());
+    layer1.show(false);
+    layer1.setName("renamed");
+    assertSame(pyramid, layer1.getPyramid());
+    layer1.apply(ImageOperationCreator.create(OperationType.SEPIA));
+    ImagePyramid sepiaPyramid = layer1.getPyramid();
+    assertNotSame(pyramid, sepiaPyramid);
+    assertSame(layer1.getImage(), sepiaPyramid.getLevel(0));
+    layer1.setImage(image2);
+    assertSame(image2, layer1.getPyramid().getLevel(0));
+  }
+
+  @Test
+  public void testSetImageReleasesPyramid() {
+    layer3.setImage(new DirectImage24Bit(ImageExamples.rainbow(8, 8)));
+    DirectImage24Bit level = (DirectImage24Bit) layer3.getPyramid().getLevel(1);
+    assertFalse(level.isClosed());
+    layer3.setImage(image1);
+    assertTrue(level.isClosed());
+  }
+
+  @Test
+  public void testApplyDownscaleFromPyramid() {
+    Image image = new DirectImage24Bit(ImageExamples.rainbow(200, 160));
+    layer3.setImage(image);
+    DownscaleOperation operation = new DownscaleOperation(0.1, 0.1, ResamplingMode.AREA, true);
+    DirectImage24Bit level = (DirectImage24Bit) layer3.getPyramid().getLevel(1);
+    layer3.apply(operation);
+    assertEquals(operation.apply(new ImagePyramid(image)), layer3.getImage());
+    assertNotEquals(new DownscaleOperation(0.1, 0.1, ResamplingMode.AREA).apply(image),
+        layer3.getImage());
+    assertTrue(level.isClosed());
+  }
+
+  @Test
+  public void testApplyNeverClosesGivenImage() {
+    DirectImage24Bit given = new DirectImage24Bit(ImageExamples.rainbow(4, 6));
+    layer3.setImage(given);
+    layer3.apply(new RotateOperation(90));
+    layer3.apply(new RotateOperation(270));
+    assertSame(given, layer3.getImage());
+    layer3.apply(new DownscaleOperation(0.5, 0.5));
+    assertFalse(given.isClosed());
+    assertEquals(new DownscaleOperation(0.5, 0.5).apply(given), layer3.getImage());
+    layer3.apply(new RotateOperation(360));
+    layer3.setImage(image1);
+    assertFalse(given.isClosed());
+  }
+}
@@ -1,5 +1,7 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import controller.PngImportExporter;
@@ -7,10 +9,12 @@ import controller.commands.LoadCommand;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import model.Image;
 import model.ImageExamples;
 import model.ImageProcessingModel;
 import model.ImageProcessingModelImpl;
+import model.MappedImage24Bit;
 import org.junit.Before;
 import org.junit.Test;
 import view.ImageProcessingTextView;
@@ -91,6 +95,89 @@ public class LoadCommandTest {
     clean();
   }
 
+  @Test
+  public void testGoValidMapped() {
+    clean();
+
+    Image image = ImageExamples.rainbow(3, 12);
+    String path = "test/data/image.png";
+    try {
+      new PngImportExporter().saveImage(new FileOutputStream(path), image);
+    } catch (IOException e) {
+      fail("Failed to save text image. " + e.getMessage());
+    }
+    model.addLayer("layer1");
+
+    new LoadCommand(path, "png", true).runCommand(model, view);
+    Image loaded = model.getImageIn("layer1");
+    assertTrue(loaded instanceof MappedImage24Bit);
+    assertEquals(image, loaded);
+    ((MappedImage24Bit) loaded).close();
+
+    clean();
+  }
+
+  @Test
+  public void testGoMappedReleasedWhenReplaced() {
+    clean();
+
+    Image image = ImageExamples.rainbow(3, 12);
+    String path = "test/data/image.png";
+    try {
+      new PngImportExporter().saveImage(new FileOutputStream(path), image);
+    } catch (IOException e) {
+      fail("Failed to save text image. " + e.getMessage());
+    }
+    model.addLayer("layer1");
+
+    new LoadCommand(path, "png", true).runCommand(model, view);
+    MappedImage24Bit loaded = (MappedImage24Bit) model.getImageIn("layer1");
+    assertTrue(Files.exists(loaded.getFile()));
+    model.setLayerImage("layer1", image);
+    assertTrue(loaded.isClosed());
+    assertFalse(Files.exists(loaded.getFile()));
+
+    clean();
+  }
+
+  @Test
+  public void testGoMappedReleasedWhenSizeDoesNotMatch() {
+    clean();
+
+    Image image = ImageExamples.rainbow(3, 12);
+    String path = "test/data/image.png";
+    try {
+      new PngImportExporter().saveImage(new FileOutputStream(path), image);
+    } catch (IOException e) {
+      fail("Failed to save text image. " + e.getMessage());
+    }
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", ImageExamples.rainbow(4, 4));
+
+    int temporaryFiles = countTemporaryFiles();
+    try {
+      new LoadCommand(path, "png", true).runCommand(model, view);
+      fail("Loading an image of the wrong size should fail.");
+    } catch (IllegalArgumentException e) {
+      assertNull(model.getImageIn("layer2"));
+    }
+    assertEquals(temporaryFiles, countTemporaryFiles());
+
+    clean();
+  }
+
+  /**
+   * Counts the temporary files that hold the pixels of mapped images.
+   *
+   * @return the number of temporary image files
+   */
+  private int countTemporaryFiles() {
+    File[] files = new File(System.getProperty("java.io.tmpdir")).listFiles(
+        (directory, name) -> name.startsWith("image") && name.endsWith(".rgb"));
+    return files == null ? 0 : files.length;
+  }
+
   /**
    * Deletes files from test/data/layers and layers directory to make sure tests
    * run independently.
@@ -0,0 +1,270 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import model.ColorChannel;
+import model.DirectImage24Bit;
+import model.Image;
+import model.ImageExamples;
+import model.LutOperation;
+import model.PackedImage24Bit;
+import model.PlanarImage24Bit;
+import model.TiledImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests for the LutOperation class.
+ */
+public class LutOperationTest {
+
+  /**
+   * Makes a table that maps every color value to itself.
+   *
+   * @return the table
+   */
+  private static int[] identityTable() {
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value += 1) {
+      table[value] = value;
+    }
+    return table;
+  }
+
+  // Tests constructing a LutOperation with a null table
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullTable() {
+    new LutOperation(identityTable(), null, identityTable());
+  }
+
+  // Tests constructing a LutOperation with a table that is too short
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorShortTable() {
+    new LutOperation(new int[255]);
+  }
+
+  // Tests constructing a LutOperation with a table value that isn't a color value
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidTableValue() {
+    int[] table = identityTable();
+    table[10] = 256;
+    new LutOperation(table);
+  }
+
+  // Tests that changing a table after constructing the operation doesn't change the operation
+  @Test
+  public void testConstructorCopiesTable() {
+    int[] table = identityTable();
+    LutOperation operation = new LutOperation(table);
+    table[7] = 0;
+    assertEquals(7, operation.lookup(ColorChannel.GREEN, 7));
+  }
+
+  // Tests applying a LutOperation to a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNullImage() {
+    LutOperation.invert().apply(null);
+  }
+
+  // Tests that each channel is looked up in its own table
+  @Test
+  public void testApplySeparateTables() {
+    int[] red = new int[256];
+    int[] green = identityTable();
+    int[] blue = new int[256];
+    Arrays.fill(red, 9);
+    for (int value = 0; value < 256; value += 1) {
+      blue[value] = value / 2;
+    }
+    Image image = new PackedImage24Bit(2, 1, new int[]{0x102030, 0xFFFFFF});
+    Image result = new LutOperation(red, green, blue).apply(image);
+    assertEquals(0x092018, result.getRgbAt(0, 0));
+    assertEquals(0x09FF7F, result.getRgbAt(0, 1));
+  }
+
+  // Tests that applying to an image with several tiles changes every pixel
+  @Test
+  public void testApplyTiledImage() {
+    Image rainbow = ImageExamples.rainbow(300, 200);
+    int[] rgb = new int[300 * 200];
+    for (int row = 0; row < 200; row += 1) {
+      rainbow.getRgbRow(row, rgb, row * 300);
+    }
+    Image image = new TiledImage24Bit(300, 200, rgb);
+    Image result = LutOperation.invert().apply(image);
+    assertEquals(TiledImage24Bit.class, result.getClass());
+    for (int row = 0; row < 200; row += 7) {
+      for (int col = 0; col < 300; col += 11) {
+        assertEquals(rgb[row * 300 + col] ^ 0xFFFFFF, result.getRgbAt(row, col));
+      }
+    }
+  }
+
+  // Tests that looking up bands of rows in parallel gives the same result as a single thread, for
+  // single operations and for combined ones
+  @Test
+  public void testApplyParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Image rainbow = ImageExamples.rainbow(150, 300);
+      int[] rgb = new int[150 * 300];
+      for (int row = 0; row < 300; row += 1) {
+        rainbow.getRgbRow(row, rgb, row * 150);
+      }
+      Image[] images = {new PackedImage24Bit(150, 300, rgb), new PlanarImage24Bit(150, 300, rgb),
+          new TiledImage24Bit(150, 300, rgb), new DirectImage24Bit(150, 300, rgb)};
+      LutOperation gamma = LutOperation.gamma(2.2);
+      LutOperation posterize = LutOperation.posterize(4);
+      for (Image image : images) {
+        Image result = gamma.onPool(pool).apply(image);
+        assertEquals(image.getClass(), result.getClass());
+        assertEquals(gamma.apply(image), result);
+        assertEquals(gamma.andThen(posterize).apply(image),
+            gamma.onPool(pool).andThen(posterize).apply(image));
+        assertEquals(gamma.apply(image),
+            new LutOperation(identityTable(), identityTable(), identityTable(), pool)
+                .andThen(gamma).apply(image));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Tests looking up a value outside the range of color values
+  @Test(expected = IllegalArgumentException.class)
+  public void testLookupInvalidValue() {
+    LutOperation.invert().lookup(ColorChannel.RED, -1);
+  }
+
+  // Tests that combining operations gives the same result as applying them one after another
+  @Test
+  public void testAndThen() {
+    Image image = ImageExamples.rainbow(40, 30);
+    LutOperation first = LutOperation.gamma(1.8);
+    LutOperation second = LutOperation.posterize(5);
+    LutOperation third = LutOperation.brightness(-30);
+    Image expected = third.apply(second.apply(first.apply(image)));
+    assertEquals(expected, first.andThen(second).andThen(third).apply(image));
+  }
+
+  // Tests combining an operation with null
+  @Test(expected = IllegalArgumentException.class)
+  public void testAndThenNull() {
+    LutOperation.invert().andThen(null);
+  }
+
+  // Tests the tables of the brightness adjustment, including clamping
+  @Test
+  public void testBrightness() {
+    LutOperation brighter = LutOperation.brightness(50);
+    assertEquals(50, brighter.lookup(ColorChannel.RED, 0));
+    assertEquals(255, brighter.lookup(ColorChannel.BLUE, 230));
+    LutOperation darker = LutOperation.brightness(-50);
+    assertEquals(0, darker.lookup(ColorChannel.GREEN, 10));
+    assertEquals(150, darker.lookup(ColorChannel.GREEN, 200));
+  }
+
+  // Tests the tables of the contrast adjustment
+  @Test
+  public void testContrast() {
+    assertEquals(128, LutOperation.contrast(0).lookup(ColorChannel.RED, 17));
+    assertEquals(98, LutOperation.contrast(0.5).lookup(ColorChannel.RED, 68));
+    assertEquals(255, LutOperation.contrast(3).lookup(ColorChannel.RED, 200));
+  }
+
+  // Tests the contrast adjustment with a negative factor
+  @Test(expected = IllegalArgumentException.class)
+  public void testContrastNegative() {
+    LutOperation.contrast(-1);
+  }
+
+  // Tests the tables of the gamma adjustment
+  @Test
+  public void testGamma() {
+    LutOperation gamma = LutOperation.gamma(2);
+    assertEquals(0, gamma.lookup(ColorChannel.RED, 0));
+    assertEquals(128, gamma.lookup(ColorChannel.RED, 64));
+    assertEquals(255, gamma.lookup(ColorChannel.RED, 255));
+  }
+
+  // Tests the gamma adjustment with a gamma of zero
+  @Test(expected = IllegalArgumentException.class)
+  public void testGammaZero() {
+    LutOperation.gamma(0);
+  }
+
+  // Tests the tables of the levels adjustment
+  @Test
+  public void testLevels() {
+    LutOperation levels = LutOperation.levels(55, 155);
+    assertEquals(0, levels.lookup(ColorChannel.RED, 30));
+    assertEquals(128, levels.lookup(ColorChannel.RED, 105));
+    assertEquals(255, levels.lookup(ColorChannel.RED, 200));
+  }
+
+  // Tests the levels adjustment with the black point above the white point
+  @Test(expected = IllegalArgumentException.class)
+  public void testLevelsReversed() {
+    LutOperation.levels(200, 100);
+  }
+
+  // Tests the tables of the curves adjustment between and outside of its points
+  @Test
+  public void testCurves() {
+    LutOperation curves = LutOperation.curves(new int[]{50, 100, 200}, new int[]{10, 110, 60});
+    assertEquals(10, curves.lookup(ColorChannel.RED, 0));
+    assertEquals(10, curves.lookup(ColorChannel.RED, 50));
+    assertEquals(60, curves.lookup(ColorChannel.RED, 75));
+    assertEquals(110, curves.lookup(ColorChannel.RED, 100));
+    assertEquals(85, curves.lookup(ColorChannel.RED, 150));
+    assertEquals(60, curves.lookup(ColorChannel.RED, 255));
+  }
+
+  // Tests the curves adjustment with inputs that are not in increasing order
+  @Test(expected = IllegalArgumentException.class)
+  public void testCurvesUnordered() {
+    LutOperation.curves(new int[]{100, 50}, new int[]{0, 255});
+  }
+
+  // Tests the curves adjustment with a different number of inputs and outputs
+  @Test(expected = IllegalArgumentException.class)
+  public void testCurvesMismatched() {
+    LutOperation.curves(new int[]{0, 255}, new int[]{0});
+  }
+
+  // Tests the tables of the invert adjustment
+  @Test
+  public void testInvert() {
+    assertEquals(255, LutOperation.invert().lookup(ColorChannel.RED, 0));
+    assertEquals(55, LutOperation.invert().lookup(ColorChannel.BLUE, 200));
+  }
+
+  // Tests the tables of the posterize adjustment
+  @Test
+  public void testPosterize() {
+    LutOperation posterize = LutOperation.posterize(3);
+    assertEquals(0, posterize.lookup(ColorChannel.RED, 63));
+    assertEquals(128, posterize.lookup(ColorChannel.RED, 64));
+    assertEquals(128, posterize.lookup(ColorChannel.RED, 191));
+    assertEquals(255, posterize.lookup(ColorChannel.RED, 192));
+  }
+
+  // Tests the posterize adjustment with a single level
+  @Test(expected = IllegalArgumentException.class)
+  public void testPosterizeOneLevel() {
+    LutOperation.posterize(1);
+  }
+
+  // Tests the tables of the threshold adjustment
+  @Test
+  public void testThreshold() {
+    LutOperation threshold = LutOperation.threshold(100);
+    assertEquals(0, threshold.lookup(ColorChannel.GREEN, 99));
+    assertEquals(255, threshold.lookup(ColorChannel.GREEN, 100));
+  }
+
+  // Tests the threshold adjustment with a negative level
+  @Test(expected = IllegalArgumentException.class)
+  public void testThresholdNegative() {
+    LutOperation.threshold(-1);
+  }
+}
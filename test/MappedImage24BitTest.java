@@ -0,0 +1,82 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import model.Image;
+import model.ImageExamples;
+import model.ImageOperationCreator;
+import model.ImageOperationCreator.OperationType;
+import model.MappedImage24Bit;
+import model.MappedImageBuilder;
+import model.PackedImage24Bit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the MappedImage24Bit class.
+ */
+public class MappedImage24BitTest {
+
+  private Path file;
+
+  @Before
+  public void setup() throws IOException {
+    file = Files.createTempFile("mapped", ".rgb");
+    Files.write(file, new byte[]{10, 11, 12, (byte) 255, 0, (byte) 128});
+  }
+
+  @After
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  // Tests mapping an existing file holding the pixels of an image.
+  @Test
+  public void testMapExistingFile() throws IOException {
+    MappedImage24Bit image = new MappedImage24Bit(file, 2, 1);
+    assertEquals(new PackedImage24Bit(2, 1, new int[]{0x0A0B0C, 0xFF0080}), image);
+    assertEquals(file, image.getFile());
+    image.close();
+    assertTrue(image.isClosed());
+    assertTrue(Files.exists(file));
+  }
+
+  // Tests mapping a file whose size doesn't match the size of the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testMapWrongSize() throws IOException {
+    new MappedImage24Bit(file, 3, 1);
+  }
+
+  // Tests mapping a null file.
+  @Test(expected = IllegalArgumentException.class)
+  public void testMapNullFile() throws IOException {
+    new MappedImage24Bit(null, 1, 1);
+  }
+
+  // Tests that operations on mapped images produce mapped images in temporary files.
+  @Test
+  public void testOperationsKeepRepresentation() throws IOException {
+    Image rainbow = ImageExamples.rainbow(5, 7);
+    MappedImageBuilder builder = MappedImageBuilder.temporary(5, 7);
+    int[] row = new int[5];
+    for (int r = 0; r < 7; r += 1) {
+      rainbow.getRgbRow(r, row, 0);
+      builder.setRgbRow(r, row, 0);
+    }
+    MappedImage24Bit mapped = (MappedImage24Bit) builder.build();
+    for (OperationType type : OperationType.values()) {
+      Image result = ImageOperationCreator.create(type).apply(mapped);
+      assertTrue(result instanceof MappedImage24Bit);
+      assertEquals(ImageOperationCreator.create(type).apply(rainbow), result);
+      Path resultFile = ((MappedImage24Bit) result).getFile();
+      assertTrue(Files.exists(resultFile));
+      ((MappedImage24Bit) result).close();
+      assertFalse(Files.exists(resultFile));
+    }
+    mapped.close();
+  }
+}
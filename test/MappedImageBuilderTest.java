@@ -0,0 +1,60 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import model.ColorChannel;
+import model.ImageBuilder;
+import model.MappedImage24Bit;
+import model.MappedImageBuilder;
+import model.PackedImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests the MappedImageBuilder class.
+ */
+public class MappedImageBuilderTest {
+
+  // Tests creating a temporary builder with an invalid size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testTemporaryInvalidSize() {
+    MappedImageBuilder.temporary(3, 0);
+  }
+
+  // Tests writing an image into a file chosen by the caller.
+  @Test
+  public void testWriteToFile() throws IOException {
+    Path file = Files.createTempFile("mapped", ".rgb");
+    try {
+      ImageBuilder builder = new MappedImageBuilder(file, 2, 1);
+      builder.setPixel(0, 0, 300, -20, 128);
+      builder.setRow(0, ColorChannel.GREEN, new int[]{7, 9}, 0);
+      MappedImage24Bit image = (MappedImage24Bit) builder.build();
+      assertEquals(new PackedImage24Bit(2, 1, new int[]{0xFF0780, 0x000900}), image);
+      image.close();
+      assertArrayEquals(new byte[]{(byte) 255, 7, (byte) 128, 0, 9, 0}, Files.readAllBytes(file));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  // Tests that temporary files are deleted when the built image is closed.
+  @Test
+  public void testTemporaryFileDeleted() {
+    MappedImage24Bit image = (MappedImage24Bit) MappedImageBuilder.temporary(4, 4).build();
+    assertTrue(Files.exists(image.getFile()));
+    image.close();
+    assertFalse(Files.exists(image.getFile()));
+  }
+
+  // Tests building the image twice.
+  @Test(expected = IllegalStateException.class)
+  public void testBuildTwice() {
+    ImageBuilder builder = MappedImageBuilder.temporary(1, 1);
+    ((MappedImage24Bit) builder.build()).close();
+    builder.build();
+  }
+}
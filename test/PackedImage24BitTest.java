@@ -0,0 +1,154 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import model.ColorChannel;
+import model.Image;
+import model.Image24Bit;
+import model.PackedImage24Bit;
+import model.Pixel;
+import model.PlanarImage24Bit;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the PackedImage24Bit class.
+ */
+public class PackedImage24BitTest {
+
+  private final Image exampleImage;
+
+  /**
+   * Construct a new PackedImage24BitTest object initializing all example data for testing.
+   */
+  public PackedImage24BitTest() {
+    this.exampleImage = new PackedImage24Bit(2, 2, new int[]{
+        0x0A0B0C, 0xFF0000,
+        0x00FF00, 0x0000FF});
+  }
+
+  // Tests constructing an image with a null array.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullRgb() {
+    new PackedImage24Bit(1, 1, null);
+  }
+
+  // Tests constructing an image with an array that doesn't match the dimensions.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWrongLength() {
+    new PackedImage24Bit(2, 2, new int[3]);
+  }
+
+  // Tests constructing an image with no pixels.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorEmpty() {
+    new PackedImage24Bit(0, 0, new int[0]);
+  }
+
+  // Tests constructing an image from pixels with values outside the allowed range.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorPixelsOutOfRange() {
+    new PackedImage24Bit(new Pixel[][]{{new RgbPixel(256, 0, 0)}});
+  }
+
+  // Tests constructing an image from pixels with clamping.
+  @Test
+  public void testConstructorPixelsClamp() {
+    Image image = new PackedImage24Bit(new Pixel[][]{{new RgbPixel(256, -3, 12)}}, true);
+    assertEquals(new RgbPixel(255, 0, 12), image.getPixelAt(0, 0));
+  }
+
+  // Tests that the constructor copies the array and ignores the alpha bits.
+  @Test
+  public void testConstructorCopiesRgb() {
+    int[] rgb = {0xFF102030};
+    Image image = new PackedImage24Bit(1, 1, rgb);
+    rgb[0] = 0;
+    assertEquals(0x102030, image.getRgbAt(0, 0));
+  }
+
+  // Tests the getWidth and getHeight methods.
+  @Test
+  public void testDimensions() {
+    Image image = new PackedImage24Bit(3, 1, new int[3]);
+    assertEquals(3, image.getWidth());
+    assertEquals(1, image.getHeight());
+  }
+
+  // Tests getting the color values of a pixel.
+  @Test
+  public void testGetValues() {
+    assertEquals(10, exampleImage.getRedValueAt(0, 0));
+    assertEquals(11, exampleImage.getGreenValueAt(0, 0));
+    assertEquals(12, exampleImage.getBlueValueAt(0, 0));
+    assertEquals(255, exampleImage.getValueAt(0, 1, ColorChannel.RED));
+    assertEquals(255, exampleImage.getValueAt(1, 0, ColorChannel.GREEN));
+    assertEquals(255, exampleImage.getValueAt(1, 1, ColorChannel.BLUE));
+    assertEquals(new RgbPixel(0, 0, 255), exampleImage.getPixelAt(1, 1));
+    assertEquals(0x00FF00, exampleImage.getRgbAt(1, 0));
+  }
+
+  // Tests getting a value with an invalid row.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetValueAtInvalidRow() {
+    exampleImage.getRedValueAt(2, 0);
+  }
+
+  // Tests getting a value with an invalid column.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRgbAtInvalidCol() {
+    exampleImage.getRgbAt(0, -1);
+  }
+
+  // Tests that packed images are equal to pixel based images with the same colors.
+  @Test
+  public void testEqualsAndHashCodeWithImage24Bit() {
+    Image pixelImage = new Image24Bit(new Pixel[][]{
+        {new RgbPixel(10, 11, 12), new RgbPixel(255, 0, 0)},
+        {new RgbPixel(0, 255, 0), new RgbPixel(0, 0, 255)}});
+
+    assertEquals(pixelImage, exampleImage);
+    assertEquals(exampleImage, pixelImage);
+    assertEquals(pixelImage.hashCode(), exampleImage.hashCode());
+  }
+
+  // Tests the equals method with different images.
+  @Test
+  public void testEqualsDifferentImages() {
+    Image other = new PackedImage24Bit(2, 2, new int[]{
+        0x0A0B0C, 0xFF0000,
+        0x00FF00, 0x0000FE});
+    assertNotEquals(exampleImage, other);
+    assertNotEquals(exampleImage, new PackedImage24Bit(1, 1, new int[]{0x0A0B0C}));
+  }
+
+  // Tests that images stored the same way are compared by their stored values.
+  @Test
+  public void testEqualsSameRepresentation() {
+    int[] rgb = {0x0A0B0C, 0xFF0000, 0x00FF00, 0x0000FF};
+    assertEquals(exampleImage, new PackedImage24Bit(2, 2, rgb));
+    rgb[3] = 0x0000FE;
+    assertNotEquals(exampleImage, new PackedImage24Bit(2, 2, rgb));
+  }
+
+  // Tests that the content hash depends on the colors and size but not on how they are stored.
+  @Test
+  public void testContentHash() {
+    Image planar = new PlanarImage24Bit(2, 2, new int[]{0x0A0B0C, 0xFF0000, 0x00FF00, 0x0000FF});
+    Image changed = new PackedImage24Bit(2, 2, new int[]{0x0A0B0C, 0xFF0000, 0x00FF00, 0x0000FE});
+    Image reshaped = new PackedImage24Bit(4, 1, new int[]{0x0A0B0C, 0xFF0000, 0x00FF00, 0x0000FF});
+    assertEquals(planar.contentHash(), exampleImage.contentHash());
+    assertEquals(exampleImage.contentHash(), exampleImage.contentHash());
+    assertNotEquals(changed.contentHash(), exampleImage.contentHash());
+    assertNotEquals(reshaped.contentHash(), exampleImage.contentHash());
+    assertNotEquals(changed, exampleImage);
+  }
+
+  // Tests creating new images with the fromRgb and fromPixels methods.
+  @Test
+  public void testFactories() {
+    Image fromRgb = exampleImage.fromRgb(1, 1, new int[]{0x010203});
+    Image fromPixels = exampleImage.fromPixels(new Pixel[][]{{new RgbPixel(1, 2, 3)}}, false);
+    assertEquals(fromRgb, fromPixels);
+    assertEquals(new RgbPixel(1, 2, 3), fromRgb.getPixelAt(0, 0));
+  }
+}
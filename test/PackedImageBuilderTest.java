@@ -0,0 +1,102 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import model.ColorChannel;
+import model.Image;
+import model.ImageBuilder;
+import model.PackedImage24Bit;
+import model.PackedImageBuilder;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the PackedImageBuilder class.
+ */
+public class PackedImageBuilderTest {
+
+  // Tests constructing a builder with an invalid size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidSize() {
+    new PackedImageBuilder(0, 3);
+  }
+
+  // Tests constructing a builder with more pixels than fit in one array.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTooLarge() {
+    new PackedImageBuilder(65536, 65536);
+  }
+
+  // Tests writing an empty region whose width would overflow past the right of the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRgbRegionWidthOverflow() {
+    new PackedImageBuilder(3, 2).setRgbRegion(0, 2, Integer.MAX_VALUE, 0, new int[0], 0);
+  }
+
+  // Tests that pixels which are never written are black.
+  @Test
+  public void testBuildDefaultBlack() {
+    Image image = new PackedImageBuilder(2, 1).build();
+    assertEquals(2, image.getWidth());
+    assertEquals(1, image.getHeight());
+    assertEquals(new RgbPixel(0, 0, 0), image.getPixelAt(0, 1));
+  }
+
+  // Tests writing single pixels and whole rows.
+  @Test
+  public void testSetRgbAndRows() {
+    ImageBuilder builder = new PackedImageBuilder(3, 2);
+    builder.setRgb(0, 2, 0xFF112233);
+    builder.setRgbRow(1, new int[]{9, 0x010203, 0x040506, 0x070809}, 1);
+    builder.setRow(0, ColorChannel.GREEN, new int[]{300, -4, 17}, 0);
+    Image image = builder.build();
+
+    int[] row = new int[3];
+    image.getRgbRow(0, row, 0);
+    assertArrayEquals(new int[]{0x00FF00, 0x000000, 0x111133}, row);
+    image.getRgbRow(1, row, 0);
+    assertArrayEquals(new int[]{0x010203, 0x040506, 0x070809}, row);
+  }
+
+  // Tests writing outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRgbInvalidCoordinates() {
+    new PackedImageBuilder(2, 2).setRgb(2, 0, 0);
+  }
+
+  // Tests writing a row from an array that is too small.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRowArrayTooSmall() {
+    new PackedImageBuilder(2, 2).setRow(0, ColorChannel.RED, new int[2], 1);
+  }
+
+  // Tests writing to the builder after the image has been built.
+  @Test(expected = IllegalStateException.class)
+  public void testSetAfterBuild() {
+    ImageBuilder builder = new PackedImageBuilder(2, 2);
+    builder.build();
+    builder.setRgb(0, 0, 0);
+  }
+
+  // Tests that pixel values are clamped when they are written.
+  @Test
+  public void testSetPixelClamps() {
+    ImageBuilder builder = new PackedImageBuilder(1, 1);
+    builder.setPixel(0, 0, -1, 256, 42);
+    assertEquals(new RgbPixel(0, 255, 42), builder.build().getPixelAt(0, 0));
+  }
+
+  // Tests setting a rectangular region of pixels.
+  @Test
+  public void testSetRgbRegion() {
+    ImageBuilder builder = new PackedImageBuilder(3, 3);
+    builder.setRgbRegion(1, 1, 2, 2, new int[]{7, 0x010203, 0xFF040506, 0x070809, 0x0A0B0C}, 1);
+    assertEquals(new PackedImage24Bit(3, 3, new int[]{0, 0, 0, 0, 0x010203, 0x040506,
+        0, 0x070809, 0x0A0B0C}), builder.build());
+  }
+
+  // Tests setting a region that is outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRgbRegionOutside() {
+    new PackedImageBuilder(2, 2).setRgbRegion(0, 1, 2, 1, new int[2], 0);
+  }
+}
@@ -0,0 +1,100 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import model.ColorChannel;
+import model.Image;
+import model.ImageOperationCreator;
+import model.ImageOperationCreator.OperationType;
+import model.PackedImage24Bit;
+import model.Pixel;
+import model.PlanarImage24Bit;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the PlanarImage24Bit class.
+ */
+public class PlanarImage24BitTest {
+
+  private final Image exampleImage;
+
+  /**
+   * Construct a new PlanarImage24BitTest object initializing all example data for testing.
+   */
+  public PlanarImage24BitTest() {
+    this.exampleImage = new PlanarImage24Bit(2, 2,
+        new byte[]{10, (byte) 255, 0, 0},
+        new byte[]{11, 0, (byte) 200, 0},
+        new byte[]{12, 0, 0, (byte) 128});
+  }
+
+  // Tests constructing an image with a null plane.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullPlane() {
+    new PlanarImage24Bit(1, 1, new byte[1], null, new byte[1]);
+  }
+
+  // Tests constructing an image with a plane that doesn't match the dimensions.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWrongPlaneLength() {
+    new PlanarImage24Bit(2, 1, new byte[2], new byte[2], new byte[1]);
+  }
+
+  // Tests constructing an image from pixels with values outside the allowed range.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorPixelsOutOfRange() {
+    new PlanarImage24Bit(new Pixel[][]{{new RgbPixel(0, -1, 0)}}, false);
+  }
+
+  // Tests getting the color values of pixels, including values above 127.
+  @Test
+  public void testGetValues() {
+    assertEquals(new RgbPixel(10, 11, 12), exampleImage.getPixelAt(0, 0));
+    assertEquals(255, exampleImage.getRedValueAt(0, 1));
+    assertEquals(200, exampleImage.getValueAt(1, 0, ColorChannel.GREEN));
+    assertEquals(128, exampleImage.getBlueValueAt(1, 1));
+    assertEquals(0x0000C8 << 8, exampleImage.getRgbAt(1, 0));
+  }
+
+  // Tests copying rows and regions.
+  @Test
+  public void testBulkAccessors() {
+    int[] row = new int[2];
+    exampleImage.getRow(0, ColorChannel.RED, row, 0);
+    assertArrayEquals(new int[]{10, 255}, row);
+    exampleImage.getRgbRegion(1, 0, 2, 1, row, 0);
+    assertArrayEquals(new int[]{0x00C800, 0x000080}, row);
+  }
+
+  // Tests that the channel planes can be read directly but not modified.
+  @Test
+  public void testGetChannelPlane() {
+    ByteBuffer plane = ((PlanarImage24Bit) exampleImage).getChannelPlane(ColorChannel.GREEN);
+    assertEquals(4, plane.remaining());
+    assertEquals(200, plane.get(2) & 0xFF);
+    assertTrue(plane.isReadOnly());
+  }
+
+  // Tests that planar images are equal to packed images with the same colors.
+  @Test
+  public void testEqualsPackedImage() {
+    Image packed = new PackedImage24Bit(2, 2, new int[]{
+        0x0A0B0C, 0xFF0000, 0x00C800, 0x000080});
+    assertEquals(packed, exampleImage);
+    assertEquals(exampleImage, packed);
+    assertEquals(packed.hashCode(), exampleImage.hashCode());
+    assertEquals(exampleImage, new PlanarImage24Bit(2, 2, new int[]{
+        0x0A0B0C, 0xFF0000, 0x00C800, 0x000080}));
+  }
+
+  // Tests that filtering a planar image gives the same result as filtering a packed image.
+  @Test
+  public void testFilterMatchesPacked() {
+    Image packed = new PackedImage24Bit(2, 2, new int[]{
+        0x0A0B0C, 0xFF0000, 0x00C800, 0x000080});
+    assertEquals(ImageOperationCreator.create(OperationType.SHARPEN).apply(packed),
+        ImageOperationCreator.create(OperationType.SHARPEN).apply(exampleImage));
+  }
+}
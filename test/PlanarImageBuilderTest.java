@@ -0,0 +1,71 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.Image;
+import model.ImageBuilder;
+import model.ImageOperationCreator;
+import model.ImageOperationCreator.OperationType;
+import model.PlanarImage24Bit;
+import model.PlanarImageBuilder;
+import model.RgbPixel;
+import org.junit.Test;
+
+/**
+ * Tests the PlanarImageBuilder class.
+ */
+public class PlanarImageBuilderTest {
+
+  // Tests constructing a builder with an invalid size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidSize() {
+    new PlanarImageBuilder(2, -1);
+  }
+
+  // Tests writing pixels with values that need to be clamped.
+  @Test
+  public void testSetPixelClamps() {
+    ImageBuilder builder = new PlanarImageBuilder(2, 1);
+    builder.setPixel(0, 0, 300, -20, 128);
+    builder.setRgb(0, 1, 0x102030);
+    Image image = builder.build();
+
+    assertTrue(image instanceof PlanarImage24Bit);
+    assertEquals(new RgbPixel(255, 0, 128), image.getPixelAt(0, 0));
+    assertEquals(new RgbPixel(16, 32, 48), image.getPixelAt(0, 1));
+  }
+
+  // Tests writing whole rows.
+  @Test
+  public void testSetRows() {
+    ImageBuilder builder = new PlanarImageBuilder(2, 2);
+    builder.setRgbRow(0, new int[]{0xFFFFFF, 0x808080}, 0);
+    builder.setRow(1, ColorChannel.BLUE, new int[]{7, 1000}, 0);
+    Image image = builder.build();
+
+    int[] row = new int[2];
+    image.getRgbRow(0, row, 0);
+    assertArrayEquals(new int[]{0xFFFFFF, 0x808080}, row);
+    image.getRgbRow(1, row, 0);
+    assertArrayEquals(new int[]{7, 255}, row);
+  }
+
+  // Tests building the image twice.
+  @Test(expected = IllegalStateException.class)
+  public void testBuildTwice() {
+    ImageBuilder builder = new PlanarImageBuilder(1, 1);
+    builder.build();
+    builder.build();
+  }
+
+  // Tests that operations applied to a planar image produce planar images.
+  @Test
+  public void testOperationsKeepRepresentation() {
+    Image image = new PlanarImage24Bit(2, 1, new int[]{0x102030, 0x405060});
+    assertTrue(ImageOperationCreator.create(OperationType.SEPIA).apply(image)
+        instanceof PlanarImage24Bit);
+    assertTrue(ImageOperationCreator.create(OperationType.BLUR).apply(image)
+        instanceof PlanarImage24Bit);
+  }
+}
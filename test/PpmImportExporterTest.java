@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
@@ -10,7 +11,10 @@ import model.Image;
 import model.Image24Bit;
 import controller.ImageImportExporter;
 import model.ImageExamples;
+import model.PackedImage24Bit;
 import model.Pixel;
+import model.PlanarImage24Bit;
+import model.PlanarImageBuilder;
 import model.RgbPixel;
 import controller.PpmImportExporter;
 import org.junit.Test;
@@ -56,6 +60,20 @@ public class PpmImportExporterTest {
     assertEquals(expectedImage, actualImage);
   }
 
+  // Tests parsing an image with comment lines into a builder chosen by the caller.
+  @Test
+  public void testParseImageWithBuilders() throws IOException {
+    String inputData = "# a comment" + System.lineSeparator()
+        + "P3" + System.lineSeparator()
+        + "2 1 255" + System.lineSeparator()
+        + "# another comment" + System.lineSeparator()
+        + "1 2 3 250 251 252" + System.lineSeparator();
+    Image image = ie.parseImage(new ByteArrayInputStream(inputData.getBytes()),
+        PlanarImageBuilder::new);
+    assertTrue(image instanceof PlanarImage24Bit);
+    assertEquals(new PackedImage24Bit(2, 1, new int[]{0x010203, 0xFAFBFC}), image);
+  }
+
   // Tests saving a rainbow image to an output steam
   @Test
   public void testSaveRainbow() {
@@ -0,0 +1,150 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+import model.Image;
+import model.ImageExamples;
+import model.PackedImage24Bit;
+import model.ResamplingMode;
+import model.ResizeOperation;
+import model.RgbPixel;
+import model.TiledImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests for the ResizeOperation class.
+ */
+public class ResizeOperationTest {
+
+  // Tests constructing a ResizeOperation with a width of zero
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroWidth() {
+    new ResizeOperation(0, 5, ResamplingMode.BILINEAR);
+  }
+
+  // Tests constructing a ResizeOperation with a negative height
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNegativeHeight() {
+    new ResizeOperation(5, -1, ResamplingMode.BILINEAR);
+  }
+
+  // Tests constructing a ResizeOperation with a null mode
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullMode() {
+    new ResizeOperation(5, 5, null);
+  }
+
+  // Tests scaling by a factor of zero
+  @Test(expected = IllegalArgumentException.class)
+  public void testByFactorZero() {
+    ResizeOperation.byFactor(0, 1, ResamplingMode.BILINEAR);
+  }
+
+  // Tests scaling by a factor that is not a number
+  @Test(expected = IllegalArgumentException.class)
+  public void testByFactorNaN() {
+    ResizeOperation.byFactor(1, Double.NaN, ResamplingMode.BILINEAR);
+  }
+
+  // Tests scaling by an infinite factor
+  @Test(expected = IllegalArgumentException.class)
+  public void testByFactorInfinite() {
+    ResizeOperation.byFactor(Double.POSITIVE_INFINITY, 1, ResamplingMode.BILINEAR);
+  }
+
+  // Tests applying a ResizeOperation to a null image
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNullImage() {
+    new ResizeOperation(5, 5, ResamplingMode.NEAREST).apply(null);
+  }
+
+  // Tests that scaling by factors makes an image larger and smaller independently in each
+  // direction, keeping at least one pixel
+  @Test
+  public void testByFactorSize() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image output = ResizeOperation.byFactor(2.5, 0.5, ResamplingMode.BICUBIC).apply(image);
+    assertEquals(25, output.getWidth());
+    assertEquals(6, output.getHeight());
+    Image tiny = ResizeOperation.byFactor(0.01, 3, ResamplingMode.AREA).apply(image);
+    assertEquals(1, tiny.getWidth());
+    assertEquals(36, tiny.getHeight());
+  }
+
+  // Tests that enlarging with the nearest mode repeats every pixel
+  @Test
+  public void testNearestEnlarge() {
+    Image image = ImageExamples.rainbow(5, 4);
+    Image output = new ResizeOperation(15, 8, ResamplingMode.NEAREST).apply(image);
+    for (int row = 0; row < 8; row += 1) {
+      for (int col = 0; col < 15; col += 1) {
+        assertEquals(image.getRgbAt(row / 2, col / 3), output.getRgbAt(row, col));
+      }
+    }
+  }
+
+  // Tests that the nearest mode copies the pixel each pixel of a smaller image falls on
+  @Test
+  public void testNearestShrink() {
+    Image image = ImageExamples.rainbow(9, 9);
+    Image output = new ResizeOperation(3, 3, ResamplingMode.NEAREST).apply(image);
+    for (int row = 0; row < 3; row += 1) {
+      for (int col = 0; col < 3; col += 1) {
+        assertEquals(image.getRgbAt(row * 3 + 1, col * 3 + 1), output.getRgbAt(row, col));
+      }
+    }
+  }
+
+  // Tests that enlarging with the bilinear mode interpolates between pixels
+  @Test
+  public void testBilinearEnlarge() {
+    Image image = new PackedImage24Bit(2, 1, new int[]{0x000000, 0xC8C8C8});
+    Image output = new ResizeOperation(4, 1, ResamplingMode.BILINEAR).apply(image);
+    assertEquals(0, output.getRedValueAt(0, 0));
+    assertEquals(50, output.getRedValueAt(0, 1));
+    assertEquals(150, output.getRedValueAt(0, 2));
+    assertEquals(200, output.getRedValueAt(0, 3));
+  }
+
+  // Tests that every mode keeps solid colors, and that every mode but Mitchell, whose filter
+  // slightly blurs even at the same size, leaves an image of the same size unchanged
+  @Test
+  public void testModesSameSizeAndSolidColor() {
+    Image image = ImageExamples.rainbow(20, 15);
+    Image solid = ImageExamples.checkerboard(8, 8, 8, 8,
+        new RgbPixel(30, 140, 250), new RgbPixel(30, 140, 250));
+    for (ResamplingMode mode : ResamplingMode.values()) {
+      if (mode != ResamplingMode.MITCHELL) {
+        assertEquals(image, new ResizeOperation(20, 15, mode).apply(image));
+      }
+      Image output = new ResizeOperation(19, 27, mode).apply(solid);
+      for (int row = 0; row < 27; row += 1) {
+        for (int col = 0; col < 19; col += 1) {
+          assertEquals(0x1E8CFA, output.getRgbAt(row, col));
+        }
+      }
+    }
+  }
+
+  // Tests that resizing bands of rows in parallel gives the same image as resizing on one thread,
+  // and keeps the representation of the image
+  @Test
+  public void testApplyParallel() {
+    Image rainbow = ImageExamples.rainbow(150, 200);
+    int[] rgb = new int[150 * 200];
+    for (int row = 0; row < 200; row += 1) {
+      rainbow.getRgbRow(row, rgb, row * 150);
+    }
+    Image image = new TiledImage24Bit(150, 200, rgb);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (ResamplingMode mode : ResamplingMode.values()) {
+        Image expected = ResizeOperation.byFactor(1.7, 1.3, mode).apply(image);
+        Image output = ResizeOperation.byFactor(1.7, 1.3, mode, pool).apply(image);
+        assertEquals(TiledImage24Bit.class, output.getClass());
+        assertEquals(expected, output);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -21,6 +22,29 @@ public class RgbPixelTest {
     assertEquals(new RgbPixel(125, 0, 125), magentaPixel);
   }
 
+  // Tests that the of factory shares pixels with 8-bit color values.
+  @Test
+  public void testOfSharesInstances() {
+    Pixel pixel = RgbPixel.of(12, 200, 31);
+    assertEquals(new RgbPixel(12, 200, 31), pixel);
+    assertSame(pixel, RgbPixel.of(12, 200, 31));
+    assertSame(pixel, new RgbPixel(0, 0, 0).fromRGB(12, 200, 31));
+    assertSame(pixel, new RgbPixel(12, 300, 31).clamp(0, 200));
+  }
+
+  // Tests that the of factory creates pixels with values outside the 8-bit range.
+  @Test
+  public void testOfOutOfRange() {
+    assertEquals(new RgbPixel(-1, 0, 256), RgbPixel.of(-1, 0, 256));
+  }
+
+  // Tests that clamping a pixel that is already in range returns the same pixel.
+  @Test
+  public void testClampInRange() {
+    Pixel pixel = new RgbPixel(1, 2, 3);
+    assertSame(pixel, pixel.clamp(0, 255));
+  }
+
   // Tests clamping values that are greater than the allowed maximum.
   @Test
   public void testClampMaxValues() {
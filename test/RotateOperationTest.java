@@ -0,0 +1,49 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.Image;
+import model.ImageExamples;
+import model.RotateOperation;
+import model.RotatedImage;
+import org.junit.Test;
+
+/**
+ * Tests the RotateOperation class.
+ */
+public class RotateOperationTest {
+
+  // Tests constructing an operation with an angle that isn't a multiple of 90 degrees.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidAngle() {
+    new RotateOperation(45);
+  }
+
+  // Tests applying the operation to a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyNull() {
+    new RotateOperation(90).apply(null);
+  }
+
+  // Tests rotating an image clockwise.
+  @Test
+  public void testApply() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image rotated = new RotateOperation(90).apply(image);
+    assertEquals(12, rotated.getWidth());
+    assertEquals(10, rotated.getHeight());
+    assertEquals(image.getPixelAt(11, 0), rotated.getPixelAt(0, 0));
+    assertEquals(image.getPixelAt(0, 9), rotated.getPixelAt(9, 11));
+  }
+
+  // Tests that rotations are combined and that a full turn returns the original image.
+  @Test
+  public void testApplyTwice() {
+    Image image = ImageExamples.rainbow(10, 12);
+    Image rotated = new RotateOperation(180).apply(new RotateOperation(90).apply(image));
+    assertTrue(rotated instanceof RotatedImage);
+    assertSame(image, ((RotatedImage) rotated).getSource());
+    assertEquals(new RotateOperation(-90).apply(image), rotated);
+    assertSame(image, new RotateOperation(-270).apply(rotated));
+  }
+}
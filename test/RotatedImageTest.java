@@ -0,0 +1,77 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import model.ColorChannel;
+import model.Image;
+import model.PackedImage24Bit;
+import model.RotatedImage;
+import org.junit.Test;
+
+/**
+ * Tests the RotatedImage class.
+ */
+public class RotatedImageTest {
+
+  private final Image source;
+
+  /**
+   * Construct a new RotatedImageTest object initializing all example data for testing. The source
+   * image is 3 pixels wide and 2 pixels high.
+   */
+  public RotatedImageTest() {
+    this.source = new PackedImage24Bit(3, 2, new int[]{1, 2, 3, 4, 5, 6});
+  }
+
+  // Tests rotating an image clockwise by a quarter turn.
+  @Test
+  public void testQuarterTurn() {
+    Image rotated = new RotatedImage(source, 1);
+    assertEquals(2, rotated.getWidth());
+    assertEquals(3, rotated.getHeight());
+    assertEquals(new PackedImage24Bit(2, 3, new int[]{4, 1, 5, 2, 6, 3}), rotated);
+    int[] region = new int[2];
+    rotated.getRgbRegion(1, 0, 2, 1, region, 0);
+    assertArrayEquals(new int[]{5, 2}, region);
+  }
+
+  // Tests rotating an image by half a turn.
+  @Test
+  public void testHalfTurn() {
+    Image rotated = new RotatedImage(source, 2);
+    assertEquals(new PackedImage24Bit(3, 2, new int[]{6, 5, 4, 3, 2, 1}), rotated);
+    int[] region = new int[2];
+    rotated.getRegion(0, 1, 2, 1, ColorChannel.BLUE, region, 0);
+    assertArrayEquals(new int[]{5, 4}, region);
+  }
+
+  // Tests rotating an image counterclockwise by a quarter turn.
+  @Test
+  public void testCounterclockwise() {
+    Image rotated = new RotatedImage(source, -1);
+    assertEquals(3, ((RotatedImage) rotated).getQuarterTurns());
+    assertEquals(new PackedImage24Bit(2, 3, new int[]{3, 6, 2, 5, 1, 4}), rotated);
+    int[] region = new int[4];
+    rotated.getRgbRegion(1, 0, 2, 2, region, 0);
+    assertArrayEquals(new int[]{2, 5, 1, 4}, region);
+  }
+
+  // Tests that pixel and region reads agree for every region of a rotated image.
+  @Test
+  public void testRegionsMatchPixels() {
+    for (int turns = 0; turns < 4; turns += 1) {
+      Image rotated = new RotatedImage(source, turns);
+      for (int row = 0; row < rotated.getHeight(); row += 1) {
+        for (int col = 0; col < rotated.getWidth(); col += 1) {
+          int width = rotated.getWidth() - col;
+          int height = rotated.getHeight() - row;
+          int[] region = new int[width * height];
+          rotated.getRgbRegion(row, col, width, height, region, 0);
+          for (int index = 0; index < region.length; index += 1) {
+            assertEquals(rotated.getRgbAt(row + index / width, col + index % width),
+                region[index]);
+          }
+        }
+      }
+    }
+  }
+}
@@ -15,15 +15,23 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
+import model.BoxBlurOperation;
+import model.CropOperation;
 import model.DownscaleOperation;
+import model.FlipOperation;
 import model.Image;
 import model.ImageExamples;
 import model.ImageOperationCreator;
 import model.ImageOperationCreator.OperationType;
 import model.ImageProcessingModel;
 import model.ImageProcessingModelImpl;
+import model.ImagePyramid;
+import model.LutOperation;
 import model.MosaicOperation;
+import model.ResamplingMode;
+import model.ResizeOperation;
 import model.RgbPixel;
+import model.RotateOperation;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -491,6 +499,290 @@ public class TextControllerTest {
     assertEquals(expected, output);
   }
 
+  @Test
+  public void testRunDownscaleMode() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "downscale 0.5 0.75 Area",
+        "downscale 0.5 0.5 sinc",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Unknown resampling mode: sinc.",
+        "Quitting."
+    );
+
+    Image image1Down = new DownscaleOperation(0.5, 0.75, ResamplingMode.AREA).apply(image1);
+    assertEquals(image1Down, model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunDownscalePyramid() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "downscale 0.5 0.5 area pyramid",
+        "downscale 0.5 0.5 pyramid",
+        "downscale 0.5 0.5 area pyramid again",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Unknown option: again.",
+        "Quitting."
+    );
+
+    Image image1Down = new DownscaleOperation(0.5, 0.5, ResamplingMode.AREA, true)
+        .apply(new ImagePyramid(image1));
+    image1Down = new DownscaleOperation(0.5, 0.5, ResamplingMode.BILINEAR, true)
+        .apply(new ImagePyramid(image1Down));
+    assertEquals(image1Down, model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunResize() {
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", image1);
+    model.setLayerImage("layer2", image2);
+
+    String output = runCommands(
+        "resize 25 7 bicubic",
+        "resize by 2 0.5",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V)",
+        "2. layer2 (V) (current)",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V)",
+        "2. layer2 (V) (current)",
+        "Quitting."
+    );
+
+    Image image1Resized = ResizeOperation.byFactor(2, 0.5, ResamplingMode.BILINEAR)
+        .apply(new ResizeOperation(25, 7, ResamplingMode.BICUBIC).apply(image1));
+    Image image2Resized = ResizeOperation.byFactor(2, 0.5, ResamplingMode.BILINEAR)
+        .apply(new ResizeOperation(25, 7, ResamplingMode.BICUBIC).apply(image2));
+    assertEquals(image1Resized, model.getImageIn("layer1"));
+    assertEquals(image2Resized, model.getImageIn("layer2"));
+    assertEquals(50, model.getImageIn("layer1").getWidth());
+    assertEquals(3, model.getImageIn("layer1").getHeight());
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunResizeInvalid() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "resize 0 5",
+        "resize by -1 2",
+        "resize 5",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Width and height must be positive.",
+        "Scales must be positive numbers.",
+        "Invalid number of arguments for resize.",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Quitting."
+    );
+
+    assertEquals(image1, model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunCrop() {
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", image1);
+    model.setLayerImage("layer2", image2);
+
+    String output = runCommands(
+        "crop 2 3 5 4",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V)",
+        "2. layer2 (V) (current)",
+        "Quitting."
+    );
+
+    assertEquals(new CropOperation(2, 3, 5, 4).apply(image1), model.getImageIn("layer1"));
+    assertEquals(new CropOperation(2, 3, 5, 4).apply(image2), model.getImageIn("layer2"));
+    assertEquals(5, model.getImageIn("layer1").getWidth());
+    assertEquals(4, model.getImageIn("layer1").getHeight());
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunFlip() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "flip vertical",
+        "flip sideways",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to layer \"layer1\".",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Images can only be flipped horizontally or vertically.",
+        "Quitting."
+    );
+
+    assertEquals(new FlipOperation(false).apply(image1), model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunRotate() {
+    model.addLayer("layer1");
+    model.addLayer("layer2");
+    model.setLayerImage("layer1", image1);
+    model.setLayerImage("layer2", image2);
+
+    String output = runCommands(
+        "rotate 90",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to all layers.",
+        "Layers:",
+        "1. layer1 (V)",
+        "2. layer2 (V) (current)",
+        "Quitting."
+    );
+
+    assertEquals(new RotateOperation(90).apply(image1), model.getImageIn("layer1"));
+    assertEquals(new RotateOperation(90).apply(image2), model.getImageIn("layer2"));
+    assertEquals(image1.getHeight(), model.getImageIn("layer1").getWidth());
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunBoxBlur() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "boxblur 2",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Applied operation to layer \"layer1\".",
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Quitting."
+    );
+
+    assertEquals(new BoxBlurOperation(2).apply(image1), model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunBoxBlurNegativeRadius() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "boxblur -1",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "Radius must not be negative.",
+        "Quitting."
+    );
+
+    assertEquals(image1, model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunToneAdjustments() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "brightness 10",
+        "curves 0 0 128 200 255 255",
+        "invert",
+        "q"
+    );
+    String applied = "Applied operation to layer \"layer1\".";
+    String expected = concatenateLines(
+        "Enter a command",
+        applied,
+        "Layers:",
+        "1. layer1 (V) (current)",
+        applied,
+        "Layers:",
+        "1. layer1 (V) (current)",
+        applied,
+        "Layers:",
+        "1. layer1 (V) (current)",
+        "Quitting."
+    );
+
+    LutOperation adjustment = LutOperation.brightness(10)
+        .andThen(LutOperation.curves(new int[]{0, 128, 255}, new int[]{0, 200, 255}))
+        .andThen(LutOperation.invert());
+    assertEquals(adjustment.apply(image1), model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
+  @Test
+  public void testRunCurvesInvalid() {
+    model.addLayer("layer1");
+    model.setLayerImage("layer1", image1);
+
+    String output = runCommands(
+        "curves 0 0 128",
+        "q"
+    );
+    String expected = concatenateLines(
+        "Enter a command",
+        "CURVES needs an input and an output for each control point.",
+        "Quitting."
+    );
+
+    assertEquals(image1, model.getImageIn("layer1"));
+    assertEquals(expected, output);
+  }
+
   @Test
   public void testRunMosaic() {
     model.addLayer("layer1");
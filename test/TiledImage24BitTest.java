@@ -0,0 +1,129 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.DownscaleOperation;
+import model.Image;
+import model.ImageExamples;
+import model.ImageOperationCreator;
+import model.ImageOperationCreator.OperationType;
+import model.PackedImage24Bit;
+import model.RgbPixel;
+import model.TiledImage24Bit;
+import org.junit.Test;
+
+/**
+ * Tests the TiledImage24Bit class.
+ */
+public class TiledImage24BitTest {
+
+  private final int[] rgb;
+  private final TiledImage24Bit exampleImage;
+
+  /**
+   * Construct a new TiledImage24BitTest object initializing all example data for testing. The
+   * example image is 100x70 pixels so it spans four tiles, and only its top left tile has any
+   * pixels that are not black.
+   */
+  public TiledImage24BitTest() {
+    this.rgb = new int[100 * 70];
+    for (int row = 0; row < 64; row += 1) {
+      for (int col = 0; col < 64; col += 1) {
+        rgb[row * 100 + col] = (row << 16) | (col << 8) | 0x80;
+      }
+    }
+    this.exampleImage = new TiledImage24Bit(100, 70, rgb);
+  }
+
+  // Tests constructing an image with null values.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullValues() {
+    new TiledImage24Bit(1, 1, null);
+  }
+
+  // Tests constructing an image with values that don't match the dimensions.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWrongLength() {
+    new TiledImage24Bit(3, 1, new int[2]);
+  }
+
+  // Tests getting the size of the image and its tiles.
+  @Test
+  public void testSize() {
+    assertEquals(100, exampleImage.getWidth());
+    assertEquals(70, exampleImage.getHeight());
+    assertEquals(TiledImage24Bit.TILE_SIZE, exampleImage.getTileWidth());
+    assertEquals(TiledImage24Bit.TILE_SIZE, exampleImage.getTileHeight());
+  }
+
+  // Tests that only tiles with pixels that are not black are allocated.
+  @Test
+  public void testLazyTiles() {
+    assertTrue(exampleImage.isTileAllocated(63, 63));
+    assertFalse(exampleImage.isTileAllocated(0, 64));
+    assertFalse(exampleImage.isTileAllocated(64, 0));
+    assertFalse(exampleImage.isTileAllocated(69, 99));
+    assertEquals(new RgbPixel(0, 0, 0), exampleImage.getPixelAt(69, 99));
+  }
+
+  // Tests getting the color values of pixels.
+  @Test
+  public void testGetValues() {
+    assertEquals(new RgbPixel(3, 5, 0x80), exampleImage.getPixelAt(3, 5));
+    assertEquals(63, exampleImage.getRedValueAt(63, 10));
+    assertEquals(10, exampleImage.getValueAt(63, 10, ColorChannel.GREEN));
+    assertEquals(0, exampleImage.getBlueValueAt(10, 64));
+  }
+
+  // Tests copying regions that cross the edges of tiles.
+  @Test
+  public void testRegionsAcrossTiles() {
+    int[] region = new int[4 * 3];
+    exampleImage.getRgbRegion(62, 62, 4, 3, region, 0);
+    int[] expected = new int[4 * 3];
+    new PackedImage24Bit(100, 70, rgb).getRgbRegion(62, 62, 4, 3, expected, 0);
+    assertArrayEquals(expected, region);
+    exampleImage.getRegion(62, 62, 4, 3, ColorChannel.RED, region, 0);
+    assertArrayEquals(new int[]{62, 62, 0, 0, 63, 63, 0, 0, 0, 0, 0, 0}, region);
+  }
+
+  // Tests that tiled images are equal to packed images with the same colors.
+  @Test
+  public void testEqualsPacked() {
+    Image packed = new PackedImage24Bit(100, 70, rgb);
+    assertEquals(packed, exampleImage);
+    assertEquals(exampleImage, packed);
+    assertEquals(packed.hashCode(), exampleImage.hashCode());
+  }
+
+  // Tests comparing tiled images tile by tile.
+  @Test
+  public void testEqualsTiled() {
+    int[] changed = rgb.clone();
+    assertEquals(new TiledImage24Bit(100, 70, changed), exampleImage);
+    changed[69 * 100 + 99] = 1;
+    Image other = new TiledImage24Bit(100, 70, changed);
+    assertNotEquals(other, exampleImage);
+    assertNotEquals(exampleImage, other);
+    assertNotEquals(exampleImage.contentHash(), other.contentHash());
+  }
+
+  // Tests that operations applied tile by tile match the same operations on packed images.
+  @Test
+  public void testOperationsMatchPacked() {
+    Image rainbow = ImageExamples.rainbow(150, 7);
+    int[] values = new int[rainbow.getWidth() * rainbow.getHeight()];
+    rainbow.getRgbRegion(0, 0, rainbow.getWidth(), rainbow.getHeight(), values, 0);
+    Image tiled = new TiledImage24Bit(rainbow.getWidth(), rainbow.getHeight(), values);
+    for (OperationType type : OperationType.values()) {
+      Image result = ImageOperationCreator.create(type).apply(tiled);
+      assertTrue(result instanceof TiledImage24Bit);
+      assertEquals(ImageOperationCreator.create(type).apply(rainbow), result);
+    }
+    assertEquals(new DownscaleOperation(0.3, 0.7).apply(rainbow),
+        new DownscaleOperation(0.3, 0.7).apply(tiled));
+  }
+}
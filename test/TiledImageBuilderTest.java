@@ -0,0 +1,68 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import model.ColorChannel;
+import model.ImageBuilder;
+import model.PackedImage24Bit;
+import model.TiledImage24Bit;
+import model.TiledImageBuilder;
+import org.junit.Test;
+
+/**
+ * Tests the TiledImageBuilder class.
+ */
+public class TiledImageBuilderTest {
+
+  // Tests constructing a builder with an invalid size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorInvalidSize() {
+    new TiledImageBuilder(-1, 3);
+  }
+
+  // Tests that setting a pixel clamps its values.
+  @Test
+  public void testSetPixelClamps() {
+    ImageBuilder builder = new TiledImageBuilder(2, 1);
+    builder.setPixel(0, 0, 300, -20, 128);
+    builder.setRgb(0, 1, 0xFF123456);
+    assertEquals(new PackedImage24Bit(2, 1, new int[]{0xFF0080, 0x123456}), builder.build());
+  }
+
+  // Tests setting whole rows of packed values and single channels.
+  @Test
+  public void testSetRows() {
+    ImageBuilder builder = new TiledImageBuilder(2, 2);
+    builder.setRgbRow(0, new int[]{0xFFFFFF, 0x808080}, 0);
+    builder.setRow(1, ColorChannel.GREEN, new int[]{0, 7, 400}, 1);
+    assertEquals(new PackedImage24Bit(2, 2, new int[]{0xFFFFFF, 0x808080, 0x000700, 0x00FF00}),
+        builder.build());
+  }
+
+  // Tests that writing black pixels does not allocate tiles.
+  @Test
+  public void testBlackPixelsNotAllocated() {
+    ImageBuilder builder = new TiledImageBuilder(130, 70);
+    builder.setRgb(0, 0, 0);
+    builder.setRgbRegion(64, 0, 130, 2, new int[260], 0);
+    builder.setRgb(5, 70, 0x010101);
+    TiledImage24Bit image = (TiledImage24Bit) builder.build();
+    assertFalse(image.isTileAllocated(0, 0));
+    assertFalse(image.isTileAllocated(65, 129));
+    assertTrue(image.isTileAllocated(0, 64));
+  }
+
+  // Tests setting a region that is outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRegionOutside() {
+    new TiledImageBuilder(2, 2).setRgbRegion(1, 1, 2, 1, new int[2], 0);
+  }
+
+  // Tests building the image twice.
+  @Test(expected = IllegalStateException.class)
+  public void testBuildTwice() {
+    ImageBuilder builder = new TiledImageBuilder(1, 1);
+    builder.build();
+    builder.build();
+  }
+}